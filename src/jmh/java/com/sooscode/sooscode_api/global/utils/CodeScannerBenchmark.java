@@ -0,0 +1,131 @@
+package com.sooscode.sooscode_api.global.utils;
+
+import com.sooscode.sooscode_api.infra.worker.CodeBlacklistFilter;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+/**
+ * 컴파일 사전 검사 비용 비교 (20 줄 내외 학생 코드 1건)
+ * - legacy     : split 줄 수 + contains 금지 키워드 8 개 + 정규식 34 개 (이전 CodeValidator/CodeBlacklistFilter)
+ * - scanner    : CodeScanner 단일 패스
+ * - tokenAware : 주석/문자열을 건너뛰는 CodeScanner 단일 패스
+ *
+ * 실행: ./gradlew jmh -PjmhIncludes=CodeScannerBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class CodeScannerBenchmark {
+
+    private static final String CODE = """
+            import java.util.*;
+
+            public class Main {
+                public static void main(String[] args) {
+                    Scanner sc = new Scanner(System.in);
+                    int[] arr = {5, 3, 8, 1, 9, 2};
+                    // 버블 정렬
+                    for (int i = 0; i < arr.length; i++) {
+                        for (int j = 0; j < arr.length - 1 - i; j++) {
+                            if (arr[j] > arr[j + 1]) {
+                                int t = arr[j]; arr[j] = arr[j + 1]; arr[j + 1] = t;
+                            }
+                        }
+                    }
+                    System.out.println(Arrays.toString(arr));
+                    List<String> names = new ArrayList<>();
+                    names.add("kim"); names.add("lee");
+                    for (String n : names) System.out.println(n.toUpperCase());
+                }
+            }
+            """;
+
+    private static final List<String> LEGACY_KEYWORDS = List.of(
+            "Runtime.getRuntime", "System.exit", "ProcessBuilder", "Files.readAllBytes",
+            "Class.forName", "Thread.sleep", "while(true)", "while (true)"
+    );
+
+    private List<Pattern> legacyPatterns;
+    private CodeScanner scanner;
+    private CodeScanner tokenAwareScanner;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        legacyPatterns = new ArrayList<>();
+        for (String[] rule : legacyRules()) {
+            legacyPatterns.add(Pattern.compile(rule[1]));
+        }
+        legacyPatterns.add(Pattern.compile("\\\\u[0-9a-fA-F]{4}"));
+        scanner = CodeBlacklistFilter.scanner(false);
+        tokenAwareScanner = CodeBlacklistFilter.scanner(true);
+    }
+
+    @Benchmark
+    public int legacy() {
+        int result = CODE.split("\r\n|\r|\n").length;
+        for (String keyword : LEGACY_KEYWORDS) {
+            if (CODE.contains(keyword)) {
+                result++;
+            }
+        }
+        for (Pattern pattern : legacyPatterns) {
+            if (pattern.matcher(CODE).find()) {
+                result++;
+            }
+        }
+        return result;
+    }
+
+    @Benchmark
+    public CodeScanner.Result scanner() {
+        return scanner.scan(CODE);
+    }
+
+    @Benchmark
+    public CodeScanner.Result tokenAware() {
+        return tokenAwareScanner.scan(CODE);
+    }
+
+    // 이전 CodeBlacklistFilter 정규식 (CodeScannerTest 의 동치성 검사와 같은 목록)
+    private static String[][] legacyRules() {
+        return new String[][]{
+                {"System~.~exit", "System\\s*\\.\\s*exit"},
+                {"Runtime~.~getRuntime", "Runtime\\s*\\.\\s*getRuntime"},
+                {"ProcessBuilder", "ProcessBuilder"},
+                {"exec~(", "exec\\s*\\("},
+                {"java~.~io~.~File", "java\\s*\\.\\s*io\\s*\\.\\s*File"},
+                {"FileInputStream", "FileInputStream"},
+                {"FileOutputStream", "FileOutputStream"},
+                {"Files~.~read", "Files\\s*\\.\\s*read"},
+                {"Files~.~write", "Files\\s*\\.\\s*write"},
+                {"Paths~.~get", "Paths\\s*\\.\\s*get"},
+                {"Path~.~of", "Path\\s*\\.\\s*of"},
+                {"Socket", "Socket"},
+                {"ServerSocket", "ServerSocket"},
+                {"URLConnection", "URLConnection"},
+                {"HttpURLConnection", "HttpURLConnection"},
+                {"openStream", "openStream"},
+                {"InetAddress", "InetAddress"},
+                {"java~.~lang~.~reflect", "java\\s*\\.\\s*lang\\s*\\.\\s*reflect"},
+                {"Class~.~forName", "Class\\s*\\.\\s*forName"},
+                {"ClassLoader", "ClassLoader"},
+                {"getDeclared", "getDeclared"},
+                {"invoke", "invoke"},
+                {"setAccessible", "setAccessible"},
+                {"new_Thread", "new\\s+Thread"},
+                {"Thread~.~sleep", "Thread\\s*\\.\\s*sleep"},
+                {"Executor", "Executor"},
+                {"ForkJoinPool", "ForkJoinPool"},
+                {"TimerTask", "TimerTask"},
+                {"while~(~true~)", "while\\s*\\(\\s*true\\s*\\)"},
+                {"for~(~;~;~)", "for\\s*\\(\\s*;\\s*;\\s*\\)"},
+                {"Unsafe", "Unsafe"},
+                {"System~.~load", "System\\s*\\.\\s*load"},
+                {"sun~.~misc", "sun\\s*\\.\\s*misc"}
+        };
+    }
+}
@@ -0,0 +1,98 @@
+package com.sooscode.sooscode_api.infra.redis;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sooscode.sooscode_api.application.chat.dto.ChatMessageDto;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Redis 값 직렬화 비교 (채팅 메시지 1건)
+ * - LEGACY : writeValueAsString 후 GenericJackson2JsonRedisSerializer 로 다시 인코딩 (이중 인코딩)
+ * - JSON   : TypedRedisSerializer JSON
+ * - SMILE  : TypedRedisSerializer SMILE
+ *
+ * 값 크기는 encode 결과의 보조 지표 bytesPerValue 로 표시 (@AuxCounters, 스레드 1개 기준)
+ * 실행: ./gradlew jmh -PjmhIncludes=TypedRedisSerializerBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class TypedRedisSerializerBenchmark {
+
+    @Param({"LEGACY", "JSON", "SMILE"})
+    public String format;
+
+    private ObjectMapper objectMapper;
+    private GenericJackson2JsonRedisSerializer legacySerializer;
+    private TypedRedisSerializer<ChatMessageDto> typedSerializer;
+    private ChatMessageDto message;
+    private byte[] encoded;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        objectMapper = new ObjectMapper().findAndRegisterModules();
+        legacySerializer = new GenericJackson2JsonRedisSerializer(objectMapper.copy());
+        if (!"LEGACY".equals(format)) {
+            typedSerializer = new TypedRedisSerializer<>(objectMapper, ChatMessageDto.class,
+                    TypedRedisSerializer.Format.valueOf(format));
+        }
+
+        message = ChatMessageDto.builder()
+                .chatId(123456L)
+                .classId(42L)
+                .userId(1001L)
+                .username("student-1001")
+                .content("선생님 3번 문제에서 for 문 범위가 i <= n 이 맞나요? \"배열 범위\" 예외가 나요")
+                .type(ChatMessageDto.MessageType.CHAT)
+                .createdAt(LocalDateTime.of(2025, 12, 18, 10, 30, 15))
+                .replyToChatId(123400L)
+                .replyToUsername("instructor")
+                .replyToContent("반복문 조건을 다시 확인해 보세요")
+                .reactionCount(3)
+                .build();
+
+        encoded = serialize();
+    }
+
+    @Benchmark
+    public byte[] encode(ValueSize size) throws Exception {
+        byte[] value = serialize();
+        size.bytes += value.length;
+        size.values++;
+        return value;
+    }
+
+    @Benchmark
+    public ChatMessageDto decode() throws Exception {
+        if (typedSerializer != null) {
+            return typedSerializer.deserialize(encoded);
+        }
+        String json = (String) legacySerializer.deserialize(encoded);
+        return objectMapper.readValue(json, ChatMessageDto.class);
+    }
+
+    private byte[] serialize() throws Exception {
+        if (typedSerializer != null) {
+            return typedSerializer.serialize(message);
+        }
+        return legacySerializer.serialize(objectMapper.writeValueAsString(message));
+    }
+
+    /**
+     * 직렬화된 값 1건의 평균 크기 (bytes) - 공개 메서드만 지표로 보고됨
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class ValueSize {
+
+        private long bytes;
+        private long values;
+
+        public double bytesPerValue() {
+            return values == 0 ? 0 : (double) bytes / values;
+        }
+    }
+}
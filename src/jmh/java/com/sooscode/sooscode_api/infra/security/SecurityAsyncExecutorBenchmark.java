@@ -0,0 +1,99 @@
+package com.sooscode.sooscode_api.infra.security;
+
+import org.openjdk.jmh.annotations.*;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.concurrent.DelegatingSecurityContextExecutor;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * securityAsyncExecutor 부하 비교
+ * - PLATFORM      : 플랫폼 스레드 고정 10개 풀 (이전 구성)
+ * - PLATFORM_1000 : 플랫폼 스레드 고정 1000개 풀 (스레드 수를 가장 큰 concurrency 에 맞춘 대조군)
+ * - VIRTUAL       : 작업마다 가상 스레드
+ * - AsyncSecurityConfig 와 같은 구성 (DelegatingSecurityContextExecutor 로 감싼 실행기)
+ * - 요청 concurrency 개를 한꺼번에 넣고, 작업마다 blockMillis 동안 블로킹 (JDBC/Redis/S3 대기 흉내)
+ * - 한 번의 측정 = 요청 전부 완료까지 걸린 시간 → 처리량 = concurrency / 측정값
+ * - 모든 작업에서 SecurityContext 인증 정보가 전달됐는지 확인 (아니면 예외)
+ *
+ * 실행기만 측정 - Tomcat 요청 스레드, STOMP inbound/outbound 채널은 거치지 않음
+ * (실제 요청 처리량은 이 결과보다 낮고, 채널 스레드 풀 설정의 영향은 여기서 보이지 않음)
+ *
+ * 실행: ./gradlew jmh -PjmhIncludes=SecurityAsyncExecutorBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+public class SecurityAsyncExecutorBenchmark {
+
+    @Param({"PLATFORM", "PLATFORM_1000", "VIRTUAL"})
+    public String threads;
+
+    @Param({"100", "1000"})
+    public int concurrency;
+
+    @Param({"20"})
+    public int blockMillis;
+
+    private ExecutorService delegate;
+    private DelegatingSecurityContextExecutor executor;
+    private Authentication authentication;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        delegate = switch (threads) {
+            case "VIRTUAL" -> Executors.newVirtualThreadPerTaskExecutor();
+            case "PLATFORM_1000" -> Executors.newFixedThreadPool(1000);
+            default -> Executors.newFixedThreadPool(10);
+        };
+        executor = new DelegatingSecurityContextExecutor(delegate);
+        authentication = new UsernamePasswordAuthenticationToken("user", null, List.of());
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        delegate.shutdownNow();
+    }
+
+    @Benchmark
+    public int requests() {
+        SecurityContextHolder.getContext().setAuthentication(authentication);
+        try {
+            AtomicInteger authenticated = new AtomicInteger();
+            CompletableFuture<?>[] futures = new CompletableFuture<?>[concurrency];
+            for (int i = 0; i < concurrency; i++) {
+                futures[i] = CompletableFuture.runAsync(() -> {
+                    block();
+                    if (SecurityContextHolder.getContext().getAuthentication() == authentication) {
+                        authenticated.incrementAndGet();
+                    }
+                }, executor);
+            }
+            CompletableFuture.allOf(futures).join();
+
+            if (authenticated.get() != concurrency) {
+                throw new IllegalStateException("SecurityContext 미전달: " + authenticated.get() + "/" + concurrency);
+            }
+            return authenticated.get();
+        } finally {
+            SecurityContextHolder.clearContext();
+        }
+    }
+
+    private void block() {
+        try {
+            Thread.sleep(blockMillis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -13,6 +13,7 @@ import com.sooscode.sooscode_api.domain.user.repository.UserRepository;
 import com.sooscode.sooscode_api.global.exception.CustomException;
 import com.sooscode.sooscode_api.global.status.AdminStatus;
 import com.sooscode.sooscode_api.global.status.AuthStatus;
+import com.sooscode.sooscode_api.infra.security.PrincipalCacheService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.poi.ss.usermodel.*;
@@ -43,6 +44,7 @@ public class AdminUserServiceImpl implements AdminUserService {
     private final UserRepository userRepository;
     private final PasswordEncoder passwordEncoder;
     private final ClassParticipantRepository classParticipantRepository;
+    private final PrincipalCacheService principalCacheService;
 
     private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
     private static final Pattern EMAIL_PATTERN = Pattern.compile("^[A-Za-z0-9+_.-]+@[A-Za-z0-9.-]+\\.[A-Za-z]{2,}$");
@@ -142,6 +144,7 @@ public class AdminUserServiceImpl implements AdminUserService {
 
         user.setStatus(UserStatus.INACTIVE);
         userRepository.save(user);
+        principalCacheService.invalidate(userId);
 
         log.info("사용자 계정 비활성화: userId={}, email={}", userId, user.getEmail());
     }
@@ -160,6 +163,7 @@ public class AdminUserServiceImpl implements AdminUserService {
 
         user.setStatus(UserStatus.ACTIVE);
         userRepository.save(user);
+        principalCacheService.invalidate(userId);
 
         log.info("사용자 계정 활성화: userId={}, email={}", userId, user.getEmail());
     }
@@ -184,6 +188,7 @@ public class AdminUserServiceImpl implements AdminUserService {
         UserRole previousRole = user.getRole();
         user.setRole(request.getRole());
         userRepository.save(user);
+        principalCacheService.invalidate(userId);
 
         log.info("사용자 역할 변경: userId={}, {} -> {}", userId, previousRole, request.getRole());
     }
@@ -658,6 +663,7 @@ public class AdminUserServiceImpl implements AdminUserService {
         user.setRole(role);
 
         userRepository.save(user);
+        principalCacheService.invalidate(userId);
 
         log.info("사용자 정보 업데이트 완료: userId={}, email: {} -> {}, name: {} -> {}, role: {} -> {}",
                 userId, previousEmail, request.getEmail(), previousName, request.getName(),
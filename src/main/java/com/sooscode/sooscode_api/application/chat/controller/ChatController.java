@@ -2,13 +2,12 @@ package com.sooscode.sooscode_api.application.chat.controller;
 
 import com.sooscode.sooscode_api.application.chat.dto.ChatDto;
 import com.sooscode.sooscode_api.application.chat.service.ChatService;
-import com.sooscode.sooscode_api.infra.websocket.service.SessionService;
+import com.sooscode.sooscode_api.infra.websocket.dto.SessionInfo;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.messaging.handler.annotation.DestinationVariable;
 import org.springframework.messaging.handler.annotation.MessageMapping;
 import org.springframework.messaging.handler.annotation.Payload;
-import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
 import org.springframework.stereotype.Controller;
 
 /**
@@ -22,93 +21,80 @@ import org.springframework.stereotype.Controller;
  * 구독:
  * - /topic/class/{classId}/chat    → 채팅 메시지
  * - /topic/class/{classId}/typing  → 타이핑 상태
+ *
+ * 전송은 "." 구분 형식(/app/chat.{classId}.send)도 받음, 구독 형식은 브로커 모드를 따름 (StompDestinations)
  */
 @Slf4j
 @Controller
 @RequiredArgsConstructor
 public class ChatController {
 
-    private final SessionService sessionService;
     private final ChatService chatService;
 
     /**
      * 채팅 메시지 전송
      */
-    @MessageMapping("/chat/{classId}/send")
+    @MessageMapping({"/chat/{classId}/send", "chat.{classId:\\d+}.send"})
     public void sendMessage(
             @DestinationVariable Long classId,
             @Payload ChatDto.SendRequest request,
-            StompHeaderAccessor accessor
+            SessionInfo session
     ) {
-        String sessionId = accessor.getSessionId();
-        Long userId = sessionService.getUserId(sessionId);
-        String username = sessionService.getUsername(sessionId);
-
-        if (userId == null) {
+        if (session == null) {
             log.warn("인증되지 않은 사용자의 채팅 시도");
             return;
         }
 
-        chatService.sendMessage(classId, userId, username, request);
+        chatService.sendMessage(classId, session.userId(), session.username(), request);
     }
 
     /**
      * 채팅 메시지 삭제
      */
-    @MessageMapping("/chat/{classId}/delete")
+    @MessageMapping({"/chat/{classId}/delete", "chat.{classId:\\d+}.delete"})
     public void deleteMessage(
             @DestinationVariable Long classId,
             @Payload ChatDto.DeleteRequest request,
-            StompHeaderAccessor accessor
+            SessionInfo session
     ) {
-        String sessionId = accessor.getSessionId();
-        Long userId = sessionService.getUserId(sessionId);
-
-        if (userId == null) {
+        if (session == null) {
             log.warn("인증되지 않은 사용자의 삭제 시도");
             return;
         }
 
-        chatService.deleteMessage(classId, request.getChatId(), userId);
+        chatService.deleteMessage(classId, request.getChatId(), session.userId());
     }
 
     /**
      * 리액션 토글
      */
-    @MessageMapping("/chat/{classId}/reaction")
+    @MessageMapping({"/chat/{classId}/reaction", "chat.{classId:\\d+}.reaction"})
     public void toggleReaction(
             @DestinationVariable Long classId,
             @Payload ChatDto.ReactionRequest request,
-            StompHeaderAccessor accessor
+            SessionInfo session
     ) {
-        String sessionId = accessor.getSessionId();
-        Long userId = sessionService.getUserId(sessionId);
-
-        if (userId == null) {
+        if (session == null) {
             log.warn("인증되지 않은 사용자의 리액션 시도");
             return;
         }
 
-        chatService.toggleReaction(classId, request.getChatId(), userId);
+        chatService.toggleReaction(classId, request.getChatId(), session.userId());
     }
 
     /**
      * 타이핑 상태 전송
      */
-    @MessageMapping("/chat/{classId}/typing")
+    @MessageMapping({"/chat/{classId}/typing", "chat.{classId:\\d+}.typing"})
     public void typing(
             @DestinationVariable Long classId,
             @Payload ChatDto.TypingRequest request,
-            StompHeaderAccessor accessor
+            SessionInfo session
     ) {
-        String sessionId = accessor.getSessionId();
-        Long userId = sessionService.getUserId(sessionId);
-        String username = sessionService.getUsername(sessionId);
-
-        if (userId == null) {
+        if (session == null) {
             return;
         }
 
-        chatService.broadcastTyping(classId, userId, username, request.isTyping());
+        chatService.broadcastTyping(classId, session.userId(), session.username(), request.isTyping());
     }
 }
\ No newline at end of file
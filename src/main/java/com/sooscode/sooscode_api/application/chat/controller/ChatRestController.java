@@ -33,14 +33,18 @@ public class ChatRestController {
     // ==================== 채팅 히스토리 ====================
 
     /**
-     * 채팅 히스토리 조회
-     * GET /api/chat/history?classId={classId}
+     * 채팅 히스토리 조회 (커서 기반)
+     * GET /api/chat/history?classId={classId}&before={chatId}&size={size}
+     * - before 생략 시 최신 페이지
+     * - 이전 페이지는 응답의 nextCursor 를 before 로 전달
      */
     @GetMapping("/history")
     public ResponseEntity<ApiResponse<ChatDto.HistoryResponse>> getHistory(
-            @RequestParam Long classId
+            @RequestParam Long classId,
+            @RequestParam(required = false) Long before,
+            @RequestParam(defaultValue = "50") int size
     ) {
-        ChatDto.HistoryResponse response = chatService.getHistory(classId);
+        ChatDto.HistoryResponse response = chatService.getHistory(classId, before, size);
         return ApiResponse.ok(ChatStatus.READ_OK, response);
     }
 
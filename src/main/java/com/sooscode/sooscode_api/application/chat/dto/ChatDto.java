@@ -116,7 +116,7 @@ public class ChatDto {
     // ==================== 채팅 히스토리 ====================
 
     /**
-     * 채팅 히스토리 응답
+     * 채팅 히스토리 응답 (커서 기반 페이지)
      */
     @Data
     @Builder
@@ -124,7 +124,9 @@ public class ChatDto {
     @AllArgsConstructor
     public static class HistoryResponse {
         private Long classId;
-        private List<ChatMessageDto> messages;
-        private int totalCount;
+        private List<ChatMessageDto> messages;  // 시간순 정렬
+        private int totalCount;                 // 클래스 전체 메시지 수
+        private boolean hasMore;                // 이전 메시지 존재 여부
+        private Long nextCursor;                // 이전 페이지 조회 시 before 값 (없으면 null)
     }
 }
\ No newline at end of file
@@ -0,0 +1,29 @@
+package com.sooscode.sooscode_api.application.chat.dto;
+
+/**
+ * 채팅 DB 영속화 이벤트 (write-behind 스트림 적재용)
+ * - MESSAGE  : 저장/삭제 시점의 메시지 스냅샷 → upsert (삭제는 되돌리지 않음)
+ * - REACTION : 리액션 토글 (chatId, userId, 추가/제거) → (메시지, 사용자) 별 마지막 이벤트만 insert/delete
+ *
+ * 이벤트가 반영에 필요한 값을 모두 담고 있으므로 Redis 의 메시지/리액션 키가 먼저 지워져도 반영 가능
+ * @param eventId 스트림 ID (같은 리액션의 이벤트 순서 비교용)
+ */
+public record ChatPersistEvent(Type type, Long chatId, ChatMessageDto message, Long userId, boolean added,
+                               String eventId) {
+
+    // 리액션 추가/제거 필드 (리액션 토글 스크립트가 직접 채움)
+    public static final String FIELD_ADDED = "added";
+
+    public enum Type {
+        MESSAGE,
+        REACTION
+    }
+
+    public static ChatPersistEvent message(ChatMessageDto message, String eventId) {
+        return new ChatPersistEvent(Type.MESSAGE, message.getChatId(), message, null, false, eventId);
+    }
+
+    public static ChatPersistEvent reaction(Long chatId, Long userId, boolean added, String eventId) {
+        return new ChatPersistEvent(Type.REACTION, chatId, null, userId, added, eventId);
+    }
+}
@@ -6,6 +6,7 @@ import com.sooscode.sooscode_api.global.status.ChatStatus;
 import com.sooscode.sooscode_api.application.chat.dto.ChatDto;
 import com.sooscode.sooscode_api.application.chat.dto.ChatMessageDto;
 import com.sooscode.sooscode_api.application.chat.store.ChatRedisStore;
+import com.sooscode.sooscode_api.infra.websocket.service.StompDestinations;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.messaging.simp.SimpMessagingTemplate;
@@ -28,12 +29,13 @@ import java.util.stream.Collectors;
 public class ChatService {
 
     private final ChatRedisStore chatRepository;
+    private final ChatWriteBehindService chatWriteBehindService;
     private final UserRepository userRepository;
     private final SimpMessagingTemplate messagingTemplate;
+    private final StompDestinations destinations;
 
-    private static final String CHAT_TOPIC = "/topic/class/%d/chat";
-    private static final String TYPING_TOPIC = "/topic/class/%d/typing";
     private static final int MAX_CONTENT_LENGTH = 500;
+    private static final int MAX_HISTORY_PAGE_SIZE = 100;
 
     // ==================== 메시지 ====================
 
@@ -50,26 +52,8 @@ public class ChatService {
             throw new CustomException(ChatStatus.CONTENT_TOO_LONG);
         }
 
-        // 답장 처리
-        String replyToUsername = null;
-        String replyToContent = null;
-
-        if (request.getReplyToChatId() != null) {
-            ChatMessageDto replyTo = chatRepository.findById(request.getReplyToChatId());
-            if (replyTo == null) {
-                throw new CustomException(ChatStatus.NOT_FOUND);
-            }
-            if (!replyTo.getClassId().equals(classId)) {
-                throw new CustomException(ChatStatus.ACCESS_DENIED);
-            }
-            replyToUsername = replyTo.getUsername();
-            replyToContent = replyTo.getContent();
-        }
-
-        // 메시지 생성
-        Long chatId = chatRepository.nextChatId();
-        ChatMessageDto message = ChatMessageDto.builder()
-                .chatId(chatId)
+        // 메시지 생성 (chatId, 답장 정보는 저장 시 Redis 에서 채움)
+        ChatMessageDto draft = ChatMessageDto.builder()
                 .classId(classId)
                 .userId(userId)
                 .username(username)
@@ -77,19 +61,17 @@ public class ChatService {
                 .type(ChatMessageDto.MessageType.CHAT)
                 .createdAt(LocalDateTime.now())
                 .replyToChatId(request.getReplyToChatId())
-                .replyToUsername(replyToUsername)
-                .replyToContent(replyToContent)
                 .deleted(false)
                 .reactionCount(0)
                 .build();
 
-        // 저장
-        chatRepository.saveMessage(message);
+        // 저장 (답장 대상 검증 → ID 발급 → 저장 + 인덱싱 + 영속화 이벤트, 스크립트 1 RTT)
+        ChatMessageDto message = chatRepository.createMessage(draft, chatWriteBehindService::messageEvent);
 
         // 브로드캐스트
         broadcast(classId, message);
 
-        log.info("채팅 전송: classId={}, chatId={}, userId={}", classId, chatId, userId);
+        log.info("채팅 전송: classId={}, chatId={}, userId={}", classId, message.getChatId(), userId);
         return message;
     }
 
@@ -115,6 +97,7 @@ public class ChatService {
         // 소프트 삭제
         ChatMessageDto deleted = message.markDeleted();
         chatRepository.updateMessage(deleted);
+        chatWriteBehindService.enqueueMessage(deleted);
 
         // 삭제 알림 브로드캐스트
         ChatDto.DeleteResponse response = ChatDto.DeleteResponse.builder()
@@ -130,15 +113,21 @@ public class ChatService {
     }
 
     /**
-     * 채팅 히스토리 조회
+     * 채팅 히스토리 조회 (커서 기반 페이지)
+     * - beforeChatId 가 null 이면 최신 페이지
+     * - 스크롤 시 응답의 nextCursor 를 beforeChatId 로 넘겨 이전 페이지 조회
      */
-    public ChatDto.HistoryResponse getHistory(Long classId) {
-        List<ChatMessageDto> messages = chatRepository.findAllByClassId(classId);
+    public ChatDto.HistoryResponse getHistory(Long classId, Long beforeChatId, int size) {
+        int pageSize = Math.max(1, Math.min(size, MAX_HISTORY_PAGE_SIZE));
+
+        ChatRedisStore.ChatPage page = chatRepository.findPageByClassId(classId, beforeChatId, pageSize);
 
         return ChatDto.HistoryResponse.builder()
                 .classId(classId)
-                .messages(messages)
-                .totalCount(messages.size())
+                .messages(page.messages())
+                .totalCount((int) chatRepository.countByClassId(classId))
+                .hasMore(page.hasMore())
+                .nextCursor(page.nextCursor())
                 .build();
     }
 
@@ -161,7 +150,9 @@ public class ChatService {
         }
 
         // 리액션 토글
-        int count = chatRepository.toggleReaction(chatId, userId);
+        ChatRedisStore.ReactionToggle toggle = chatRepository.toggleReaction(
+                message.getClassId(), chatId, userId, chatWriteBehindService.reactionEvent(chatId, userId));
+        int count = toggle.count();
 
         // 브로드캐스트
         ChatDto.ReactionResponse response = ChatDto.ReactionResponse.builder()
@@ -215,7 +206,7 @@ public class ChatService {
                 .typing(typing)
                 .build();
 
-        String topic = String.format(TYPING_TOPIC, classId);
+        String topic = destinations.classTopic(classId, "typing");
         messagingTemplate.convertAndSend(topic, response);
 
         log.debug("타이핑 상태: classId={}, userId={}, typing={}", classId, userId, typing);
@@ -225,6 +216,7 @@ public class ChatService {
 
     /**
      * 클래스 채팅 전체 삭제 (수업 종료 시)
+     * - 영속화 이벤트는 반영에 필요한 값을 스트림에 담고 있으므로 반영을 기다리지 않고 바로 삭제
      */
     public void cleanup(Long classId) {
         chatRepository.deleteAllByClassId(classId);
@@ -234,7 +226,7 @@ public class ChatService {
     // ==================== 내부 메서드 ====================
 
     private void broadcast(Long classId, Object message) {
-        String topic = String.format(CHAT_TOPIC, classId);
+        String topic = destinations.classTopic(classId, "chat");
         messagingTemplate.convertAndSend(topic, message);
     }
 }
\ No newline at end of file
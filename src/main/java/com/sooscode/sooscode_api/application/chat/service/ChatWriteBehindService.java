@@ -0,0 +1,457 @@
+package com.sooscode.sooscode_api.application.chat.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sooscode.sooscode_api.application.chat.dto.ChatMessageDto;
+import com.sooscode.sooscode_api.application.chat.dto.ChatPersistEvent;
+import com.sooscode.sooscode_api.application.chat.store.ChatJdbcStore;
+import com.sooscode.sooscode_api.application.chat.store.ChatRedisStore;
+import com.sooscode.sooscode_api.global.exception.CustomException;
+import com.sooscode.sooscode_api.global.status.GlobalStatus;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Range;
+import org.springframework.data.redis.RedisSystemException;
+import org.springframework.data.redis.connection.stream.*;
+import org.springframework.data.redis.core.StreamOperations;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 채팅 write-behind 서비스
+ * - WebSocket 전송 경로에서는 Redis Stream(chat:persist)에 XADD 만 하고 반환 (DB 지연 없음)
+ * - 백그라운드 스레드가 소비자 그룹으로 스트림을 읽어 MariaDB 에 JDBC 배치로 반영한 뒤 XACK + XDEL
+ *
+ * 이벤트는 Redis 에 남아 있으므로 노드가 죽어도 유실되지 않음
+ * - 반영 전 종료된 노드의 이벤트는 claim-idle-ms 가 지나면 다른 노드(또는 재시작한 노드)가 가져와 반영
+ * - 메시지 저장/리액션 토글 이벤트는 ChatRedisStore 스크립트가 Redis 변경과 함께 XADD (원자적)
+ *
+ * 스트림 길이 제한 (DB 장애 동안 Redis 메모리가 끝없이 늘지 않도록)
+ * - 적체(chat.persist.backlog)가 max-length 이상이면 새 이벤트는 적재하지 않고 버림 (chat.persist.events{result=shed})
+ *   채팅 자체(Redis 저장/브로드캐스트)는 계속 동작하고 DB 에만 빠짐
+ * - XADD 는 MAXLEN ~ max-length 로 상한을 둠 (적체 값이 늦게 갱신돼도 넘지 않도록)
+ *
+ * 여러 노드가 소비자 그룹으로 이벤트를 나눠 반영하므로 노드 간 반영 순서는 보장되지 않음
+ * - 메시지는 삭제 여부를 되돌리지 않는 upsert, 리액션은 (메시지, 사용자) 별 최신 이벤트만 반영 (ChatJdbcStore)
+ *
+ * 배치 반영 실패 시 지수 백오프로 재시도, 그래도 실패하면 한 건씩 반영
+ * - 일부만 실패하면 문제 이벤트만 확인 처리(제외)
+ * - 모두 실패하면 DB 장애로 보고 확인하지 않음 → 다음 주기에 다시 반영
+ */
+@Service
+@Slf4j
+@RequiredArgsConstructor
+public class ChatWriteBehindService {
+
+    private static final String STREAM_KEY = "chat:persist";
+    private static final String GROUP = "chat-persist";
+
+    private static final String FIELD_TYPE = "type";
+    private static final String FIELD_CHAT_ID = "chatId";
+    private static final String FIELD_MESSAGE = "message";
+    private static final String FIELD_USER_ID = "userId";
+    private static final String FIELD_ADDED = ChatPersistEvent.FIELD_ADDED;
+
+    /**
+     * 길이 제한 XADD
+     * KEYS[1] = 스트림, ARGV[1] = 최대 길이(MAXLEN ~), ARGV[2..] = 필드/값 쌍
+     */
+    private static final RedisScript<String> APPEND_SCRIPT = new DefaultRedisScript<>("""
+            return redis.call('XADD', KEYS[1], 'MAXLEN', '~', ARGV[1], '*', unpack(ARGV, 2))
+            """, String.class);
+
+    private final ChatJdbcStore chatJdbcStore;
+    private final ChatRedisStore chatRedisStore;
+    private final StringRedisTemplate stringRedisTemplate;
+    private final ObjectMapper objectMapper;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${chat.persist.enabled:true}")
+    private boolean enabled;
+
+    @Value("${chat.persist.batch-size:200}")
+    private int batchSize;
+
+    @Value("${chat.persist.flush-interval-ms:500}")
+    private long flushIntervalMs;
+
+    @Value("${chat.persist.max-retries:3}")
+    private int maxRetries;
+
+    @Value("${chat.persist.retry-backoff-ms:200}")
+    private long retryBackoffMs;
+
+    @Value("${chat.persist.claim-idle-ms:60000}")
+    private long claimIdleMs;
+
+    @Value("${chat.persist.max-length:100000}")
+    private long maxLength;
+
+    private final ReentrantLock flushLock = new ReentrantLock();
+    private final AtomicLong backlog = new AtomicLong();
+    private final String consumerName = UUID.randomUUID().toString();
+    private ScheduledExecutorService scheduler;
+
+    private Counter persistedCounter;
+    private Counter failedCounter;
+    private Counter shedCounter;
+
+    @PostConstruct
+    public void init() {
+        Gauge.builder("chat.persist.backlog", backlog, AtomicLong::get)
+                .description("DB 에 아직 반영되지 않은 스트림 이벤트 수 (마지막 반영 시점)")
+                .register(meterRegistry);
+        this.persistedCounter = meterRegistry.counter("chat.persist.events", "result", "persisted");
+        this.failedCounter = meterRegistry.counter("chat.persist.events", "result", "failed");
+        this.shedCounter = meterRegistry.counter("chat.persist.events", "result", "shed");
+
+        if (!enabled) {
+            log.info("채팅 write-behind 비활성화");
+            return;
+        }
+
+        createGroup();
+
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "chat-write-behind");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleWithFixedDelay(this::flushSafely, flushIntervalMs, flushIntervalMs, TimeUnit.MILLISECONDS);
+        scheduler.scheduleWithFixedDelay(this::claimStaleSafely, claimIdleMs, claimIdleMs, TimeUnit.MILLISECONDS);
+
+        log.info("채팅 write-behind 시작 - stream={}, consumer={}, batchSize={}, interval={}ms",
+                STREAM_KEY, consumerName, batchSize, flushIntervalMs);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (scheduler == null) {
+            return;
+        }
+        scheduler.shutdown();
+        try {
+            scheduler.awaitTermination(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        // 종료 전 가져온 이벤트 반영 (못 하면 다른 노드가 claim)
+        flushSafely();
+    }
+
+    // ==================== 적재 ====================
+
+    /**
+     * 메시지 저장/삭제 반영 요청
+     */
+    public void enqueueMessage(ChatMessageDto message) {
+        MapRecord<String, String, String> event = messageEvent(message);
+        if (event == null) {
+            return;
+        }
+        List<String> args = new ArrayList<>();
+        args.add(String.valueOf(maxLength));
+        event.getValue().forEach((field, value) -> {
+            args.add(field);
+            args.add(value);
+        });
+        stringRedisTemplate.execute(APPEND_SCRIPT, List.of(STREAM_KEY), args.toArray());
+    }
+
+    /**
+     * 메시지 저장/삭제 반영 이벤트 (ChatRedisStore.createMessage 가 저장과 같은 스크립트에서 XADD)
+     * @return 비활성화 또는 적체 한도 초과면 null
+     */
+    public MapRecord<String, String, String> messageEvent(ChatMessageDto message) {
+        if (!accepting()) {
+            return null;
+        }
+        Map<String, String> fields = new HashMap<>();
+        fields.put(FIELD_TYPE, ChatPersistEvent.Type.MESSAGE.name());
+        fields.put(FIELD_CHAT_ID, message.getChatId().toString());
+        fields.put(FIELD_MESSAGE, toJson(message));
+        return StreamRecords.newRecord().in(STREAM_KEY).ofMap(fields);
+    }
+
+    /**
+     * 리액션 토글 반영 이벤트 (추가/제거 필드는 ChatRedisStore.toggleReaction 스크립트가 채움)
+     * @return 비활성화 또는 적체 한도 초과면 null
+     */
+    public MapRecord<String, String, String> reactionEvent(Long chatId, Long userId) {
+        if (!accepting()) {
+            return null;
+        }
+        Map<String, String> fields = new HashMap<>();
+        fields.put(FIELD_TYPE, ChatPersistEvent.Type.REACTION.name());
+        fields.put(FIELD_CHAT_ID, chatId.toString());
+        fields.put(FIELD_USER_ID, userId.toString());
+        return StreamRecords.newRecord().in(STREAM_KEY).ofMap(fields);
+    }
+
+    // 적체가 한도 미만일 때만 새 이벤트 적재
+    private boolean accepting() {
+        if (!enabled) {
+            return false;
+        }
+        if (backlog.get() >= maxLength) {
+            shedCounter.increment();
+            return false;
+        }
+        return true;
+    }
+
+    // ==================== 반영 ====================
+
+    /**
+     * 스트림 이벤트를 DB 에 반영
+     * - 먼저 이 노드가 가져갔지만 확인하지 못한 이벤트(재시도, claim 분)를, 없으면 새 이벤트를 읽음
+     * - 이 노드에서 동시에 한 스레드만 반영하도록 잠금 (노드 간 순서는 ChatJdbcStore 가 처리)
+     * - synchronized 대신 ReentrantLock: JDBC 대기 중에도 가상 스레드가 캐리어에 고정되지 않음
+     */
+    public void flush() {
+        flushLock.lock();
+        try {
+            while (true) {
+                List<MapRecord<String, Object, Object>> records = read(ReadOffset.from("0"));
+                if (records.isEmpty()) {
+                    records = read(ReadOffset.lastConsumed());
+                }
+                if (records.isEmpty() || !process(records)) {
+                    break;
+                }
+            }
+            Long size = stream().size(STREAM_KEY);
+            long current = size != null ? size : 0;
+            if (current >= maxLength && backlog.get() < maxLength) {
+                log.warn("채팅 영속화 적체 한도 초과 - 새 이벤트는 DB 에 반영하지 않음: backlog={}, max={}", current, maxLength);
+            }
+            backlog.set(current);
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    private void flushSafely() {
+        try {
+            flush();
+        } catch (Exception e) {
+            log.error("채팅 영속화 처리 중 오류", e);
+        }
+    }
+
+    private List<MapRecord<String, Object, Object>> read(ReadOffset offset) {
+        List<MapRecord<String, Object, Object>> records = stream().read(
+                Consumer.from(GROUP, consumerName),
+                StreamReadOptions.empty().count(batchSize),
+                StreamOffset.create(STREAM_KEY, offset)
+        );
+        return records != null ? records : Collections.emptyList();
+    }
+
+    /**
+     * 배치 반영 후 확인 처리
+     * @return false 면 DB 장애로 보고 중단 (확인하지 않은 이벤트는 다음 주기에 다시 읽음)
+     */
+    private boolean process(List<MapRecord<String, Object, Object>> records) {
+        Map<RecordId, ChatPersistEvent> events = new LinkedHashMap<>();
+        List<RecordId> malformed = new ArrayList<>();
+        for (MapRecord<String, Object, Object> record : records) {
+            ChatPersistEvent event = parse(record);
+            if (event != null) {
+                events.put(record.getId(), event);
+            } else {
+                failedCounter.increment();
+                log.error("채팅 영속화 이벤트 파싱 실패 - 제외: id={}, value={}", record.getId(), record.getValue());
+                malformed.add(record.getId());
+            }
+        }
+        acknowledge(malformed);
+
+        List<RecordId> done = writeWithRetry(events);
+        acknowledge(done);
+        return done.size() == events.size();
+    }
+
+    /**
+     * @return 반영됐거나 반영 불가로 제외한 이벤트 ID (DB 장애면 빈 목록)
+     */
+    private List<RecordId> writeWithRetry(Map<RecordId, ChatPersistEvent> events) {
+        if (events.isEmpty()) {
+            return Collections.emptyList();
+        }
+
+        for (int attempt = 1; attempt <= maxRetries + 1; attempt++) {
+            try {
+                write(events.values());
+                persistedCounter.increment(events.size());
+                return new ArrayList<>(events.keySet());
+            } catch (Exception e) {
+                log.warn("채팅 영속화 실패: attempt={}, size={}, error={}", attempt, events.size(), e.getMessage());
+                if (attempt <= maxRetries && !sleep(retryBackoffMs << (attempt - 1))) {
+                    break;
+                }
+            }
+        }
+
+        // 배치 전체 실패 → 한 건씩 반영해 문제 이벤트만 제외
+        List<RecordId> done = new ArrayList<>(events.size());
+        List<RecordId> failed = new ArrayList<>();
+        for (Map.Entry<RecordId, ChatPersistEvent> entry : events.entrySet()) {
+            try {
+                write(List.of(entry.getValue()));
+                persistedCounter.increment();
+                done.add(entry.getKey());
+            } catch (Exception e) {
+                failed.add(entry.getKey());
+                log.error("채팅 영속화 실패: type={}, chatId={}",
+                        entry.getValue().type(), entry.getValue().chatId(), e);
+            }
+        }
+
+        if (done.isEmpty()) {
+            log.error("채팅 영속화 중단 (DB 장애로 판단, 다음 주기에 재시도): size={}", events.size());
+            return Collections.emptyList();
+        }
+        failedCounter.increment(failed.size());
+        done.addAll(failed);
+        return done;
+    }
+
+    private void write(Collection<ChatPersistEvent> events) {
+        // 같은 메시지는 마지막 스냅샷만, 같은 (메시지, 사용자) 리액션은 마지막 토글만 반영
+        Map<Long, ChatMessageDto> messages = new TreeMap<>();
+        Map<List<Long>, ChatPersistEvent> reactions = new LinkedHashMap<>();
+
+        for (ChatPersistEvent event : events) {
+            if (event.type() == ChatPersistEvent.Type.MESSAGE) {
+                messages.put(event.chatId(), event.message());
+            } else {
+                List<Long> key = List.of(event.chatId(), event.userId());
+                reactions.remove(key);
+                reactions.put(key, event);
+            }
+        }
+
+        chatJdbcStore.saveBatch(messages.values(), reactions.values(), this::latestOnly);
+    }
+
+    /**
+     * (메시지, 사용자) 별 가장 최근 리액션 이벤트만 남김
+     * - 더 최근 이벤트가 있으면 그 이벤트를 가진 노드가 반영하므로 건너뜀
+     * - 기록이 없으면(만료) 그대로 반영
+     */
+    private List<ChatPersistEvent> latestOnly(Collection<ChatPersistEvent> reactions) {
+        Map<List<Long>, String> latest = chatRedisStore.findLatestReactionEvents(
+                reactions.stream().map(event -> List.of(event.chatId(), event.userId())).toList());
+        return reactions.stream()
+                .filter(event -> {
+                    String latestId = latest.get(List.of(event.chatId(), event.userId()));
+                    return latestId == null || latestId.equals(event.eventId());
+                })
+                .toList();
+    }
+
+    private void acknowledge(List<RecordId> ids) {
+        if (ids.isEmpty()) {
+            return;
+        }
+        RecordId[] recordIds = ids.toArray(RecordId[]::new);
+        stream().acknowledge(STREAM_KEY, GROUP, recordIds);
+        stream().delete(STREAM_KEY, recordIds);
+    }
+
+    // ==================== 소비자 그룹 ====================
+
+    private void createGroup() {
+        try {
+            stream().createGroup(STREAM_KEY, ReadOffset.from("0"), GROUP);
+        } catch (RedisSystemException e) {
+            // 이미 있는 그룹이면 그대로 사용
+            if (!String.valueOf(e.getMostSpecificCause().getMessage()).contains("BUSYGROUP")) {
+                throw e;
+            }
+        }
+    }
+
+    /**
+     * claim-idle-ms 이상 확인되지 않은 다른 소비자의 이벤트를 가져옴 (종료된 노드 이벤트 복구)
+     */
+    private void claimStaleSafely() {
+        try {
+            PendingMessages pending = stream().pending(STREAM_KEY, GROUP, Range.unbounded(), batchSize);
+            Duration minIdle = Duration.ofMillis(claimIdleMs);
+            RecordId[] stale = pending.stream()
+                    .filter(message -> !consumerName.equals(message.getConsumerName()))
+                    .filter(message -> message.getElapsedTimeSinceLastDelivery().compareTo(minIdle) >= 0)
+                    .map(PendingMessage::getId)
+                    .toArray(RecordId[]::new);
+            if (stale.length > 0) {
+                stream().claim(STREAM_KEY, GROUP, consumerName, minIdle, stale);
+                log.info("채팅 영속화 이벤트 인수: count={}", stale.length);
+            }
+        } catch (Exception e) {
+            log.warn("채팅 영속화 이벤트 인수 실패: error={}", e.getMessage());
+        }
+    }
+
+    // ==================== 직렬화 ====================
+
+    private StreamOperations<String, Object, Object> stream() {
+        return stringRedisTemplate.opsForStream();
+    }
+
+    private String toJson(ChatMessageDto message) {
+        try {
+            return objectMapper.writeValueAsString(message);
+        } catch (JsonProcessingException e) {
+            log.error("채팅 영속화 이벤트 직렬화 실패: chatId={}", message.getChatId(), e);
+            throw new CustomException(GlobalStatus.INTERNAL_SERVER_ERROR, e);
+        }
+    }
+
+    private ChatPersistEvent parse(MapRecord<String, Object, Object> record) {
+        Map<Object, Object> fields = record.getValue();
+        String eventId = record.getId().getValue();
+        try {
+            Long chatId = Long.valueOf(fields.get(FIELD_CHAT_ID).toString());
+            ChatPersistEvent.Type type = ChatPersistEvent.Type.valueOf(fields.get(FIELD_TYPE).toString());
+            if (type == ChatPersistEvent.Type.MESSAGE) {
+                return ChatPersistEvent.message(
+                        objectMapper.readValue(fields.get(FIELD_MESSAGE).toString(), ChatMessageDto.class), eventId);
+            }
+            return ChatPersistEvent.reaction(
+                    chatId,
+                    Long.valueOf(fields.get(FIELD_USER_ID).toString()),
+                    Boolean.parseBoolean(fields.get(FIELD_ADDED).toString()),
+                    eventId);
+        } catch (Exception e) {
+            return null;
+        }
+    }
+
+    private boolean sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+}
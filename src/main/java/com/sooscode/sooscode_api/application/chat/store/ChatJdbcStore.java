@@ -0,0 +1,133 @@
+package com.sooscode.sooscode_api.application.chat.store;
+
+import com.sooscode.sooscode_api.application.chat.dto.ChatMessageDto;
+import com.sooscode.sooscode_api.application.chat.dto.ChatPersistEvent;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * 채팅 메시지 MariaDB 저장소 (write-behind 전용)
+ * - chat_message / chat_message_reaction 테이블에 JDBC 배치로 반영
+ * - chat_id 는 Redis 에서 발급한 값을 그대로 사용 (답장 대상 참조 유지)
+ *
+ * 스트림 이벤트는 여러 노드가 나눠 반영하므로 도착 순서가 발생 순서와 다를 수 있음
+ * - 메시지: 삭제 여부는 한 번 true 면 유지하고, 삭제된 메시지의 내용은 바꾸지 않음 (생성 스냅샷이 늦게 와도 복구되지 않음)
+ * - 리액션: 메시지 행을 잠근 뒤 (메시지, 사용자) 별 최신 이벤트만 반영
+ */
+@Repository
+@Slf4j
+@RequiredArgsConstructor
+public class ChatJdbcStore {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private static final String UPSERT_MESSAGE_SQL = """
+            INSERT INTO chat_message (chat_id, user_id, class_id, content, created_at, is_deleted, reply_chat_id)
+            VALUES (?, ?, ?, ?, ?, ?, ?)
+            ON DUPLICATE KEY UPDATE
+                content = IF(is_deleted, content, VALUES(content)),
+                is_deleted = GREATEST(is_deleted, VALUES(is_deleted))
+            """;
+
+    private static final int[] UPSERT_MESSAGE_TYPES = {
+            Types.BIGINT, Types.BIGINT, Types.BIGINT, Types.VARCHAR, Types.TIMESTAMP, Types.BOOLEAN, Types.BIGINT
+    };
+
+    private static final String INSERT_REACTION_SQL = """
+            INSERT IGNORE INTO chat_message_reaction (message_id, user_id, created_at)
+            VALUES (?, ?, ?)
+            """;
+
+    private static final String DELETE_REACTION_SQL =
+            "DELETE FROM chat_message_reaction WHERE message_id = ? AND user_id = ?";
+
+    private static final String LOCK_MESSAGES_SQL =
+            "SELECT chat_id FROM chat_message WHERE chat_id IN (%s) ORDER BY chat_id FOR UPDATE";
+
+    /**
+     * 메시지 스냅샷과 리액션 변경을 한 트랜잭션으로 반영
+     * - 메시지를 먼저 반영해야 리액션/답장 FK 가 깨지지 않음
+     * - 리액션은 대상 메시지 행을 chat_id 순으로 잠근 뒤 latestOnly 로 최신 이벤트만 남김
+     *   (잠금 후 확인하므로 다른 노드가 더 최신 이벤트를 먼저 반영했으면 이 이벤트는 건너뜀)
+     * @param messages 반영할 메시지
+     * @param reactions (chatId, userId) 별 마지막 토글 이벤트
+     * @param latestOnly 같은 (chatId, userId) 의 가장 최근 이벤트만 남기는 필터
+     */
+    @Transactional
+    public void saveBatch(Collection<ChatMessageDto> messages, Collection<ChatPersistEvent> reactions,
+                          Function<Collection<ChatPersistEvent>, List<ChatPersistEvent>> latestOnly) {
+        if (!messages.isEmpty()) {
+            upsertMessages(messages);
+        }
+        if (!reactions.isEmpty()) {
+            lockMessages(reactions);
+            List<ChatPersistEvent> current = latestOnly.apply(reactions);
+            if (current.size() < reactions.size()) {
+                log.debug("이전 리액션 이벤트 건너뜀: count={}", reactions.size() - current.size());
+            }
+            if (!current.isEmpty()) {
+                applyReactions(current);
+            }
+        }
+    }
+
+    private void lockMessages(Collection<ChatPersistEvent> reactions) {
+        List<Long> chatIds = reactions.stream()
+                .map(ChatPersistEvent::chatId)
+                .distinct()
+                .sorted()
+                .toList();
+        String placeholders = chatIds.stream().map(id -> "?").collect(Collectors.joining(","));
+        jdbcTemplate.queryForList(String.format(LOCK_MESSAGES_SQL, placeholders), Long.class, chatIds.toArray());
+    }
+
+    private void upsertMessages(Collection<ChatMessageDto> messages) {
+        List<Object[]> args = new ArrayList<>(messages.size());
+        for (ChatMessageDto message : messages) {
+            LocalDateTime createdAt = message.getCreatedAt() != null ? message.getCreatedAt() : LocalDateTime.now();
+            args.add(new Object[]{
+                    message.getChatId(),
+                    message.getUserId(),
+                    message.getClassId(),
+                    message.getContent(),
+                    Timestamp.valueOf(createdAt),
+                    message.isDeleted(),
+                    message.getReplyToChatId()
+            });
+        }
+        jdbcTemplate.batchUpdate(UPSERT_MESSAGE_SQL, args, UPSERT_MESSAGE_TYPES);
+        log.debug("채팅 메시지 DB 반영: count={}", args.size());
+    }
+
+    private void applyReactions(Collection<ChatPersistEvent> reactions) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        List<Object[]> inserts = new ArrayList<>();
+        List<Object[]> deletes = new ArrayList<>();
+
+        for (ChatPersistEvent reaction : reactions) {
+            if (reaction.added()) {
+                inserts.add(new Object[]{reaction.chatId(), reaction.userId(), now});
+            } else {
+                deletes.add(new Object[]{reaction.chatId(), reaction.userId()});
+            }
+        }
+
+        if (!inserts.isEmpty()) {
+            jdbcTemplate.batchUpdate(INSERT_REACTION_SQL, inserts);
+        }
+        if (!deletes.isEmpty()) {
+            jdbcTemplate.batchUpdate(DELETE_REACTION_SQL, deletes);
+        }
+        log.debug("채팅 리액션 DB 반영: added={}, removed={}", inserts.size(), deletes.size());
+    }
+}
@@ -1,26 +1,41 @@
 package com.sooscode.sooscode_api.application.chat.store;
 
-import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import com.sooscode.sooscode_api.application.chat.dto.ChatMessageDto;
+import com.sooscode.sooscode_api.application.chat.dto.ChatPersistEvent;
+import com.sooscode.sooscode_api.global.exception.CustomException;
+import com.sooscode.sooscode_api.global.status.ChatStatus;
+import com.sooscode.sooscode_api.global.status.GlobalStatus;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.connection.stream.MapRecord;
 import org.springframework.data.redis.core.RedisCallback;
 import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.data.redis.serializer.GenericToStringSerializer;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.data.redis.serializer.SerializationException;
 import org.springframework.stereotype.Repository;
 
 import java.util.*;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 /**
  * 채팅 메시지 Redis 저장소
  *
  * Redis 키 구조:
- * - chat:seq                          → 채팅 ID 시퀀스 (auto increment)
- * - chat:message:{chatId}             → 채팅 메시지 (JSON)
+ * - chat:seq                          → 채팅 ID 시퀀스 (노드마다 CHAT_ID_BLOCK_SIZE 개씩 INCRBY 로 예약)
+ * - chat:message:{chatId}             → 채팅 메시지 (redis.value-format, chatMessageRedisTemplate 로 읽고 씀)
  * - chat:class:{classId}:messages     → 클래스별 채팅 ID 목록 (ZSet, score=timestamp)
  * - chat:message:{chatId}:reactions   → 리액션한 userId 목록 (Set)
+ * - chat:class:{classId}:reactions    → 클래스별 리액션 수 (Hash, chatId → count)
+ * - chat:message:{chatId}:reaction-events → 리액션 사용자별 마지막 영속화 이벤트 ID (Hash, userId → 스트림 ID)
+ *
+ * 스크립트는 사용하는 키를 모두 KEYS 로 선언하지만 키마다 슬롯이 다르므로 단일 Redis(또는 Sentinel) 기준
  */
 @Repository
 @Slf4j
@@ -28,51 +43,180 @@ import java.util.stream.Collectors;
 public class ChatRedisStore {
 
     private final RedisTemplate<String, Object> redisTemplate;
-    private final ObjectMapper objectMapper;
+    private final RedisTemplate<String, ChatMessageDto> chatMessageRedisTemplate;
 
     private static final String SEQ_KEY = "chat:seq";
     private static final String MESSAGE_KEY = "chat:message:%d";
     private static final String CLASS_MESSAGES_KEY = "chat:class:%d:messages";
     private static final String REACTION_KEY = "chat:message:%d:reactions";
+    private static final String CLASS_REACTIONS_KEY = "chat:class:%d:reactions";
+    private static final String REACTION_EVENTS_KEY = "chat:message:%d:reaction-events";
     private static final long TTL_HOURS = 24;
+    private static final int UNLINK_BATCH_SIZE = 500;
+    private static final int CHAT_ID_BLOCK_SIZE = 100;
 
-    // ==================== 메시지 CRUD ====================
+    private static final RedisSerializer<byte[]> BYTES_SERIALIZER = RedisSerializer.byteArray();
+    private static final RedisSerializer<String> STRING_SERIALIZER = RedisSerializer.string();
+    private static final RedisSerializer<Long> LONG_SERIALIZER = new GenericToStringSerializer<>(Long.class);
 
     /**
-     * 새 채팅 ID 발급
+     * 메시지 저장 스크립트 (저장 + 인덱스 + 영속화 이벤트를 한 번에, 원자적)
+     * KEYS[1] = chat:message:{chatId}, KEYS[2] = chat:class:{classId}:messages, KEYS[3] = 영속화 스트림
+     * ARGV[1] = 직렬화된 메시지 값, ARGV[2] = TTL(초), ARGV[3] = 인덱스 score(ms), ARGV[4] = 인덱스 멤버,
+     * ARGV[5] = 스트림 최대 길이(MAXLEN ~), ARGV[6..] = 스트림 이벤트 필드/값 쌍 (없으면 XADD 생략)
+     *
+     * 값은 Java 에서 직렬화한 바이트를 그대로 저장 (cjson 으로 다시 인코딩하지 않음)
      */
-    public Long nextChatId() {
-        Long id = redisTemplate.opsForValue().increment(SEQ_KEY);
-        return id != null ? id : 1L;
-    }
+    private static final RedisScript<Long> CREATE_MESSAGE_SCRIPT = new DefaultRedisScript<>("""
+            redis.call('SET', KEYS[1], ARGV[1], 'EX', ARGV[2])
+            redis.call('ZADD', KEYS[2], ARGV[3], ARGV[4])
+            redis.call('EXPIRE', KEYS[2], ARGV[2])
+            if #ARGV > 5 then
+                redis.call('XADD', KEYS[3], 'MAXLEN', '~', ARGV[5], '*', unpack(ARGV, 6))
+            end
+            return 1
+            """, Long.class);
 
     /**
-     * 메시지 저장
+     * 리액션 토글 스크립트
+     * KEYS[1] = chat:message:{chatId}:reactions, KEYS[2] = chat:class:{classId}:reactions,
+     * KEYS[3] = 영속화 스트림, KEYS[4] = chat:message:{chatId}:reaction-events
+     * ARGV[1] = userId, ARGV[2] = chatId, ARGV[3] = TTL(초),
+     * ARGV[4] = 스트림 최대 길이(MAXLEN ~), ARGV[5] = 추가/제거 필드 이름,
+     * ARGV[6..] = 나머지 스트림 이벤트 필드/값 쌍 (없으면 XADD 생략)
+     *
+     * 이벤트 ID 를 사용자별 마지막 이벤트로 기록 → 여러 노드가 이벤트를 나눠 반영해도 마지막 토글만 DB 에 남김
+     * 반환: {토글 후 리액션 수, 추가면 1 / 제거면 0}
+     * 카운트는 SCARD 값으로 덮어쓰므로 해시가 어긋나 있어도 다음 토글에서 바로잡힘
+     * 두 키는 해시 태그가 없어 Cluster 에서는 슬롯이 달라 실행 불가 (단일 Redis 기준, 클래스 설명 참고)
      */
-    public void saveMessage(ChatMessageDto message) {
-        String key = String.format(MESSAGE_KEY, message.getChatId());
-        try {
-            String json = objectMapper.writeValueAsString(message);
-            redisTemplate.opsForValue().set(key, json, TTL_HOURS, TimeUnit.HOURS);
+    @SuppressWarnings("rawtypes")
+    private static final RedisScript<List> TOGGLE_REACTION_SCRIPT = new DefaultRedisScript<>("""
+            local member = cjson.encode(ARGV[1])
+            local added = 0
+
+            if redis.call('SISMEMBER', KEYS[1], member) == 1 then
+                redis.call('SREM', KEYS[1], member)
+            else
+                redis.call('SADD', KEYS[1], member)
+                redis.call('EXPIRE', KEYS[1], ARGV[3])
+                added = 1
+            end
+
+            local count = redis.call('SCARD', KEYS[1])
+            if count > 0 then
+                redis.call('HSET', KEYS[2], ARGV[2], count)
+                redis.call('EXPIRE', KEYS[2], ARGV[3])
+            else
+                redis.call('HDEL', KEYS[2], ARGV[2])
+            end
+
+            if #ARGV > 5 then
+                local id = redis.call('XADD', KEYS[3], 'MAXLEN', '~', ARGV[4], '*',
+                        ARGV[5], added == 1 and 'true' or 'false', unpack(ARGV, 6))
+                redis.call('HSET', KEYS[4], ARGV[1], id)
+                redis.call('EXPIRE', KEYS[4], ARGV[3])
+            end
+
+            return {count, added}
+            """, List.class);
+
+    @Value("${chat.persist.max-length:100000}")
+    private long persistMaxLength;
+
+    // 노드가 예약한 채팅 ID 구간 [nextChatId, lastChatId]
+    private final ReentrantLock chatIdLock = new ReentrantLock();
+    private long nextChatId = 1;
+    private long lastChatId = 0;
 
-            // 클래스별 메시지 인덱스에 추가 (시간순 정렬)
-            String indexKey = String.format(CLASS_MESSAGES_KEY, message.getClassId());
-            double score = System.currentTimeMillis();
-            redisTemplate.opsForZSet().add(indexKey, message.getChatId().toString(), score);
-            redisTemplate.expire(indexKey, TTL_HOURS, TimeUnit.HOURS);
+    /**
+     * 리액션 토글 결과
+     * @param added true 면 추가, false 면 제거
+     */
+    public record ReactionToggle(int count, boolean added) {}
 
-            log.debug("채팅 저장: chatId={}, classId={}", message.getChatId(), message.getClassId());
-        } catch (JsonProcessingException e) {
-            log.error("채팅 저장 실패", e);
+    /**
+     * 히스토리 한 페이지
+     * @param messages   시간순(오래된 것 → 최신) 메시지 (본문이 만료된 메시지는 빠질 수 있음)
+     * @param hasMore    커서 이전에 채팅 ID 가 더 있는지 (본문 존재 여부와 무관하게 인덱스 기준)
+     * @param nextCursor 다음 페이지 조회용 beforeChatId (이 페이지에서 가장 오래된 채팅 ID)
+     */
+    public record ChatPage(List<ChatMessageDto> messages, boolean hasMore, Long nextCursor) {
+
+        public static ChatPage empty() {
+            return new ChatPage(Collections.emptyList(), false, null);
         }
     }
 
+    // ==================== 메시지 CRUD ====================
+
+    /**
+     * 신규 메시지 저장 (스크립트 1 RTT)
+     * - 답장이면 먼저 답장 대상을 조회해 검증하고 답장 정보를 채움 (답장일 때만 1 RTT 추가)
+     * - 채팅 ID 는 노드가 미리 예약한 구간에서 발급 (CHAT_ID_BLOCK_SIZE 건마다 INCRBY 1 회, 검증 실패 시 ID 를 쓰지 않음)
+     * - 메시지 저장, 클래스 인덱스 추가, 영속화 이벤트 XADD 를 스크립트 하나로 원자적으로 실행
+     * @param draft chatId 가 비어있는 메시지 (replyToChatId 가 있으면 답장 정보를 채움)
+     * @param persistEvent 저장된 메시지의 영속화 스트림 이벤트 (null 이면 XADD 생략)
+     * @return chatId, 답장 정보가 채워진 저장된 메시지
+     */
+    public ChatMessageDto createMessage(ChatMessageDto draft,
+                                        Function<ChatMessageDto, MapRecord<String, String, String>> persistEvent) {
+        ChatMessageDto.ChatMessageDtoBuilder builder = draft.toBuilder();
+
+        // 1. 답장 대상 검증
+        if (draft.getReplyToChatId() != null) {
+            ChatMessageDto reply = findById(draft.getReplyToChatId());
+            if (reply == null) {
+                throw new CustomException(ChatStatus.NOT_FOUND);
+            }
+            if (!Objects.equals(reply.getClassId(), draft.getClassId())) {
+                throw new CustomException(ChatStatus.ACCESS_DENIED);
+            }
+            builder.replyToUsername(reply.getUsername())
+                    .replyToContent(reply.getContent());
+        }
+
+        // 2. ID 발급
+        Long chatId = nextChatId();
+        ChatMessageDto message = builder.chatId(chatId).build();
+
+        // 3. 저장 + 인덱스 + 영속화 이벤트
+        MapRecord<String, String, String> event = persistEvent.apply(message);
+        List<String> keys = new ArrayList<>(List.of(
+                String.format(MESSAGE_KEY, chatId),
+                String.format(CLASS_MESSAGES_KEY, draft.getClassId())
+        ));
+        List<byte[]> args = new ArrayList<>();
+        args.add(serialize(message));
+        args.add(STRING_SERIALIZER.serialize(String.valueOf(TimeUnit.HOURS.toSeconds(TTL_HOURS))));
+        args.add(STRING_SERIALIZER.serialize(String.valueOf(System.currentTimeMillis())));
+        args.add(indexMemberSerializer().serialize(chatId.toString()));
+        args.add(STRING_SERIALIZER.serialize(String.valueOf(persistMaxLength)));
+        if (event != null) {
+            keys.add(event.getStream());
+            event.getValue().forEach((field, value) -> {
+                args.add(STRING_SERIALIZER.serialize(field));
+                args.add(STRING_SERIALIZER.serialize(value));
+            });
+        }
+
+        redisTemplate.execute(CREATE_MESSAGE_SCRIPT, BYTES_SERIALIZER, LONG_SERIALIZER, keys, args.toArray());
+
+        log.debug("채팅 저장: chatId={}, classId={}", chatId, message.getClassId());
+        return message;
+    }
+
     /**
      * 메시지 조회
      */
     public ChatMessageDto findById(Long chatId) {
         String key = String.format(MESSAGE_KEY, chatId);
-        return parseMessage(redisTemplate.opsForValue().get(key));
+        try {
+            return chatMessageRedisTemplate.opsForValue().get(key);
+        } catch (SerializationException e) {
+            log.error("채팅 파싱 실패: chatId={}", chatId, e);
+            return null;
+        }
     }
 
     /**
@@ -81,23 +225,35 @@ public class ChatRedisStore {
     public void updateMessage(ChatMessageDto message) {
         String key = String.format(MESSAGE_KEY, message.getChatId());
         try {
-            String json = objectMapper.writeValueAsString(message);
-            redisTemplate.opsForValue().set(key, json, TTL_HOURS, TimeUnit.HOURS);
-        } catch (JsonProcessingException e) {
+            chatMessageRedisTemplate.opsForValue().set(key, message, TTL_HOURS, TimeUnit.HOURS);
+        } catch (SerializationException e) {
             log.error("채팅 업데이트 실패", e);
         }
     }
 
     /**
-     * 클래스별 전체 메시지 조회 (시간순)
+     * 클래스별 메시지 페이지 조회 (커서 기반)
+     * - beforeChatId 가 null 이면 최신 메시지부터, 아니면 해당 메시지 직전부터 limit 개 조회
+     * - ZSet rank 범위로 필요한 구간만 읽으므로 수업 길이와 무관하게 비용 일정
+     * - 다음 페이지 여부와 커서는 ZSet 에서 읽은 채팅 ID 기준 (본문이 만료돼 빠진 메시지가 있어도 정확)
      */
-    public List<ChatMessageDto> findAllByClassId(Long classId) {
+    public ChatPage findPageByClassId(Long classId, Long beforeChatId, int limit) {
         String indexKey = String.format(CLASS_MESSAGES_KEY, classId);
 
-        // 1. 채팅 ID 목록 조회 (시간순)
-        Set<Object> chatIdsRaw = redisTemplate.opsForZSet().range(indexKey, 0, -1);
+        // 1. 커서 위치 계산 (최신순 rank)
+        long start = 0;
+        if (beforeChatId != null) {
+            Long rank = redisTemplate.opsForZSet().reverseRank(indexKey, beforeChatId.toString());
+            if (rank == null) {
+                return ChatPage.empty();
+            }
+            start = rank + 1;
+        }
+
+        // 2. 커서 이전 limit + 1 개의 채팅 ID 조회 (최신순, 1개 더 읽어 다음 페이지 여부 확인)
+        Set<Object> chatIdsRaw = redisTemplate.opsForZSet().reverseRange(indexKey, start, start + limit);
         if (chatIdsRaw == null || chatIdsRaw.isEmpty()) {
-            return Collections.emptyList();
+            return ChatPage.empty();
         }
 
         List<Long> chatIds = chatIdsRaw.stream()
@@ -105,48 +261,76 @@ public class ChatRedisStore {
                 .map(Long::valueOf)
                 .collect(Collectors.toList());
 
-        // 2. 메시지 키 목록 생성
-        List<String> keys = chatIds.stream()
-                .map(id -> String.format(MESSAGE_KEY, id))
-                .collect(Collectors.toList());
+        boolean hasMore = chatIds.size() > limit;
+        if (hasMore) {
+            chatIds = chatIds.subList(0, limit);
+        }
+        Long nextCursor = hasMore ? chatIds.get(chatIds.size() - 1) : null;
 
-        // 3. 한 번에 조회 (multiGet)
-        List<Object> raws = redisTemplate.opsForValue().multiGet(keys);
-        if (raws == null) {
+        // 3. 시간순으로 뒤집기
+        List<Long> ordered = new ArrayList<>(chatIds);
+        Collections.reverse(ordered);
+
+        return new ChatPage(findAllByIds(classId, ordered), hasMore, nextCursor);
+    }
+
+    /**
+     * 클래스 전체 메시지 수 (ZCARD)
+     */
+    public long countByClassId(Long classId) {
+        Long count = redisTemplate.opsForZSet().zCard(String.format(CLASS_MESSAGES_KEY, classId));
+        return count != null ? count : 0;
+    }
+
+    /**
+     * 채팅 ID 목록으로 메시지 일괄 조회 (리액션 카운트 포함)
+     */
+    private List<ChatMessageDto> findAllByIds(Long classId, List<Long> chatIds) {
+        // 1. 메시지 키 목록 생성
+        byte[][] keys = chatIds.stream()
+                .map(id -> STRING_SERIALIZER.serialize(String.format(MESSAGE_KEY, id)))
+                .toArray(byte[][]::new);
+
+        // 2. 한 번에 조회 (MGET) - 원본 바이트로 받아 메시지별로 역직렬화
+        //    (multiGet 은 값 하나만 깨져도 예외로 페이지 전체가 비므로 사용하지 않음)
+        List<byte[]> rawMessages = redisTemplate.execute(
+                (RedisCallback<List<byte[]>>) connection -> connection.stringCommands().mGet(keys));
+        if (rawMessages == null) {
             return Collections.emptyList();
         }
 
-        // 4. 메시지 파싱
-        List<ChatMessageDto> messages = raws.stream()
-                .filter(Objects::nonNull)
-                .map(this::parseMessage)
-                .filter(Objects::nonNull)
+        // 3. 리액션 카운트 조회 (클래스 리액션 해시에서 HMGET 한 번)
+        List<Object> fields = chatIds.stream()
+                .map(String::valueOf)
                 .collect(Collectors.toList());
-
-        // 5. 리액션 카운트 조회 (pipeline)
-        List<Object> counts = redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
-            for (Long chatId : chatIds) {
-                byte[] key = redisTemplate.getStringSerializer()
-                        .serialize(String.format(REACTION_KEY, chatId));
-                if (key != null) {
-                    connection.setCommands().sCard(key);
+        List<Object> counts = redisTemplate.opsForHash()
+                .multiGet(String.format(CLASS_REACTIONS_KEY, classId), fields);
+
+        // 4. 메시지 파싱 + 리액션 카운트 주입 (chatIds 순서 기준으로 정렬 유지)
+        List<ChatMessageDto> result = new ArrayList<>(chatIds.size());
+        int skipped = 0;
+        for (int i = 0; i < rawMessages.size(); i++) {
+            byte[] raw = rawMessages.get(i);
+            ChatMessageDto message = deserialize(raw);
+            if (message == null) {
+                // 만료된 메시지는 raw == null, 깨진 값은 해당 메시지만 제외
+                if (raw != null) {
+                    skipped++;
                 }
+                continue;
             }
-            return null;
-        });
-
-        // 6. 리액션 카운트 주입
-        List<ChatMessageDto> result = new ArrayList<>(messages.size());
-        for (int i = 0; i < messages.size(); i++) {
             int reactionCount = 0;
-            if (i < counts.size() && counts.get(i) != null) {
-                reactionCount = ((Number) counts.get(i)).intValue();
+            if (counts != null && i < counts.size() && counts.get(i) != null) {
+                reactionCount = Integer.parseInt(counts.get(i).toString());
             }
-            result.add(messages.get(i).toBuilder()
+            result.add(message.toBuilder()
                     .reactionCount(reactionCount)
                     .build());
         }
 
+        if (skipped > 0) {
+            log.warn("파싱할 수 없는 채팅 메시지 제외: classId={}, skipped={}", classId, skipped);
+        }
         return result;
     }
 
@@ -154,32 +338,77 @@ public class ChatRedisStore {
 
     /**
      * 리액션 토글 (추가/제거)
-     * @return 현재 리액션 수
+     * - 리액션 Set, 클래스 리액션 수 해시, 영속화 이벤트를 스크립트 한 번으로 함께 갱신
+     * @param persistEvent 추가/제거 필드를 뺀 영속화 스트림 이벤트 (null 이면 XADD 생략)
+     * @return 현재 리액션 수와 추가/제거 여부
      */
-    public int toggleReaction(Long chatId, Long userId) {
-        String key = String.format(REACTION_KEY, chatId);
-        String member = userId.toString();
-
-        Boolean exists = redisTemplate.opsForSet().isMember(key, member);
+    public ReactionToggle toggleReaction(Long classId, Long chatId, Long userId,
+                                         MapRecord<String, String, String> persistEvent) {
+        List<String> keys = new ArrayList<>(List.of(
+                String.format(REACTION_KEY, chatId),
+                String.format(CLASS_REACTIONS_KEY, classId)
+        ));
+        List<String> args = new ArrayList<>(List.of(
+                userId.toString(),
+                chatId.toString(),
+                String.valueOf(TimeUnit.HOURS.toSeconds(TTL_HOURS)),
+                String.valueOf(persistMaxLength)
+        ));
+        if (persistEvent != null) {
+            keys.add(persistEvent.getStream());
+            keys.add(String.format(REACTION_EVENTS_KEY, chatId));
+            args.add(ChatPersistEvent.FIELD_ADDED);
+            persistEvent.getValue().forEach((field, value) -> {
+                args.add(field);
+                args.add(value);
+            });
+        }
 
-        if (Boolean.TRUE.equals(exists)) {
-            redisTemplate.opsForSet().remove(key, member);
-        } else {
-            redisTemplate.opsForSet().add(key, member);
-            redisTemplate.expire(key, TTL_HOURS, TimeUnit.HOURS);
+        List<?> result = redisTemplate.execute(
+                TOGGLE_REACTION_SCRIPT,
+                STRING_SERIALIZER,
+                LONG_SERIALIZER,
+                keys,
+                args.toArray()
+        );
+        if (result == null || result.size() < 2) {
+            return new ReactionToggle(0, false);
         }
+        return new ReactionToggle(
+                ((Number) result.get(0)).intValue(),
+                ((Number) result.get(1)).intValue() == 1
+        );
+    }
 
-        Long count = redisTemplate.opsForSet().size(key);
-        return count != null ? count.intValue() : 0;
+    /**
+     * (chatId, userId) 별 마지막 리액션 영속화 이벤트 ID (pipeline 1 RTT)
+     * @return 기록이 없으면(만료 등) 값이 null
+     */
+    public Map<List<Long>, String> findLatestReactionEvents(Collection<List<Long>> chatIdUserIds) {
+        List<List<Long>> pairs = new ArrayList<>(chatIdUserIds);
+        List<Object> ids = redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            for (List<Long> pair : pairs) {
+                connection.hashCommands().hGet(
+                        STRING_SERIALIZER.serialize(String.format(REACTION_EVENTS_KEY, pair.get(0))),
+                        STRING_SERIALIZER.serialize(pair.get(1).toString()));
+            }
+            return null;
+        }, STRING_SERIALIZER);
+
+        Map<List<Long>, String> latest = new HashMap<>();
+        for (int i = 0; i < pairs.size(); i++) {
+            latest.put(pairs.get(i), i < ids.size() ? (String) ids.get(i) : null);
+        }
+        return latest;
     }
 
     /**
      * 리액션 수 조회
      */
-    public int getReactionCount(Long chatId) {
-        String key = String.format(REACTION_KEY, chatId);
-        Long count = redisTemplate.opsForSet().size(key);
-        return count != null ? count.intValue() : 0;
+    public int getReactionCount(Long classId, Long chatId) {
+        Object count = redisTemplate.opsForHash()
+                .get(String.format(CLASS_REACTIONS_KEY, classId), chatId.toString());
+        return count != null ? Integer.parseInt(count.toString()) : 0;
     }
 
     /**
@@ -187,16 +416,7 @@ public class ChatRedisStore {
      */
     public Set<Long> getReactionUserIds(Long chatId) {
         String key = String.format(REACTION_KEY, chatId);
-        Set<Object> members = redisTemplate.opsForSet().members(key);
-
-        if (members == null || members.isEmpty()) {
-            return Collections.emptySet();
-        }
-
-        return members.stream()
-                .map(Object::toString)
-                .map(Long::valueOf)
-                .collect(Collectors.toSet());
+        return toUserIds(redisTemplate.opsForSet().members(key));
     }
 
     /**
@@ -212,38 +432,108 @@ public class ChatRedisStore {
 
     /**
      * 클래스 채팅 전체 삭제 (수업 종료 시)
+     * - 클래스 인덱스(ZSet)를 키 목록으로 사용하므로 keyspace 스캔 없음
+     * - 메시지/리액션 키를 UNLINK 로 묶어 pipeline 한 번에 전송 (메모리 해제는 Redis 백그라운드 처리)
+     * - UNLINK 한 번에 넘기는 키 수를 제한해 큰 수업이 끝나도 다른 클래스 요청이 밀리지 않도록 함
      */
     public void deleteAllByClassId(Long classId) {
         String indexKey = String.format(CLASS_MESSAGES_KEY, classId);
 
-        // 채팅 ID 목록 조회
+        // 1. 채팅 ID 목록 조회
         Set<Object> chatIds = redisTemplate.opsForZSet().range(indexKey, 0, -1);
 
-        if (chatIds != null && !chatIds.isEmpty()) {
-            // 메시지 및 리액션 삭제
+        // 2. 삭제할 키 목록 (메시지, 리액션 → 리액션 수 해시, 인덱스 순)
+        List<String> keys = new ArrayList<>();
+        if (chatIds != null) {
             for (Object chatIdObj : chatIds) {
                 Long chatId = Long.valueOf(chatIdObj.toString());
-                redisTemplate.delete(String.format(MESSAGE_KEY, chatId));
-                redisTemplate.delete(String.format(REACTION_KEY, chatId));
+                keys.add(String.format(MESSAGE_KEY, chatId));
+                keys.add(String.format(REACTION_KEY, chatId));
+                keys.add(String.format(REACTION_EVENTS_KEY, chatId));
             }
         }
+        keys.add(String.format(CLASS_REACTIONS_KEY, classId));
+        keys.add(indexKey);
+
+        // 3. UNLINK (배치 단위로 나눠 pipeline 전송)
+        RedisSerializer<String> keySerializer = redisTemplate.getStringSerializer();
+        redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            for (int from = 0; from < keys.size(); from += UNLINK_BATCH_SIZE) {
+                byte[][] rawKeys = keys.subList(from, Math.min(from + UNLINK_BATCH_SIZE, keys.size()))
+                        .stream()
+                        .map(keySerializer::serialize)
+                        .toArray(byte[][]::new);
+                connection.keyCommands().unlink(rawKeys);
+            }
+            return null;
+        });
 
-        // 인덱스 삭제
-        redisTemplate.delete(indexKey);
-
-        log.info("클래스 채팅 전체 삭제: classId={}", classId);
+        log.info("클래스 채팅 전체 삭제: classId={}, keys={}", classId, keys.size());
     }
 
     // ==================== 내부 메서드 ====================
 
-    private ChatMessageDto parseMessage(Object value) {
-        if (value == null) return null;
+    /**
+     * 예약한 구간에서 채팅 ID 발급 (구간을 다 쓰면 chat:seq 에서 다음 구간 예약)
+     * - 노드마다 구간이 다르므로 ID 는 유일하지만 노드 간 발급 순서와는 다를 수 있음 (정렬은 생성 시각 기준)
+     */
+    private long nextChatId() {
+        chatIdLock.lock();
         try {
-            if (value instanceof String) {
-                return objectMapper.readValue((String) value, ChatMessageDto.class);
+            if (nextChatId > lastChatId) {
+                Long last = redisTemplate.opsForValue().increment(SEQ_KEY, CHAT_ID_BLOCK_SIZE);
+                if (last == null) {
+                    throw new CustomException(GlobalStatus.INTERNAL_SERVER_ERROR);
+                }
+                lastChatId = last;
+                nextChatId = last - CHAT_ID_BLOCK_SIZE + 1;
             }
-            return objectMapper.convertValue(value, ChatMessageDto.class);
-        } catch (Exception e) {
+            return nextChatId++;
+        } finally {
+            chatIdLock.unlock();
+        }
+    }
+
+    private Set<Long> toUserIds(Collection<?> members) {
+        if (members == null || members.isEmpty()) {
+            return Collections.emptySet();
+        }
+
+        return members.stream()
+                .map(Object::toString)
+                .map(Long::valueOf)
+                .collect(Collectors.toSet());
+    }
+
+    @SuppressWarnings("unchecked")
+    private RedisSerializer<ChatMessageDto> messageSerializer() {
+        return (RedisSerializer<ChatMessageDto>) chatMessageRedisTemplate.getValueSerializer();
+    }
+
+    /**
+     * 클래스 인덱스(ZSet) 멤버 직렬화기 - redisTemplate 으로 읽고 지우므로 같은 직렬화 사용
+     */
+    @SuppressWarnings("unchecked")
+    private RedisSerializer<Object> indexMemberSerializer() {
+        return (RedisSerializer<Object>) redisTemplate.getValueSerializer();
+    }
+
+    private byte[] serialize(ChatMessageDto message) {
+        try {
+            return messageSerializer().serialize(message);
+        } catch (SerializationException e) {
+            log.error("채팅 저장 실패: classId={}", message.getClassId(), e);
+            throw new CustomException(GlobalStatus.INTERNAL_SERVER_ERROR, e);
+        }
+    }
+
+    private ChatMessageDto deserialize(byte[] raw) {
+        if (raw == null) {
+            return null;
+        }
+        try {
+            return messageSerializer().deserialize(raw);
+        } catch (SerializationException e) {
             log.error("채팅 파싱 실패", e);
             return null;
         }
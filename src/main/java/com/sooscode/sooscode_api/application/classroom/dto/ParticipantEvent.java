@@ -0,0 +1,29 @@
+package com.sooscode.sooscode_api.application.classroom.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * 참여자 변경 이벤트 DTO (ParticipantEventBatch 로 묶여 /topic/class/{classId}/participants 로 전송)
+ *
+ * 클라이언트는 로컬 목록 버전 + 1 인 이벤트만 적용하고,
+ * 버전이 건너뛰면 전체 목록(스냅샷)을 다시 조회
+ * - JOINED / UPDATED : participant 로 목록에 추가 또는 교체
+ * - LEFT             : userId 를 목록에서 제거
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ParticipantEvent {
+
+    public enum Type { JOINED, UPDATED, LEFT }
+
+    private Type type;
+    private String classId;
+    private long version;
+    private Long userId;
+    private ParticipantInfo participant;
+}
@@ -0,0 +1,23 @@
+package com.sooscode.sooscode_api.application.classroom.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * 참여자 변경 이벤트 묶음 (/topic/class/{classId}/participants)
+ * - 짧은 시간 안에 발생한 변경을 한 프레임으로 전송
+ * - events 는 버전 오름차순, 클라이언트는 순서대로 적용
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ParticipantEventBatch {
+
+    private String classId;
+    private List<ParticipantEvent> events;
+}
@@ -8,6 +8,7 @@ import com.sooscode.sooscode_api.domain.classroom.repository.ClassRoomRepository
 import com.sooscode.sooscode_api.global.exception.CustomException;
 import com.sooscode.sooscode_api.global.status.ClassRoomStatus;
 import com.sooscode.sooscode_api.infra.websocket.service.SessionService;
+import com.sooscode.sooscode_api.infra.websocket.service.StompDestinations;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.messaging.simp.SimpMessagingTemplate;
@@ -31,6 +32,7 @@ public class ClassRoomServiceImpl implements ClassRoomService {
     private final ParticipantService participantService;
     private final CodeService codeService;
     private final SimpMessagingTemplate messagingTemplate;
+    private final StompDestinations destinations;
 
     private final ClassRoomRepository classRoomRepository;
     private final ClassParticipantRepository classParticipantRepository;
@@ -112,9 +114,9 @@ public class ClassRoomServiceImpl implements ClassRoomService {
 
         // 1. 종료 메시지 전송
         SystemMessage message = new SystemMessage("CLASS_ENDED", "수업이 종료되었습니다.");
-        messagingTemplate.convertAndSend("/topic/class/" + classId + "/system", message);
+        messagingTemplate.convertAndSend(destinations.classTopic(classId, "system"), message);
 
-        // 2. 데이터 정리
+        // 2. 데이터 정리 (클래스 단위 키만 UNLINK, keyspace 스캔 없음)
         sessionService.clearClassMembers(classIdStr);
         participantService.clearAll(classIdStr);
         codeService.cleanup(classId);
@@ -150,7 +152,7 @@ public class ClassRoomServiceImpl implements ClassRoomService {
     @Override
     public void sendSystemMessage(Long classId, String type, String content) {
         SystemMessage message = new SystemMessage(type, content);
-        messagingTemplate.convertAndSend("/topic/class/" + classId + "/system", message);
+        messagingTemplate.convertAndSend(destinations.classTopic(classId, "system"), message);
     }
 
     /**
@@ -0,0 +1,121 @@
+package com.sooscode.sooscode_api.application.classroom.service;
+
+import com.sooscode.sooscode_api.application.classroom.dto.ParticipantEvent;
+import com.sooscode.sooscode_api.application.classroom.dto.ParticipantEventBatch;
+import com.sooscode.sooscode_api.infra.websocket.service.StompDestinations;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 참여자 이벤트 브로드캐스트 병합기
+ * - 수업 시작 시 수십 명이 몇 초 안에 입장해도 클래스당 window 마다 한 프레임만 전송
+ * - 클래스의 첫 이벤트가 들어올 때 window 뒤 flush 를 예약하고, 그 사이 이벤트는 같은 묶음에 추가
+ * - 모든 클래스가 작은 공유 스케줄러 하나를 사용
+ *
+ * window-ms 가 0 이면 병합 없이 즉시 전송
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ParticipantBroadcastCoalescer {
+
+    private final SimpMessagingTemplate messagingTemplate;
+    private final StompDestinations destinations;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${participant.broadcast.window-ms:150}")
+    private long windowMs;
+
+    @Value("${participant.broadcast.threads:1}")
+    private int threads;
+
+    private final Map<String, List<ParticipantEvent>> pending = new ConcurrentHashMap<>();
+    private ScheduledExecutorService scheduler;
+
+    private Counter eventCounter;
+    private Counter frameCounter;
+
+    @PostConstruct
+    public void init() {
+        // events / frames 비율이 병합 효과
+        this.eventCounter = meterRegistry.counter("participant.broadcast.events");
+        this.frameCounter = meterRegistry.counter("participant.broadcast.frames");
+
+        this.scheduler = Executors.newScheduledThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "participant-broadcast");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        scheduler.shutdownNow();
+    }
+
+    /**
+     * 이벤트 추가 - window 안에 들어온 같은 클래스 이벤트와 함께 전송
+     */
+    public void submit(ParticipantEvent event) {
+        String classId = event.getClassId();
+        if (windowMs <= 0) {
+            send(classId, List.of(event));
+            return;
+        }
+
+        boolean[] first = {false};
+        pending.compute(classId, (id, buffer) -> {
+            if (buffer == null) {
+                buffer = new ArrayList<>();
+                first[0] = true;
+            }
+            buffer.add(event);
+            return buffer;
+        });
+
+        if (first[0]) {
+            scheduler.schedule(() -> flush(classId), windowMs, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    private void flush(String classId) {
+        List<ParticipantEvent> events = pending.remove(classId);
+        if (events == null || events.isEmpty()) {
+            return;
+        }
+        events.sort(Comparator.comparingLong(ParticipantEvent::getVersion));
+        try {
+            send(classId, events);
+        } catch (Exception e) {
+            log.error("참여자 이벤트 브로드캐스트 실패: classId={}, events={}", classId, events.size(), e);
+        }
+    }
+
+    private void send(String classId, List<ParticipantEvent> events) {
+        ParticipantEventBatch batch = ParticipantEventBatch.builder()
+                .classId(classId)
+                .events(events)
+                .build();
+        messagingTemplate.convertAndSend(destinations.classTopic(classId, "participants"), batch);
+        eventCounter.increment(events.size());
+        frameCounter.increment();
+        log.debug("참여자 이벤트 브로드캐스트: classId={}, events={}, lastVersion={}",
+                classId, events.size(), events.get(events.size() - 1).getVersion());
+    }
+}
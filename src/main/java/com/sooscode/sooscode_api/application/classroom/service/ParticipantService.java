@@ -2,9 +2,12 @@ package com.sooscode.sooscode_api.application.classroom.service;
 
 import com.sooscode.sooscode_api.application.classroom.store.ParticipantRedisStore;
 import com.sooscode.sooscode_api.application.classroom.store.ParticipantsResponse;
+import com.sooscode.sooscode_api.application.classroom.dto.ParticipantEvent;
 import com.sooscode.sooscode_api.application.classroom.dto.ParticipantInfo;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
 import org.springframework.messaging.simp.SimpMessagingTemplate;
 import org.springframework.stereotype.Service;
 
@@ -14,7 +17,8 @@ import java.util.Optional;
 /**
  * 참여자 관리 서비스
  * - 입장/퇴장 처리
- * - 참여자 목록 브로드캐스트
+ * - 참여자 변경 이벤트 브로드캐스트 (/topic/class/{classId}/participants, ParticipantBroadcastCoalescer 로 묶어서 전송)
+ * - 참여자 목록 스냅샷 전송 (구독 시 /user/queue/participants, 버전 누락 시 REST 조회)
  */
 @Service
 @Slf4j
@@ -23,39 +27,73 @@ public class ParticipantService {
 
     private final ParticipantRedisStore participantRepository;
     private final SimpMessagingTemplate messagingTemplate;
+    private final ParticipantBroadcastCoalescer broadcastCoalescer;
 
-    private static final String PARTICIPANTS_TOPIC = "/topic/class/%s/participants";
+    private static final String SNAPSHOT_QUEUE = "/queue/participants";
 
     /**
      * 클래스 입장
      */
     public void join(String classId, Long userId, String username, boolean isInstructor) {
-        participantRepository.save(classId, userId, username, isInstructor);
-        broadcastParticipants(classId);
+        ParticipantRedisStore.SaveResult result = participantRepository.save(classId, userId, username, isInstructor);
+
+        broadcast(ParticipantEvent.builder()
+                .type(result.created() ? ParticipantEvent.Type.JOINED : ParticipantEvent.Type.UPDATED)
+                .classId(classId)
+                .version(result.version())
+                .userId(userId)
+                .participant(result.participant())
+                .build());
+
         log.info("참여자 입장: classId={}, userId={}, username={}, isInstructor={}",
                 classId, userId, username, isInstructor);
     }
 
     /**
      * 클래스 퇴장
+     * - 참여자가 아니었으면 버전이 바뀌지 않으므로 브로드캐스트하지 않음
      */
     public void leave(String classId, Long userId) {
-        participantRepository.delete(classId, userId);
-        broadcastParticipants(classId);
+        long version = participantRepository.delete(classId, userId);
+        if (version > 0) {
+            broadcast(ParticipantEvent.builder()
+                    .type(ParticipantEvent.Type.LEFT)
+                    .classId(classId)
+                    .version(version)
+                    .userId(userId)
+                    .build());
+        }
         log.info("참여자 퇴장: classId={}, userId={}", classId, userId);
     }
 
     /**
-     * 참여자 목록 브로드캐스트
+     * 참여자 목록 스냅샷
+     * - 버전을 먼저 읽고 목록을 읽음 → 그 사이 변경은 더 큰 버전의 이벤트로 다시 전달되고,
+     *   이벤트 적용은 멱등(추가/교체/제거)이므로 클라이언트 목록이 어긋나지 않음
      */
-    public void broadcastParticipants(String classId) {
+    public ParticipantsResponse getSnapshot(String classId) {
+        long version = participantRepository.getVersion(classId);
         List<ParticipantInfo> participants = participantRepository.findAll(classId);
-        ParticipantsResponse response = ParticipantsResponse.of(classId, participants);
+        return ParticipantsResponse.of(classId, participants, version);
+    }
+
+    /**
+     * 구독한 세션에만 스냅샷 전송 (/user/queue/participants)
+     */
+    public void sendSnapshot(String classId, String principalName, String sessionId) {
+        SimpMessageHeaderAccessor headers = SimpMessageHeaderAccessor.create(SimpMessageType.MESSAGE);
+        headers.setSessionId(sessionId);
+        headers.setLeaveMutable(true);
 
-        String topic = String.format(PARTICIPANTS_TOPIC, classId);
-        messagingTemplate.convertAndSend(topic, response);
+        ParticipantsResponse snapshot = getSnapshot(classId);
+        messagingTemplate.convertAndSendToUser(principalName, SNAPSHOT_QUEUE, snapshot, headers.getMessageHeaders());
+
+        log.debug("참여자 스냅샷 전송: classId={}, sessionId={}, version={}, count={}",
+                classId, sessionId, snapshot.getVersion(), snapshot.getTotalCount());
+    }
 
-        log.debug("참여자 브로드캐스트: classId={}, count={}", classId, participants.size());
+    private void broadcast(ParticipantEvent event) {
+        broadcastCoalescer.submit(event);
     }
 
     /**
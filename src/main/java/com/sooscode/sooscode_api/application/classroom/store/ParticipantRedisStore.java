@@ -1,13 +1,19 @@
 package com.sooscode.sooscode_api.application.classroom.store;
 
-import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import com.sooscode.sooscode_api.application.classroom.dto.ParticipantInfo;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.core.HashOperations;
+import org.springframework.data.redis.core.RedisCallback;
 import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.data.redis.serializer.GenericToStringSerializer;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.data.redis.serializer.SerializationException;
 import org.springframework.stereotype.Repository;
 
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
 import java.util.*;
 import java.util.concurrent.TimeUnit;
@@ -17,24 +23,83 @@ import java.util.stream.Collectors;
  * 참여자 정보 Redis 저장소
  *
  * Redis 키 구조:
- * - participant:class:{classId} → Hash (userId → ParticipantInfo JSON)
+ * - participant:class:{classId}             → Hash (userId → ParticipantInfo)
+ * - participant:class:{classId}:students    → 학생 userId 인덱스 (Set)
+ * - participant:class:{classId}:instructors → 강사 userId 인덱스 (Set)
+ * - participant:class:{classId}:version     → 참여자 목록 버전 (입장/퇴장마다 INCR)
+ *
+ * 입장/퇴장은 Hash, 인덱스, 버전을 스크립트 한 번으로 함께 갱신
+ * 값 직렬화는 participantRedisTemplate 의 TypedRedisSerializer 가 담당 (이전 이중 인코딩 값도 읽음)
  */
 @Repository
 @Slf4j
 @RequiredArgsConstructor
 public class ParticipantRedisStore {
 
-    private final RedisTemplate<String, Object> redisTemplate;
-    private final ObjectMapper objectMapper;
+    private final RedisTemplate<String, ParticipantInfo> participantRedisTemplate;
 
     private static final String KEY_PREFIX = "participant:class:";
+    private static final String STUDENTS_SUFFIX = ":students";
+    private static final String INSTRUCTORS_SUFFIX = ":instructors";
+    private static final String VERSION_SUFFIX = ":version";
     private static final long TTL_HOURS = 24;
 
+    private static final RedisSerializer<byte[]> BYTES_SERIALIZER = RedisSerializer.byteArray();
+    private static final RedisSerializer<String> STRING_SERIALIZER = RedisSerializer.string();
+    private static final RedisSerializer<Long> LONG_SERIALIZER = new GenericToStringSerializer<>(Long.class);
+
+    /**
+     * 입장 스크립트
+     * KEYS[1] = Hash, KEYS[2] = 본인 역할 인덱스, KEYS[3] = 다른 역할 인덱스, KEYS[4] = 버전
+     * ARGV[1] = userId, ARGV[2] = ParticipantInfo (직렬화된 값), ARGV[3] = TTL(초)
+     *
+     * 반환: "JOINED:{version}" (신규) 또는 "UPDATED:{version}" (재입장)
+     */
+    private static final RedisScript<String> JOIN_SCRIPT = new DefaultRedisScript<>("""
+            local created = redis.call('HSET', KEYS[1], ARGV[1], ARGV[2])
+            redis.call('SADD', KEYS[2], ARGV[1])
+            redis.call('SREM', KEYS[3], ARGV[1])
+            local version = redis.call('INCR', KEYS[4])
+            for i = 1, 4 do
+                redis.call('EXPIRE', KEYS[i], ARGV[3])
+            end
+            if created == 1 then
+                return 'JOINED:' .. version
+            end
+            return 'UPDATED:' .. version
+            """, String.class);
+
+    /**
+     * 퇴장 스크립트
+     * KEYS[1] = Hash, KEYS[2] = 학생 인덱스, KEYS[3] = 강사 인덱스, KEYS[4] = 버전
+     * ARGV[1] = userId
+     *
+     * 반환: 변경 후 버전, 참여자가 아니었으면 0 (버전 유지)
+     */
+    private static final RedisScript<Long> LEAVE_SCRIPT = new DefaultRedisScript<>("""
+            if redis.call('HDEL', KEYS[1], ARGV[1]) == 0 then
+                return 0
+            end
+            redis.call('SREM', KEYS[2], ARGV[1])
+            redis.call('SREM', KEYS[3], ARGV[1])
+            return redis.call('INCR', KEYS[4])
+            """, Long.class);
+
+    /**
+     * 입장/정보 변경 결과
+     * @param created true 면 신규 입장, false 면 기존 참여자 정보 갱신
+     */
+    public record SaveResult(ParticipantInfo participant, long version, boolean created) {}
+
     private String getKey(String classId) {
         return KEY_PREFIX + classId;
     }
 
-    public void save(String classId, Long userId, String username, boolean isInstructor) {
+    private HashOperations<String, String, ParticipantInfo> hash() {
+        return participantRedisTemplate.opsForHash();
+    }
+
+    public SaveResult save(String classId, Long userId, String username, boolean isInstructor) {
         ParticipantInfo info = ParticipantInfo.builder()
                 .userId(userId)
                 .username(username)
@@ -42,72 +107,140 @@ public class ParticipantRedisStore {
                 .joinedAt(LocalDateTime.now())
                 .build();
 
-        try {
-            String json = objectMapper.writeValueAsString(info);
-            redisTemplate.opsForHash().put(getKey(classId), userId.toString(), json);
-            redisTemplate.expire(getKey(classId), TTL_HOURS, TimeUnit.HOURS);
-            log.debug("참여자 저장: classId={}, userId={}, username={}", classId, userId, username);
-        } catch (JsonProcessingException e) {
-            log.error("참여자 저장 실패", e);
-        }
+        byte[] value = serialize(info);
+        String key = getKey(classId);
+        String roleKey = key + (isInstructor ? INSTRUCTORS_SUFFIX : STUDENTS_SUFFIX);
+        String otherRoleKey = key + (isInstructor ? STUDENTS_SUFFIX : INSTRUCTORS_SUFFIX);
+
+        String result = participantRedisTemplate.execute(
+                JOIN_SCRIPT,
+                BYTES_SERIALIZER,
+                STRING_SERIALIZER,
+                List.of(key, roleKey, otherRoleKey, key + VERSION_SUFFIX),
+                bytes(userId.toString()),
+                value,
+                bytes(String.valueOf(TimeUnit.HOURS.toSeconds(TTL_HOURS)))
+        );
+
+        String[] parts = result != null ? result.split(":") : new String[]{"UPDATED", "0"};
+        log.debug("참여자 저장: classId={}, userId={}, username={}, result={}", classId, userId, username, result);
+        return new SaveResult(info, Long.parseLong(parts[1]), "JOINED".equals(parts[0]));
+    }
+
+    /**
+     * 참여자 삭제
+     * @return 변경 후 버전, 참여자가 아니었으면 0
+     */
+    public long delete(String classId, Long userId) {
+        String key = getKey(classId);
+        Long version = participantRedisTemplate.execute(
+                LEAVE_SCRIPT,
+                BYTES_SERIALIZER,
+                LONG_SERIALIZER,
+                List.of(key, key + STUDENTS_SUFFIX, key + INSTRUCTORS_SUFFIX, key + VERSION_SUFFIX),
+                bytes(userId.toString())
+        );
+        log.debug("참여자 삭제: classId={}, userId={}, version={}", classId, userId, version);
+        return version != null ? version : 0;
     }
 
-    public void delete(String classId, Long userId) {
-        redisTemplate.opsForHash().delete(getKey(classId), userId.toString());
-        log.debug("참여자 삭제: classId={}, userId={}", classId, userId);
+    /**
+     * 참여자 목록 버전 조회
+     */
+    public long getVersion(String classId) {
+        byte[] key = bytes(getKey(classId) + VERSION_SUFFIX);
+        byte[] raw = participantRedisTemplate.execute((RedisCallback<byte[]>) connection ->
+                connection.stringCommands().get(key));
+        return raw != null ? Long.parseLong(new String(raw, StandardCharsets.UTF_8)) : 0;
     }
 
     public ParticipantInfo findOne(String classId, Long userId) {
-        Object value = redisTemplate.opsForHash().get(getKey(classId), userId.toString());
-        return parseParticipant(value);
+        try {
+            return hash().get(getKey(classId), userId.toString());
+        } catch (SerializationException e) {
+            log.error("참여자 파싱 실패", e);
+            return null;
+        }
     }
 
     public List<ParticipantInfo> findAll(String classId) {
-        Map<Object, Object> entries = redisTemplate.opsForHash().entries(getKey(classId));
-
-        if (entries.isEmpty()) {
+        List<ParticipantInfo> participants;
+        try {
+            participants = hash().values(getKey(classId));
+        } catch (SerializationException e) {
+            log.error("참여자 파싱 실패", e);
             return Collections.emptyList();
         }
 
-        return entries.values().stream()
-                .map(this::parseParticipant)
+        return participants.stream()
                 .filter(Objects::nonNull)
                 .collect(Collectors.toList());
     }
 
+    /**
+     * 학생 목록 (학생 인덱스 → HMGET, 전체 스캔 없음)
+     */
     public List<ParticipantInfo> findStudents(String classId) {
-        return findAll(classId).stream()
-                .filter(p -> !p.isInstructor())
-                .collect(Collectors.toList());
+        return findByIndex(classId, getKey(classId) + STUDENTS_SUFFIX);
     }
 
+    /**
+     * 강사 조회 (강사 인덱스 → HMGET, 전체 스캔 없음)
+     */
     public Optional<ParticipantInfo> findInstructor(String classId) {
-        return findAll(classId).stream()
-                .filter(ParticipantInfo::isInstructor)
-                .findFirst();
+        return findByIndex(classId, getKey(classId) + INSTRUCTORS_SUFFIX).stream().findFirst();
     }
 
     public long count(String classId) {
-        Long size = redisTemplate.opsForHash().size(getKey(classId));
+        Long size = hash().size(getKey(classId));
         return size != null ? size : 0;
     }
 
     public boolean exists(String classId, Long userId) {
-        return redisTemplate.opsForHash().hasKey(getKey(classId), userId.toString());
+        return hash().hasKey(getKey(classId), userId.toString());
     }
 
     public void deleteAll(String classId) {
-        redisTemplate.delete(getKey(classId));
+        String key = getKey(classId);
+        participantRedisTemplate.unlink(List.of(
+                key,
+                key + STUDENTS_SUFFIX,
+                key + INSTRUCTORS_SUFFIX,
+                key + VERSION_SUFFIX
+        ));
         log.debug("클래스 참여자 전체 삭제: classId={}", classId);
     }
 
-    private ParticipantInfo parseParticipant(Object value) {
-        if (value == null) return null;
+    // ==================== 내부 메서드 ====================
+
+    private List<ParticipantInfo> findByIndex(String classId, String indexKey) {
+        byte[] rawKey = bytes(indexKey);
+        Set<byte[]> members = participantRedisTemplate.execute((RedisCallback<Set<byte[]>>) connection ->
+                connection.setCommands().sMembers(rawKey));
+        if (members == null || members.isEmpty()) {
+            return Collections.emptyList();
+        }
+
+        List<String> userIds = members.stream()
+                .map(member -> new String(member, StandardCharsets.UTF_8))
+                .collect(Collectors.toList());
+
         try {
-            return objectMapper.readValue(value.toString(), ParticipantInfo.class);
-        } catch (JsonProcessingException e) {
+            return hash().multiGet(getKey(classId), userIds).stream()
+                    .filter(Objects::nonNull)
+                    .collect(Collectors.toList());
+        } catch (SerializationException e) {
             log.error("참여자 파싱 실패", e);
-            return null;
+            return Collections.emptyList();
         }
     }
-}
\ No newline at end of file
+
+    @SuppressWarnings("unchecked")
+    private byte[] serialize(ParticipantInfo info) {
+        return ((RedisSerializer<ParticipantInfo>) participantRedisTemplate.getHashValueSerializer()).serialize(info);
+    }
+
+    private byte[] bytes(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+}
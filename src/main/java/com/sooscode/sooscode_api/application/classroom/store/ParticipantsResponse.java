@@ -9,7 +9,8 @@ import lombok.NoArgsConstructor;
 import java.util.List;
 
 /**
- * 참여자 목록 응답 DTO
+ * 참여자 목록 응답 DTO (스냅샷)
+ * - version 이후의 변경은 ParticipantEvent 로 전달됨
  */
 @Data
 @Builder
@@ -18,17 +19,23 @@ import java.util.List;
 public class ParticipantsResponse {
 
     private String classId;
+    private long version;
     private List<ParticipantInfo> participants;
     private int totalCount;
     private int studentCount;
 
     public static ParticipantsResponse of(String classId, List<ParticipantInfo> participants) {
+        return of(classId, participants, 0L);
+    }
+
+    public static ParticipantsResponse of(String classId, List<ParticipantInfo> participants, long version) {
         int studentCount = (int) participants.stream()
                 .filter(p -> !p.isInstructor())
                 .count();
 
         return ParticipantsResponse.builder()
                 .classId(classId)
+                .version(version)
                 .participants(participants)
                 .totalCount(participants.size())
                 .studentCount(studentCount)
@@ -1,7 +1,8 @@
 package com.sooscode.sooscode_api.application.code.controller;
 
+import com.sooscode.sooscode_api.application.code.dto.CodePatch;
 import com.sooscode.sooscode_api.application.code.service.CodeService;
-import com.sooscode.sooscode_api.infra.websocket.service.SessionService;
+import com.sooscode.sooscode_api.infra.websocket.dto.SessionInfo;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.messaging.handler.annotation.DestinationVariable;
@@ -24,22 +25,30 @@ import org.springframework.stereotype.Controller;
  * 강사 → 학생 코드 수정:
  * - 전송: /app/code/instructor/{classId}/edit/{studentId}
  * - 구독: /topic/code/student/{classId}/{studentId}
+ *
+ * 패치 전송 (변경 구간만 전송, 각 경로 뒤에 /patch):
+ * - /app/code/instructor/{classId}/patch
+ * - /app/code/student/{classId}/patch
+ * - /app/code/instructor/{classId}/edit/{studentId}/patch
+ * - 거절된 패치(리비전 불일치 등)는 보낸 세션에만 SNAPSHOT 으로 재동기화: 구독 /user/queue/code
+ *
+ * 전송은 "." 구분 형식(/app/code.instructor.{classId}.patch 등)도 받음, 구독 형식은 브로커 모드를 따름 (StompDestinations)
  */
 @Slf4j
 @Controller
 @RequiredArgsConstructor
 public class CodeController {
 
-    private final SessionService sessionService;
     private final CodeService codeService;
 
     /**
      * 강사 코드 공유
      */
-    @MessageMapping("/code/instructor/{classId}")
+    @MessageMapping({"/code/instructor/{classId}", "code.instructor.{classId:\\d+}"})
     public void shareInstructorCode(
             @DestinationVariable Long classId,
             @Payload CodeRequest request,
+            SessionInfo session,
             StompHeaderAccessor accessor
     ) {
         String sessionId = accessor.getSessionId();
@@ -48,19 +57,19 @@ public class CodeController {
                 request.code() != null ? request.code().length() : 0,
                 request.language());
 
-        Long userId = sessionService.getUserId(sessionId);
-
-        if (userId == null) {
+        if (session == null) {
             log.warn("[CodeController] 인증되지 않은 사용자 - sessionId={}", sessionId);
             return;
         }
 
-        if (!sessionService.isInstructor(sessionId)) {
+        Long userId = session.userId();
+
+        if (!session.instructor()) {
             log.warn("[CodeController] 강사 권한 없음 - userId={}, sessionId={}", userId, sessionId);
             return;
         }
 
-        String username = sessionService.getUsername(sessionId);
+        String username = session.username();
         log.info("[CodeController] 강사 코드 공유 실행 - classId={}, userId={}, username={}",
                 classId, userId, username);
 
@@ -72,10 +81,11 @@ public class CodeController {
     /**
      * 학생 코드 공유
      */
-    @MessageMapping("/code/student/{classId}")
+    @MessageMapping({"/code/student/{classId}", "code.student.{classId:\\d+}"})
     public void shareStudentCode(
             @DestinationVariable Long classId,
             @Payload CodeRequest request,
+            SessionInfo session,
             StompHeaderAccessor accessor
     ) {
         String sessionId = accessor.getSessionId();
@@ -84,19 +94,19 @@ public class CodeController {
                 request.code() != null ? request.code().length() : 0,
                 request.language());
 
-        Long userId = sessionService.getUserId(sessionId);
-
-        if (userId == null) {
+        if (session == null) {
             log.warn("[CodeController] 인증되지 않은 사용자 - sessionId={}", sessionId);
             return;
         }
 
-        if (sessionService.isInstructor(sessionId)) {
+        Long userId = session.userId();
+
+        if (session.instructor()) {
             log.warn("[CodeController] 학생만 사용 가능 - userId={}, sessionId={}", userId, sessionId);
             return;
         }
 
-        String username = sessionService.getUsername(sessionId);
+        String username = session.username();
         log.info("[CodeController] 학생 코드 공유 실행 - classId={}, userId={}, username={}",
                 classId, userId, username);
 
@@ -110,11 +120,12 @@ public class CodeController {
      * - 강사만 호출 가능
      * - 해당 학생의 토픽으로 브로드캐스트되어 학생 에디터에 반영됨
      */
-    @MessageMapping("/code/instructor/{classId}/edit/{studentId}")
+    @MessageMapping({"/code/instructor/{classId}/edit/{studentId}", "code.instructor.{classId:\\d+}.edit.{studentId:\\d+}"})
     public void editStudentCode(
             @DestinationVariable Long classId,
             @DestinationVariable Long studentId,
             @Payload CodeRequest request,
+            SessionInfo session,
             StompHeaderAccessor accessor
     ) {
         String sessionId = accessor.getSessionId();
@@ -124,19 +135,19 @@ public class CodeController {
                 request.code() != null ? request.code().length() : 0,
                 request.language());
 
-        Long userId = sessionService.getUserId(sessionId);
-
-        if (userId == null) {
+        if (session == null) {
             log.warn("[CodeController] 인증되지 않은 사용자 - sessionId={}", sessionId);
             return;
         }
 
-        if (!sessionService.isInstructor(sessionId)) {
+        Long userId = session.userId();
+
+        if (!session.instructor()) {
             log.warn("[CodeController] 강사 권한 없음 - userId={}, sessionId={}", userId, sessionId);
             return;
         }
 
-        String username = sessionService.getUsername(sessionId);
+        String username = session.username();
         log.info("[CodeController] 강사→학생 코드 수정 실행 - classId={}, studentId={}, instructorId={}, instructorName={}",
                 classId, studentId, userId, username);
 
@@ -153,6 +164,87 @@ public class CodeController {
                 classId, studentId, userId);
     }
 
+    /**
+     * 강사 코드 패치
+     * - 키 입력 단위로 호출되므로 로그는 debug
+     */
+    @MessageMapping({"/code/instructor/{classId}/patch", "code.instructor.{classId:\\d+}.patch"})
+    public void patchInstructorCode(
+            @DestinationVariable Long classId,
+            @Payload CodePatch patch,
+            SessionInfo session,
+            StompHeaderAccessor accessor
+    ) {
+        if (session == null) {
+            log.warn("[CodeController] 인증되지 않은 사용자의 코드 패치 - classId={}", classId);
+            return;
+        }
+
+        if (!session.instructor()) {
+            log.warn("[CodeController] 강사 권한 없음 - userId={}", session.userId());
+            return;
+        }
+
+        log.debug("[CodeController] 강사 코드 패치 - classId={}, baseRevision={}", classId, patch.baseRevision());
+        codeService.patchInstructorCode(classId, session.userId(), session.username(), patch, sender(accessor));
+    }
+
+    /**
+     * 학생 코드 패치
+     */
+    @MessageMapping({"/code/student/{classId}/patch", "code.student.{classId:\\d+}.patch"})
+    public void patchStudentCode(
+            @DestinationVariable Long classId,
+            @Payload CodePatch patch,
+            SessionInfo session,
+            StompHeaderAccessor accessor
+    ) {
+        if (session == null) {
+            log.warn("[CodeController] 인증되지 않은 사용자의 코드 패치 - classId={}", classId);
+            return;
+        }
+
+        if (session.instructor()) {
+            log.warn("[CodeController] 학생만 사용 가능 - userId={}", session.userId());
+            return;
+        }
+
+        log.debug("[CodeController] 학생 코드 패치 - classId={}, userId={}, baseRevision={}",
+                classId, session.userId(), patch.baseRevision());
+        codeService.patchStudentCode(classId, session.userId(), session.username(), patch, sender(accessor));
+    }
+
+    /**
+     * 강사가 학생 코드 패치
+     */
+    @MessageMapping({"/code/instructor/{classId}/edit/{studentId}/patch", "code.instructor.{classId:\\d+}.edit.{studentId:\\d+}.patch"})
+    public void patchStudentCodeByInstructor(
+            @DestinationVariable Long classId,
+            @DestinationVariable Long studentId,
+            @Payload CodePatch patch,
+            SessionInfo session,
+            StompHeaderAccessor accessor
+    ) {
+        if (session == null) {
+            log.warn("[CodeController] 인증되지 않은 사용자의 코드 패치 - classId={}", classId);
+            return;
+        }
+
+        if (!session.instructor()) {
+            log.warn("[CodeController] 강사 권한 없음 - userId={}", session.userId());
+            return;
+        }
+
+        log.debug("[CodeController] 강사→학생 코드 패치 - classId={}, studentId={}, baseRevision={}",
+                classId, studentId, patch.baseRevision());
+        codeService.patchStudentCodeByInstructor(classId, studentId, session.userId(), session.username(), patch, sender(accessor));
+    }
+
+    private CodeService.Sender sender(StompHeaderAccessor accessor) {
+        String principalName = accessor.getUser() != null ? accessor.getUser().getName() : null;
+        return new CodeService.Sender(principalName, accessor.getSessionId());
+    }
+
     /**
      * 코드 전송 요청 DTO
      */
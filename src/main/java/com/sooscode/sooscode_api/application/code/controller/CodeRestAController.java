@@ -89,19 +89,19 @@ public class CodeRestAController {
     // ==================== 참여자 조회 ====================
 
     /**
-     * 전체 참여자 목록
+     * 전체 참여자 목록 (스냅샷 + 버전, 증분 이벤트 버전 누락 시 재조회용)
      * GET /api/class/{classId}/participants
      */
     @GetMapping("/{classId}/participants")
     public ResponseEntity<ParticipantsResponse> getParticipants(@PathVariable Long classId) {
         log.info("[CodeRestController] 참여자 목록 조회 요청 - classId={}", classId);
 
-        String classIdStr = String.valueOf(classId);
-        List<ParticipantInfo> participants = participantService.getParticipants(classIdStr);
+        ParticipantsResponse snapshot = participantService.getSnapshot(String.valueOf(classId));
 
-        log.info("[CodeRestController] 참여자 목록 조회 성공 - classId={}, count={}", classId, participants.size());
+        log.info("[CodeRestController] 참여자 목록 조회 성공 - classId={}, count={}, version={}",
+                classId, snapshot.getTotalCount(), snapshot.getVersion());
 
-        return ResponseEntity.ok(ParticipantsResponse.of(classIdStr, participants));
+        return ResponseEntity.ok(snapshot);
     }
 
     /**
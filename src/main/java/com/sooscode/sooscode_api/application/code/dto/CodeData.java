@@ -19,13 +19,20 @@ public class CodeData {
     private Long userId;
     private String code;
     private String language;
+    /** 문서 리비전 (패치/스냅샷마다 1씩 증가) */
+    private long revision;
     private LocalDateTime updatedAt;
 
     public static CodeData of(Long userId, String code, String language) {
+        return of(userId, code, language, 0L);
+    }
+
+    public static CodeData of(Long userId, String code, String language, long revision) {
         return CodeData.builder()
                 .userId(userId)
                 .code(code)
                 .language(language)
+                .revision(revision)
                 .updatedAt(LocalDateTime.now())
                 .build();
     }
@@ -7,6 +7,12 @@ import lombok.NoArgsConstructor;
 
 /**
  * WebSocket 코드 공유 메시지 DTO
+ *
+ * type 에 따라 사용하는 필드가 다름
+ * - SNAPSHOT : code 에 전체 코드 (전체 전송, 주기적 스냅샷 / 리비전 불일치 시 보낸 세션에만 /user/queue/code 로 재동기화)
+ * - PATCH    : from ~ to 구간을 text 로 치환 (revision - 1 문서 기준)
+ *
+ * 클라이언트는 로컬 리비전 + 1 이 아닌 PATCH 를 받으면 REST 로 전체 코드를 다시 조회
  */
 @Data
 @Builder
@@ -14,11 +20,23 @@ import lombok.NoArgsConstructor;
 @AllArgsConstructor
 public class CodeMessage {
 
+    public enum Type { SNAPSHOT, PATCH }
+
+    @Builder.Default
+    private Type type = Type.SNAPSHOT;
+    private long revision;
+
     private Long classId;
     private Long userId;
     private String username;
     private String code;
     private String language;
+
+    // PATCH 전용
+    private Integer from;
+    private Integer to;
+    private String text;
+
     private boolean instructor;
     /**
      * 강사가 학생 코드를 수정한 경우 true
@@ -0,0 +1,9 @@
+package com.sooscode.sooscode_api.application.code.dto;
+
+/**
+ * 코드 패치 요청 DTO
+ * - baseRevision 문서의 [from, to) 구간을 text 로 치환 (UTF-16 오프셋, 에디터 기준)
+ * - 삽입은 from == to, 삭제는 text 가 빈 문자열
+ * - language 가 null 이면 기존 언어 유지
+ */
+public record CodePatch(long baseRevision, int from, int to, String text, String language) {}
@@ -14,6 +14,8 @@ public class CodeResponse {
     private Long userId;
     private String code;
     private String language;
+    /** 클라이언트는 이 리비전을 기준으로 이후 패치를 적용 (재동기화 시에도 사용) */
+    private long revision;
     private boolean empty;
 
     public static CodeResponse of(CodeData data) {
@@ -21,6 +23,7 @@ public class CodeResponse {
                 .userId(data.getUserId())
                 .code(data.getCode())
                 .language(data.getLanguage())
+                .revision(data.getRevision())
                 .empty(false)
                 .build();
     }
@@ -0,0 +1,137 @@
+package com.sooscode.sooscode_api.application.code.service;
+
+import com.sooscode.sooscode_api.application.code.dto.CodeData;
+import com.sooscode.sooscode_api.application.code.dto.CodePatch;
+import com.sooscode.sooscode_api.global.utils.CodeValidator;
+
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 코드 문서 상태 (노드 로컬)
+ * - 패치 적용 대상이 되는 현재 코드와 리비전
+ * - 호출 측에서 문서 단위로 lock() 을 잡고 사용
+ *   (synchronized 대신 ReentrantLock - 잡은 채로 브로드캐스트해도 가상 스레드가 캐리어에 고정되지 않음)
+ */
+class CodeDocument {
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final StringBuilder text;
+    private String language;
+    private long revision;
+    private int patchesSinceSnapshot;
+
+    private CodeDocument(String code, String language, long revision) {
+        this.text = new StringBuilder(code != null ? code : "");
+        this.language = language;
+        this.revision = revision;
+    }
+
+    static CodeDocument empty() {
+        return new CodeDocument(null, null, 0L);
+    }
+
+    static CodeDocument of(CodeData data) {
+        return data != null
+                ? new CodeDocument(data.getCode(), data.getLanguage(), data.getRevision())
+                : empty();
+    }
+
+    /**
+     * 전체 코드로 교체 (스냅샷)
+     */
+    long replace(String code, String language) {
+        text.setLength(0);
+        if (code != null) {
+            text.append(code);
+        }
+        this.language = language;
+        this.patchesSinceSnapshot = 0;
+        return ++revision;
+    }
+
+    /**
+     * 다른 노드/Redis 에 있는 상태로 덮어씀 (리비전 포함)
+     * - 다음 브로드캐스트가 이 상태를 받지 못한 구독자에게도 가도록 스냅샷 주기를 채움
+     */
+    void reset(String code, String language, long revision) {
+        text.setLength(0);
+        if (code != null) {
+            text.append(code);
+        }
+        this.language = language;
+        this.revision = revision;
+        this.patchesSinceSnapshot = Integer.MAX_VALUE;
+    }
+
+    /**
+     * 현재 리비전 기준으로 적용 가능한 패치인지 확인
+     * - 적용 후 길이가 CodeValidator.MAX_CODE_LENGTH 를 넘는 패치도 거절
+     */
+    boolean canApply(CodePatch patch) {
+        return patch.baseRevision() == revision
+                && inRange(patch)
+                && lengthAfter(patch) <= CodeValidator.MAX_CODE_LENGTH;
+    }
+
+    /**
+     * 범위는 맞지만 적용하면 최대 길이를 넘는 패치인지 확인
+     */
+    boolean exceedsMaxLength(CodePatch patch) {
+        return inRange(patch) && lengthAfter(patch) > CodeValidator.MAX_CODE_LENGTH;
+    }
+
+    /**
+     * 패치 적용 - canApply 확인 후 호출
+     */
+    long apply(CodePatch patch) {
+        if (!canApply(patch)) {
+            throw new IllegalStateException("적용할 수 없는 패치: baseRevision=" + patch.baseRevision() + ", revision=" + revision);
+        }
+        text.replace(patch.from(), patch.to(), patch.text() != null ? patch.text() : "");
+        if (patch.language() != null) {
+            this.language = patch.language();
+        }
+        if (patchesSinceSnapshot < Integer.MAX_VALUE) {
+            patchesSinceSnapshot++;
+        }
+        return ++revision;
+    }
+
+    /**
+     * 스냅샷 주기 도달 여부 - true 면 카운터 초기화
+     */
+    boolean snapshotDue(int interval) {
+        if (patchesSinceSnapshot < interval) {
+            return false;
+        }
+        patchesSinceSnapshot = 0;
+        return true;
+    }
+
+    private boolean inRange(CodePatch patch) {
+        return patch.from() >= 0
+                && patch.from() <= patch.to()
+                && patch.to() <= text.length();
+    }
+
+    private long lengthAfter(CodePatch patch) {
+        long inserted = patch.text() != null ? patch.text().length() : 0;
+        return (long) text.length() - (patch.to() - patch.from()) + inserted;
+    }
+
+    String code() {
+        return text.toString();
+    }
+
+    String language() {
+        return language;
+    }
+
+    long revision() {
+        return revision;
+    }
+
+    ReentrantLock lock() {
+        return lock;
+    }
+}
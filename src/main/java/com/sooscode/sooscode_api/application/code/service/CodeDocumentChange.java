@@ -0,0 +1,30 @@
+package com.sooscode.sooscode_api.application.code.service;
+
+/**
+ * 노드 간 문서 변경 전파 메시지 (Redis pub/sub)
+ * - 변경을 받아들인 노드가 적용 후 문서 전체 상태를 보냄 (코드 최대 길이가 작아 패치 대신 전체)
+ * - clearedClassId 가 있으면 수업 종료로 해당 클래스 문서 전체 폐기
+ */
+record CodeDocumentChange(
+        String nodeId,
+        Long classId,
+        Long studentId,
+        String code,
+        String language,
+        long revision,
+        Long clearedClassId
+) {
+
+    static CodeDocumentChange of(String nodeId, CodeDocumentKey key, CodeDocument document) {
+        return new CodeDocumentChange(nodeId, key.classId(), key.studentId(),
+                document.code(), document.language(), document.revision(), null);
+    }
+
+    static CodeDocumentChange cleared(String nodeId, Long classId) {
+        return new CodeDocumentChange(nodeId, null, null, null, null, 0L, classId);
+    }
+
+    CodeDocumentKey key() {
+        return new CodeDocumentKey(classId, studentId);
+    }
+}
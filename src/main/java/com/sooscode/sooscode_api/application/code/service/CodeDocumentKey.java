@@ -0,0 +1,19 @@
+package com.sooscode.sooscode_api.application.code.service;
+
+/**
+ * 코드 문서 식별자 - studentId 가 null 이면 강사 코드
+ */
+record CodeDocumentKey(Long classId, Long studentId) {
+
+    static CodeDocumentKey instructor(Long classId) {
+        return new CodeDocumentKey(classId, null);
+    }
+
+    static CodeDocumentKey student(Long classId, Long studentId) {
+        return new CodeDocumentKey(classId, studentId);
+    }
+
+    boolean isInstructor() {
+        return studentId == null;
+    }
+}
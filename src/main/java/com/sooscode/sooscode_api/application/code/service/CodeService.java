@@ -1,16 +1,54 @@
 package com.sooscode.sooscode_api.application.code.service;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
 import com.sooscode.sooscode_api.application.code.store.CodeRedisStore;
 import com.sooscode.sooscode_api.application.code.dto.CodeData;
 import com.sooscode.sooscode_api.application.code.dto.CodeMessage;
+import com.sooscode.sooscode_api.application.code.dto.CodePatch;
+import com.sooscode.sooscode_api.global.exception.CustomException;
+import com.sooscode.sooscode_api.global.status.CodeValidStatus;
+import com.sooscode.sooscode_api.global.utils.CodeValidator;
+import com.sooscode.sooscode_api.infra.websocket.service.StompDestinations;
+import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
 import org.springframework.messaging.simp.SimpMessagingTemplate;
 import org.springframework.stereotype.Service;
 
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.UUID;
+
 /**
  * 코드 공유 서비스
  * - Redis 저장 + WebSocket 브로드캐스트
+ *
+ * 동기화 프로토콜 (CodeMessage.type)
+ * - 전체 전송(share*)은 SNAPSHOT 으로 브로드캐스트
+ * - 패치(patch*)는 baseRevision 이 현재 리비전과 같을 때만 적용하고 PATCH 로 브로드캐스트
+ * - 패치가 snapshot-interval 번 쌓이면 PATCH 대신 SNAPSHOT 을 보내 늦게 들어온 구독자도 수렴
+ * - baseRevision 이 맞지 않으면 패치를 버리고 보낸 세션에만 현재 문서를 SNAPSHOT 으로 보냄 (/user/queue/code, 재동기화)
+ *   → 다른 구독자는 이미 최신 리비전이므로 전체 코드를 다시 받지 않음
+ * - 문서 길이는 CodeValidator.MAX_CODE_LENGTH 이하로 유지 (넘는 전체 전송/패치는 CODE_TOO_LONG)
+ *
+ * 패치 적용 대상 문서는 노드 로컬 캐시에 두고, 없으면 Redis 에서 읽어 채움
+ * 브로드캐스트는 즉시, Redis 저장은 CodeWriteBehindService 가 모아서 주기적으로 반영
+ *
+ * 노드 간 문서 동기화 (Redis pub/sub, code:document:changed)
+ * - 변경을 받아들인 노드가 문서 전체 상태(코드/언어/리비전)를 발행
+ * - 다른 노드는 더 높은 리비전이면 로컬 문서를 덮어쓰고 자기 pending 값을 폐기 (Redis 는 write-behind 라 최대 flush 주기만큼 늦음)
+ * - 같은 리비전이 두 노드에서 동시에 만들어지면 nodeId 가 큰 쪽으로 수렴 (진 쪽 클라이언트는 다음 패치에서 재동기화)
+ * - 메시지를 놓쳐 패치의 baseRevision 이 로컬보다 앞서면 거절 전에 pending/Redis 에서 다시 읽어 한 번 더 확인
+ * - 수업 종료(cleanup)도 발행해 다른 노드의 문서를 비움
  */
 @Service
 @Slf4j
@@ -18,88 +56,97 @@ import org.springframework.stereotype.Service;
 public class CodeService {
 
     private final CodeRedisStore codeRepository;
+    private final CodeWriteBehindService codeWriteBehindService;
     private final SimpMessagingTemplate messagingTemplate;
+    private final StompDestinations destinations;
+    private final StringRedisTemplate stringRedisTemplate;
+    private final RedisMessageListenerContainer listenerContainer;
+    private final ObjectMapper objectMapper;
+
+    private static final String RESYNC_QUEUE = "/queue/code";
+    private static final ChannelTopic CHANGE_TOPIC = new ChannelTopic("code:document:changed");
+
+    /** 자기 발행 메시지 구분 + 같은 리비전 충돌 시 우선순위 */
+    private final String nodeId = UUID.randomUUID().toString();
+
+    @Value("${code.sync.snapshot-interval:50}")
+    private int snapshotInterval;
+
+    @Value("${code.sync.document-cache-size:5000}")
+    private long documentCacheSize;
+
+    @Value("${code.sync.document-idle-minutes:30}")
+    private long documentIdleMinutes;
 
-    // 토픽 패턴
-    private static final String INSTRUCTOR_TOPIC = "/topic/code/instructor/%d";
-    private static final String STUDENT_TOPIC = "/topic/code/student/%d/%d";
+    private Cache<CodeDocumentKey, CodeDocument> documents;
+
+    @PostConstruct
+    public void init() {
+        this.documents = Caffeine.newBuilder()
+                .maximumSize(documentCacheSize)
+                .expireAfterAccess(Duration.ofMinutes(documentIdleMinutes))
+                .build();
+        listenerContainer.addMessageListener(this::onChanged, CHANGE_TOPIC);
+    }
 
     // ==================== 강사 코드 ====================
 
     /**
-     * 강사 코드 공유
+     * 강사 코드 공유 (전체)
      * 1. Redis 저장
-     * 2. 학생들에게 브로드캐스트
+     * 2. 학생들에게 SNAPSHOT 브로드캐스트
      */
     public void shareInstructorCode(Long classId, Long userId, String username, String code, String language) {
-        // 1. Redis 저장
-        CodeData data = CodeData.of(userId, code, language);
-        codeRepository.saveInstructorCode(classId, data);
-
-        // 2. 브로드캐스트
-        CodeMessage message = CodeMessage.builder()
-                .classId(classId)
-                .userId(userId)
-                .username(username)
-                .code(code)
-                .language(language)
-                .instructor(true)
-                .build();
-
-        String topic = String.format(INSTRUCTOR_TOPIC, classId);
-        messagingTemplate.convertAndSend(topic, message);
-
+        replace(CodeDocumentKey.instructor(classId), new Editor(userId, username, true, false), code, language);
         log.debug("강사 코드 공유: classId={}, userId={}", classId, userId);
     }
 
+    /**
+     * 강사 코드 패치
+     */
+    public void patchInstructorCode(Long classId, Long userId, String username, CodePatch patch, Sender sender) {
+        applyPatch(CodeDocumentKey.instructor(classId), new Editor(userId, username, true, false), patch, sender);
+    }
+
     /**
      * 강사 코드 조회 (초기 로드용)
      */
     public CodeData getInstructorCode(Long classId) {
-        return codeRepository.getInstructorCode(classId);
+        return load(CodeDocumentKey.instructor(classId));
     }
 
     // ==================== 학생 코드 ====================
 
     /**
-     * 학생 코드 공유
+     * 학생 코드 공유 (전체)
      * 1. Redis 저장
-     * 2. 해당 학생을 구독 중인 강사에게 브로드캐스트
+     * 2. 해당 학생을 구독 중인 강사에게 SNAPSHOT 브로드캐스트
      */
     public void shareStudentCode(Long classId, Long userId, String username, String code, String language) {
-        // 1. Redis 저장
-        CodeData data = CodeData.of(userId, code, language);
-        codeRepository.saveStudentCode(classId, userId, data);
-
-        // 2. 해당 학생 전용 토픽으로 브로드캐스트
-        CodeMessage message = CodeMessage.builder()
-                .classId(classId)
-                .userId(userId)
-                .username(username)
-                .code(code)
-                .language(language)
-                .instructor(false)
-                .build();
-
-        String topic = String.format(STUDENT_TOPIC, classId, userId);
-        messagingTemplate.convertAndSend(topic, message);
-
+        replace(CodeDocumentKey.student(classId, userId), new Editor(userId, username, false, false), code, language);
         log.debug("학생 코드 공유: classId={}, userId={}", classId, userId);
     }
 
+    /**
+     * 학생 코드 패치
+     */
+    public void patchStudentCode(Long classId, Long userId, String username, CodePatch patch, Sender sender) {
+        applyPatch(CodeDocumentKey.student(classId, userId), new Editor(userId, username, false, false), patch, sender);
+    }
+
     /**
      * 학생 코드 조회 (초기 로드용)
      */
     public CodeData getStudentCode(Long classId, Long userId) {
-        return codeRepository.getStudentCode(classId, userId);
+        return load(CodeDocumentKey.student(classId, userId));
     }
 
     // ==================== 강사가 학생 코드 수정 ====================
 
     /**
-     * 강사가 학생 코드 수정
-     * 1. Redis에 학생 코드로 저장
-     * 2. 해당 학생 전용 토픽으로 브로드캐스트 (강사가 편집했음을 표시)
+     * 강사가 학생 코드 수정 (전체)
+     * 1. Redis에 학생 코드로 저장 (소유권은 학생)
+     * 2. 해당 학생 전용 토픽으로 브로드캐스트 (editedByInstructor=true)
      */
     public void editStudentCodeByInstructor(
             Long classId,
@@ -109,35 +156,223 @@ public class CodeService {
             String code,
             String language
     ) {
-        // 1. Redis에 학생 코드로 저장 (소유권은 학생)
-        CodeData data = CodeData.of(studentId, code, language);
-        codeRepository.saveStudentCode(classId, studentId, data);
-
-        // 2. 학생 전용 토픽으로 브로드캐스트 (editedByInstructor=true)
-        CodeMessage message = CodeMessage.builder()
-                .classId(classId)
-                .userId(studentId)           // 코드 소유자는 학생
-                .username(instructorName)    // 편집자는 강사
-                .code(code)
-                .language(language)
-                .instructor(true)            // 편집자가 강사임
-                .editedByInstructor(true)    // 강사가 편집했음을 명시
-                .build();
-
-        String topic = String.format(STUDENT_TOPIC, classId, studentId);
-        messagingTemplate.convertAndSend(topic, message);
-
+        replace(CodeDocumentKey.student(classId, studentId), new Editor(instructorId, instructorName, true, true), code, language);
         log.debug("강사가 학생 코드 수정: classId={}, studentId={}, instructorId={}",
                 classId, studentId, instructorId);
     }
 
+    /**
+     * 강사가 학생 코드 패치
+     */
+    public void patchStudentCodeByInstructor(
+            Long classId,
+            Long studentId,
+            Long instructorId,
+            String instructorName,
+            CodePatch patch,
+            Sender sender
+    ) {
+        applyPatch(CodeDocumentKey.student(classId, studentId), new Editor(instructorId, instructorName, true, true), patch, sender);
+    }
+
     // ==================== 정리 ====================
 
     /**
      * 수업 종료 시 코드 데이터 정리
      */
     public void cleanup(Long classId) {
+        documents.asMap().keySet().removeIf(key -> key.classId().equals(classId));
+        codeWriteBehindService.discardClass(classId);
         codeRepository.deleteAllClassCodes(classId);
+        publish(CodeDocumentChange.cleared(nodeId, classId));
         log.info("코드 데이터 정리: classId={}", classId);
     }
-}
\ No newline at end of file
+
+    // ==================== 내부 메서드 ====================
+
+    private void replace(CodeDocumentKey key, Editor editor, String code, String language) {
+        if (code != null) {
+            CodeValidator.validateLength(code);
+        }
+        CodeDocument document = document(key);
+        document.lock().lock();
+        try {
+            long revision = document.replace(code, language);
+            save(key, editor, document);
+            publish(CodeDocumentChange.of(nodeId, key, document));
+            broadcast(key, snapshot(key, editor, document).revision(revision).build());
+        } finally {
+            document.lock().unlock();
+        }
+    }
+
+    private void applyPatch(CodeDocumentKey key, Editor editor, CodePatch patch, Sender sender) {
+        CodeDocument document = document(key);
+        document.lock().lock();
+        try {
+            if (!document.canApply(patch) && patch.baseRevision() > document.revision()) {
+                // 로컬 문서가 뒤처짐 (전파 메시지 유실) → pending/Redis 에서 다시 읽어 확인
+                reload(key, document);
+            }
+            if (!document.canApply(patch)) {
+                // 리비전 불일치, 범위 오류, 길이 초과 → 보낸 세션만 현재 문서로 재동기화
+                log.debug("코드 패치 거절 (재동기화): key={}, baseRevision={}, revision={}, sessionId={}",
+                        key, patch.baseRevision(), document.revision(), sender.sessionId());
+                resync(sender, snapshot(key, editor, document).build());
+                if (document.exceedsMaxLength(patch)) {
+                    throw new CustomException(CodeValidStatus.CODE_TOO_LONG);
+                }
+                return;
+            }
+
+            long revision = document.apply(patch);
+            save(key, editor, document);
+            publish(CodeDocumentChange.of(nodeId, key, document));
+
+            if (document.snapshotDue(snapshotInterval)) {
+                broadcast(key, snapshot(key, editor, document).build());
+                return;
+            }
+
+            broadcast(key, message(key, editor)
+                    .type(CodeMessage.Type.PATCH)
+                    .revision(revision)
+                    .language(document.language())
+                    .from(patch.from())
+                    .to(patch.to())
+                    .text(patch.text() != null ? patch.text() : "")
+                    .build());
+        } finally {
+            document.lock().unlock();
+        }
+    }
+
+    private CodeDocument document(CodeDocumentKey key) {
+        return documents.get(key, k -> CodeDocument.of(load(k)));
+    }
+
+    /**
+     * 아직 반영되지 않은 코드가 있으면 그것을, 없으면 Redis 값을 반환
+     */
+    private CodeData load(CodeDocumentKey key) {
+        CodeData pending = codeWriteBehindService.getPending(key);
+        if (pending != null) {
+            return pending;
+        }
+        return key.isInstructor()
+                ? codeRepository.getInstructorCode(key.classId())
+                : codeRepository.getStudentCode(key.classId(), key.studentId());
+    }
+
+    /**
+     * pending/Redis 값이 로컬 문서보다 새로우면 덮어씀 - 문서 lock 을 잡은 채로 호출
+     */
+    private void reload(CodeDocumentKey key, CodeDocument document) {
+        CodeData latest = load(key);
+        if (latest != null && latest.getRevision() > document.revision()) {
+            document.reset(latest.getCode(), latest.getLanguage(), latest.getRevision());
+        }
+    }
+
+    private void save(CodeDocumentKey key, Editor editor, CodeDocument document) {
+        CodeData data = CodeData.of(ownerId(key, editor), document.code(), document.language(), document.revision());
+        codeWriteBehindService.save(key, data);
+    }
+
+    private CodeMessage.CodeMessageBuilder snapshot(CodeDocumentKey key, Editor editor, CodeDocument document) {
+        return message(key, editor)
+                .type(CodeMessage.Type.SNAPSHOT)
+                .revision(document.revision())
+                .code(document.code())
+                .language(document.language());
+    }
+
+    private CodeMessage.CodeMessageBuilder message(CodeDocumentKey key, Editor editor) {
+        return CodeMessage.builder()
+                .classId(key.classId())
+                .userId(ownerId(key, editor))     // 코드 소유자
+                .username(editor.username())      // 편집자
+                .instructor(editor.instructor())
+                .editedByInstructor(editor.editedByInstructor());
+    }
+
+    private Long ownerId(CodeDocumentKey key, Editor editor) {
+        return key.isInstructor() ? editor.userId() : key.studentId();
+    }
+
+    private void broadcast(CodeDocumentKey key, CodeMessage message) {
+        String topic = key.isInstructor()
+                ? destinations.instructorCodeTopic(key.classId())
+                : destinations.studentCodeTopic(key.classId(), key.studentId());
+        messagingTemplate.convertAndSend(topic, message);
+    }
+
+    /**
+     * 패치를 보낸 세션에만 전송 (/user/queue/code)
+     */
+    private void resync(Sender sender, CodeMessage message) {
+        if (sender.principalName() == null) {
+            return;
+        }
+        SimpMessageHeaderAccessor headers = SimpMessageHeaderAccessor.create(SimpMessageType.MESSAGE);
+        headers.setSessionId(sender.sessionId());
+        headers.setLeaveMutable(true);
+        messagingTemplate.convertAndSendToUser(sender.principalName(), RESYNC_QUEUE, message, headers.getMessageHeaders());
+    }
+
+    // ==================== 노드 간 동기화 ====================
+
+    /**
+     * 문서 변경 발행 - 실패해도 변경은 유지 (다른 노드는 다음 패치의 리비전 확인으로 보정)
+     */
+    private void publish(CodeDocumentChange change) {
+        try {
+            stringRedisTemplate.convertAndSend(CHANGE_TOPIC.getTopic(), objectMapper.writeValueAsString(change));
+        } catch (Exception e) {
+            log.warn("코드 문서 변경 전파 실패: classId={}, studentId={}, error={}",
+                    change.classId(), change.studentId(), e.getMessage());
+        }
+    }
+
+    private void onChanged(Message message, byte[] pattern) {
+        CodeDocumentChange change;
+        try {
+            change = objectMapper.readValue(new String(message.getBody(), StandardCharsets.UTF_8), CodeDocumentChange.class);
+        } catch (Exception e) {
+            log.warn("코드 문서 변경 메시지 해석 실패: {}", e.getMessage());
+            return;
+        }
+        if (nodeId.equals(change.nodeId())) {
+            return;
+        }
+        if (change.clearedClassId() != null) {
+            documents.asMap().keySet().removeIf(key -> key.classId().equals(change.clearedClassId()));
+            codeWriteBehindService.discardClass(change.clearedClassId());
+            return;
+        }
+
+        CodeDocumentKey key = change.key();
+        CodeDocument document = documents.get(key, k -> CodeDocument.empty());
+        document.lock().lock();
+        try {
+            boolean newer = change.revision() > document.revision()
+                    || (change.revision() == document.revision() && change.nodeId().compareTo(nodeId) > 0);
+            if (newer) {
+                document.reset(change.code(), change.language(), change.revision());
+                codeWriteBehindService.discardUpTo(key, change.revision());
+            }
+        } finally {
+            document.lock().unlock();
+        }
+    }
+
+    /**
+     * 패치를 보낸 STOMP 세션 (거절 시 재동기화 대상)
+     */
+    public record Sender(String principalName, String sessionId) {}
+
+    /**
+     * 메시지를 보낸 편집자 정보
+     */
+    private record Editor(Long userId, String username, boolean instructor, boolean editedByInstructor) {}
+}
@@ -0,0 +1,185 @@
+package com.sooscode.sooscode_api.application.code.service;
+
+import com.sooscode.sooscode_api.application.code.dto.CodeData;
+import com.sooscode.sooscode_api.application.code.store.CodeRedisStore;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 코드 write-behind 서비스
+ * - 문서(강사 코드 / 학생별 코드)마다 마지막 상태만 보관하고 주기적으로 Redis 에 반영
+ * - 키 입력마다 들어오던 SET/HSET 이 flush 주기당 문서 1회로 합쳐짐
+ * - flush 는 모든 클래스/사용자를 pipeline 한 번으로 전송
+ *
+ * 반영 전 조회는 pending 값을 먼저 확인하므로 같은 노드에서는 항상 최신 코드가 보임
+ * pending 값은 Redis 반영이 끝난 뒤에만 제거 (반영 중에도 조회는 pending 값을 봄)
+ * - 반영 중 더 새로운 값이 들어온 문서는 remove(key, value) 가 실패해 다음 주기에 다시 반영
+ * - 반영 실패 시 pending 이 그대로 남아 다음 주기에 재시도
+ */
+@Service
+@Slf4j
+@RequiredArgsConstructor
+public class CodeWriteBehindService {
+
+    private final CodeRedisStore codeRepository;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${code.persist.enabled:true}")
+    private boolean enabled;
+
+    @Value("${code.persist.flush-interval-ms:1000}")
+    private long flushIntervalMs;
+
+    private final ReentrantLock flushLock = new ReentrantLock();
+    private final Map<CodeDocumentKey, CodeData> pending = new ConcurrentHashMap<>();
+    private ScheduledExecutorService scheduler;
+
+    private Counter writtenCounter;
+    private Counter coalescedCounter;
+
+    @PostConstruct
+    public void init() {
+        Gauge.builder("code.persist.pending", pending, Map::size).register(meterRegistry);
+        this.writtenCounter = meterRegistry.counter("code.persist.writes", "result", "written");
+        this.coalescedCounter = meterRegistry.counter("code.persist.writes", "result", "coalesced");
+
+        if (!enabled) {
+            log.info("코드 write-behind 비활성화 - 즉시 저장");
+            return;
+        }
+
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "code-write-behind");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleWithFixedDelay(this::flushSafely, flushIntervalMs, flushIntervalMs, TimeUnit.MILLISECONDS);
+
+        log.info("코드 write-behind 시작 - interval={}ms", flushIntervalMs);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (scheduler == null) {
+            return;
+        }
+        scheduler.shutdown();
+        try {
+            scheduler.awaitTermination(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        // 종료 전 남은 코드 반영
+        flushSafely();
+    }
+
+    // ==================== 적재 / 조회 ====================
+
+    /**
+     * 문서 저장 요청 - 같은 문서의 이전 pending 값은 덮어씀
+     */
+    void save(CodeDocumentKey key, CodeData data) {
+        if (!enabled) {
+            write(Map.of(key, data));
+            return;
+        }
+        if (pending.put(key, data) != null) {
+            coalescedCounter.increment();
+        }
+    }
+
+    /**
+     * 아직 반영되지 않은 코드 조회
+     * @return pending 값이 없으면 null
+     */
+    CodeData getPending(CodeDocumentKey key) {
+        return pending.get(key);
+    }
+
+    /**
+     * 다른 노드가 더 새로운(또는 같은) 리비전을 받아들였을 때 이 노드의 pending 값 폐기
+     * - 늦게 flush 된 이전 리비전이 Redis 의 새 값을 덮어쓰지 않도록 함
+     */
+    void discardUpTo(CodeDocumentKey key, long revision) {
+        pending.computeIfPresent(key, (k, data) -> data.getRevision() <= revision ? null : data);
+    }
+
+    /**
+     * 클래스의 pending 코드 폐기 (수업 종료 시 Redis 삭제 전에 호출)
+     * - 진행 중인 flush 가 끝난 뒤 폐기해, 삭제 이후에 코드가 다시 써지지 않도록 함
+     */
+    void discardClass(Long classId) {
+        flushLock.lock();
+        try {
+            pending.keySet().removeIf(key -> key.classId().equals(classId));
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    // ==================== 반영 ====================
+
+    /**
+     * pending 코드를 모두 Redis 에 반영
+     */
+    public void flush() {
+        flushLock.lock();
+        try {
+            flushPending();
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    private void flushPending() {
+        if (pending.isEmpty()) {
+            return;
+        }
+
+        // 반영이 끝날 때까지 pending 에 남겨 두어 그 사이 조회(CodeService.load)가 이전 Redis 값을 보지 않도록 함
+        Map<CodeDocumentKey, CodeData> batch = new HashMap<>(pending);
+        write(batch);
+
+        // 반영한 값 그대로인 문서만 제거 - 그 사이 새 값이 들어온 문서는 다음 주기에 반영
+        batch.forEach(pending::remove);
+    }
+
+    private void flushSafely() {
+        try {
+            flush();
+        } catch (Exception e) {
+            log.error("코드 저장 처리 중 오류 (다음 주기에 재시도)", e);
+        }
+    }
+
+    private void write(Map<CodeDocumentKey, CodeData> batch) {
+        Map<Long, CodeData> instructorCodes = new HashMap<>();
+        Map<Long, Map<Long, CodeData>> studentCodes = new HashMap<>();
+
+        batch.forEach((key, data) -> {
+            if (key.isInstructor()) {
+                instructorCodes.put(key.classId(), data);
+            } else {
+                studentCodes.computeIfAbsent(key.classId(), id -> new HashMap<>()).put(key.studentId(), data);
+            }
+        });
+
+        codeRepository.saveAll(instructorCodes, studentCodes);
+        writtenCounter.increment(batch.size());
+    }
+}
@@ -1,105 +1,172 @@
 package com.sooscode.sooscode_api.application.code.store;
 
-import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import com.sooscode.sooscode_api.application.code.dto.CodeData;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.core.RedisOperations;
 import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.SessionCallback;
+import org.springframework.data.redis.serializer.SerializationException;
 import org.springframework.stereotype.Repository;
 
-import java.util.Set;
+import java.util.List;
+import java.util.Map;
 import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
 
 /**
  * 코드 데이터 Redis 저장소
  *
  * Redis 키 구조:
- * - code:class:{classId}:instructor           → 강사 코드 (JSON)
- * - code:class:{classId}:student:{userId}     → 학생별 코드 (JSON)
+ * - code:class:{classId}:instructor   → 강사 코드 (CodeData)
+ * - code:class:{classId}:students     → 학생별 코드 (Hash, userId → CodeData)
+ * - code:class:{classId}:student:{userId} → 이전 형식의 학생 코드 (읽을 때 Hash 로 옮기고 삭제)
+ *
+ * 학생 코드를 클래스 단위 Hash 하나에 모아두므로 수업 종료 시 KEYS 스캔 없이 UNLINK 한 번으로 정리
+ * 값 직렬화는 codeDataRedisTemplate 의 TypedRedisSerializer 가 담당 (이전 이중 인코딩 값도 읽음)
  */
 @Repository
 @Slf4j
 @RequiredArgsConstructor
 public class CodeRedisStore {
 
-    private final RedisTemplate<String, Object> redisTemplate;
-    private final ObjectMapper objectMapper;
+    private final RedisTemplate<String, CodeData> codeDataRedisTemplate;
 
     private static final String INSTRUCTOR_KEY = "code:class:%d:instructor";
-    private static final String STUDENT_KEY = "code:class:%d:student:%d";
+    private static final String STUDENTS_KEY = "code:class:%d:students";
+    private static final String LEGACY_STUDENT_KEY = "code:class:%d:student:%d";
     private static final long TTL_HOURS = 24;
 
     // ==================== 강사 코드 ====================
 
     public void saveInstructorCode(Long classId, CodeData data) {
         String key = String.format(INSTRUCTOR_KEY, classId);
-        saveCode(key, data);
+        codeDataRedisTemplate.opsForValue().set(key, data, TTL_HOURS, TimeUnit.HOURS);
         log.debug("강사 코드 저장: classId={}", classId);
     }
 
     public CodeData getInstructorCode(Long classId) {
         String key = String.format(INSTRUCTOR_KEY, classId);
-        return getCode(key);
+        return read(key, () -> codeDataRedisTemplate.opsForValue().get(key));
     }
 
     public void deleteInstructorCode(Long classId) {
-        redisTemplate.delete(String.format(INSTRUCTOR_KEY, classId));
+        codeDataRedisTemplate.delete(String.format(INSTRUCTOR_KEY, classId));
     }
 
     // ==================== 학생 코드 ====================
 
     public void saveStudentCode(Long classId, Long userId, CodeData data) {
-        String key = String.format(STUDENT_KEY, classId, userId);
-        saveCode(key, data);
+        String key = String.format(STUDENTS_KEY, classId);
+
+        // HSET + EXPIRE 를 pipeline 으로 한 번에 전송
+        codeDataRedisTemplate.executePipelined(new SessionCallback<Object>() {
+            @Override
+            @SuppressWarnings("unchecked")
+            public <K, V> Object execute(RedisOperations<K, V> operations) {
+                RedisOperations<String, CodeData> ops = (RedisOperations<String, CodeData>) operations;
+                ops.opsForHash().put(key, userId.toString(), data);
+                ops.expire(key, TTL_HOURS, TimeUnit.HOURS);
+                return null;
+            }
+        });
         log.debug("학생 코드 저장: classId={}, userId={}", classId, userId);
     }
 
+    /**
+     * 학생 코드 조회
+     * - Hash 에 없으면 이전 형식 키를 읽고, 있으면 Hash 로 옮긴 뒤 이전 키 삭제 (진행 중이던 코드 유지)
+     */
     public CodeData getStudentCode(Long classId, Long userId) {
-        String key = String.format(STUDENT_KEY, classId, userId);
-        return getCode(key);
+        String key = String.format(STUDENTS_KEY, classId);
+        CodeData data = read(key, () -> codeDataRedisTemplate.<String, CodeData>opsForHash().get(key, userId.toString()));
+        if (data != null) {
+            return data;
+        }
+        return migrateLegacyStudentCode(classId, userId);
     }
 
     public void deleteStudentCode(Long classId, Long userId) {
-        redisTemplate.delete(String.format(STUDENT_KEY, classId, userId));
+        codeDataRedisTemplate.opsForHash().delete(String.format(STUDENTS_KEY, classId), userId.toString());
+        codeDataRedisTemplate.unlink(String.format(LEGACY_STUDENT_KEY, classId, userId));
     }
 
-    public void deleteAllStudentCodes(Long classId) {
-        String pattern = String.format("code:class:%d:student:*", classId);
-        Set<String> keys = redisTemplate.keys(pattern);
-        if (keys != null && !keys.isEmpty()) {
-            redisTemplate.delete(keys);
-            log.debug("학생 코드 전체 삭제: classId={}, count={}", classId, keys.size());
+    // ==================== 일괄 저장 ====================
+
+    /**
+     * 여러 클래스/사용자의 코드를 pipeline 한 번으로 저장 (write-behind flush 용)
+     * - 강사 코드: SET EX (키마다 TTL 이 필요해 MSET 대신 SET EX 를 pipeline 으로 묶음)
+     * - 학생 코드: 클래스별 HSET(여러 필드) + EXPIRE
+     *
+     * @param instructorCodes classId → 강사 코드
+     * @param studentCodes    classId → (userId → 학생 코드)
+     */
+    public void saveAll(Map<Long, CodeData> instructorCodes, Map<Long, Map<Long, CodeData>> studentCodes) {
+        if (instructorCodes.isEmpty() && studentCodes.isEmpty()) {
+            return;
         }
+
+        codeDataRedisTemplate.executePipelined(new SessionCallback<Object>() {
+            @Override
+            @SuppressWarnings("unchecked")
+            public <K, V> Object execute(RedisOperations<K, V> operations) {
+                RedisOperations<String, CodeData> ops = (RedisOperations<String, CodeData>) operations;
+                instructorCodes.forEach((classId, data) ->
+                        ops.opsForValue().set(String.format(INSTRUCTOR_KEY, classId), data, TTL_HOURS, TimeUnit.HOURS));
+                studentCodes.forEach((classId, codes) -> {
+                    if (codes.isEmpty()) {
+                        return;
+                    }
+                    String key = String.format(STUDENTS_KEY, classId);
+                    codes.forEach((userId, data) -> ops.opsForHash().put(key, userId.toString(), data));
+                    ops.expire(key, TTL_HOURS, TimeUnit.HOURS);
+                });
+                return null;
+            }
+        });
+        log.debug("코드 일괄 저장: instructor={}, studentClasses={}", instructorCodes.size(), studentCodes.size());
     }
 
     // ==================== 전체 삭제 ====================
 
+    /**
+     * 클래스 코드 전체 삭제 (수업 종료 시)
+     * - 강사 코드 키 + 학생 코드 Hash 를 UNLINK 한 번으로 삭제 (메모리 해제는 Redis 백그라운드 처리)
+     */
     public void deleteAllClassCodes(Long classId) {
-        deleteInstructorCode(classId);
-        deleteAllStudentCodes(classId);
+        codeDataRedisTemplate.unlink(List.of(
+                String.format(INSTRUCTOR_KEY, classId),
+                String.format(STUDENTS_KEY, classId)
+        ));
         log.info("클래스 코드 전체 삭제: classId={}", classId);
     }
 
     // ==================== 내부 메서드 ====================
 
-    private void saveCode(String key, CodeData data) {
-        try {
-            String json = objectMapper.writeValueAsString(data);
-            redisTemplate.opsForValue().set(key, json, TTL_HOURS, TimeUnit.HOURS);
-        } catch (JsonProcessingException e) {
-            log.error("코드 저장 실패: key={}", key, e);
+    private CodeData migrateLegacyStudentCode(Long classId, Long userId) {
+        String legacyKey = String.format(LEGACY_STUDENT_KEY, classId, userId);
+        CodeData legacy = read(legacyKey, () -> codeDataRedisTemplate.opsForValue().get(legacyKey));
+        if (legacy == null) {
+            return null;
         }
+
+        // 그 사이 새 형식으로 저장된 코드가 있으면 덮어쓰지 않음
+        String key = String.format(STUDENTS_KEY, classId);
+        codeDataRedisTemplate.opsForHash().putIfAbsent(key, userId.toString(), legacy);
+        codeDataRedisTemplate.expire(key, TTL_HOURS, TimeUnit.HOURS);
+        codeDataRedisTemplate.unlink(legacyKey);
+        log.info("이전 형식 학생 코드 이전: classId={}, userId={}", classId, userId);
+
+        CodeData migrated = read(key, () -> codeDataRedisTemplate.<String, CodeData>opsForHash().get(key, userId.toString()));
+        return migrated != null ? migrated : legacy;
     }
 
-    private CodeData getCode(String key) {
+    private CodeData read(String key, Supplier<CodeData> reader) {
         try {
-            Object value = redisTemplate.opsForValue().get(key);
-            if (value == null) return null;
-            return objectMapper.readValue(value.toString(), CodeData.class);
-        } catch (JsonProcessingException e) {
+            return reader.get();
+        } catch (SerializationException e) {
             log.error("코드 조회 실패: key={}", key, e);
             return null;
         }
     }
-}
\ No newline at end of file
+}
@@ -1,16 +1,21 @@
 package com.sooscode.sooscode_api.application.compile.controller;
 
+import com.sooscode.sooscode_api.application.compile.dto.CompileOutputChunk;
+import com.sooscode.sooscode_api.application.compile.dto.CompileQueueResponse;
 import com.sooscode.sooscode_api.application.compile.dto.CompileResultResponse;
 import com.sooscode.sooscode_api.application.compile.dto.CompileRunRequest;
 import com.sooscode.sooscode_api.application.compile.service.CompileService;
+import com.sooscode.sooscode_api.application.compile.service.CompileStreamService;
 import com.sooscode.sooscode_api.global.exception.CustomException;
 import com.sooscode.sooscode_api.global.response.ApiResponse;
 import com.sooscode.sooscode_api.global.status.CompileStatus;
+import com.sooscode.sooscode_api.infra.security.CustomUserDetails;
 import com.sooscode.sooscode_api.infra.worker.CompileFutureStore;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
 
 import java.nio.charset.StandardCharsets;
@@ -25,6 +30,7 @@ import java.util.concurrent.Executor;
 public class CompileController {
 
     private final CompileService compileService;
+    private final CompileStreamService compileStreamService;
     private final CompileFutureStore compileFutureStore;
     private final Executor securityAsyncExecutor;
 
@@ -33,7 +39,8 @@ public class CompileController {
      **/
     @PostMapping("/run")
     public CompletableFuture<ResponseEntity<ApiResponse<CompileResultResponse>>> run(
-            @Valid @RequestBody CompileRunRequest request){
+            @Valid @RequestBody CompileRunRequest request,
+            @AuthenticationPrincipal CustomUserDetails userDetails){
         log.info(" /run 요청 수신");
 
         /**
@@ -48,7 +55,7 @@ public class CompileController {
             );
 
             CompletableFuture<CompileResultResponse> resultFuture =
-                    compileService.runCode(decode);
+                    compileService.runCode(userDetails.getUser().getUserId(), decode, request.isNoCache());
             log.info(" Future 생성 완료");
 
             /**
@@ -72,6 +79,60 @@ public class CompileController {
          */
     }
 
+    /**
+     *  post 코드 실행 run 요청 (스트리밍) - jobId 와 대기 순번 바로 반환
+     *  - 진행 상태/출력/최종 결과는 /user/queue/compile 로 전송
+     *  - HTTP 요청을 결과가 나올 때까지 붙잡지 않음
+     */
+    @PostMapping(value = "/run", params = "stream=true")
+    public ResponseEntity<ApiResponse<CompileQueueResponse>> runStreaming(
+            @Valid @RequestBody CompileRunRequest request,
+            @AuthenticationPrincipal CustomUserDetails userDetails) {
+        log.info(" /run 스트리밍 요청 수신");
+
+        String decode = new String(
+                Base64.getDecoder().decode(request.getCode()),
+                StandardCharsets.UTF_8
+        );
+
+        return ApiResponse.ok(
+                CompileStatus.OK,
+                compileService.runCodeStreaming(
+                        userDetails.getUser().getUserId(), userDetails.getUsername(), decode, request.isNoCache())
+        );
+    }
+
+    /**
+     *  진행 중인 컴파일 대기 순번 조회
+     *  - /run 응답을 기다리는 동안 클라이언트가 조회 (position 0 = 실행 중)
+     *  - jobId 를 주면 해당 작업, 없으면 가장 최근에 실행한 작업
+     *  - 진행 중인 작업이 없으면 data 는 null
+     */
+    @GetMapping("/queue")
+    public ResponseEntity<ApiResponse<CompileQueueResponse>> queuePosition(
+            @AuthenticationPrincipal CustomUserDetails userDetails,
+            @RequestParam(required = false) String jobId) {
+        return ApiResponse.ok(
+                CompileStatus.OK,
+                compileService.getQueuePosition(userDetails.getUser().getUserId(), jobId)
+        );
+    }
+
+    /**
+     *  완료된 컴파일 결과 조회
+     *  - 결과를 놓친 클라이언트가 jobId 로 다시 조회 (compile.callback.result-ttl-seconds 이내)
+     *  - 본인이 실행한 작업만 조회 가능
+     */
+    @GetMapping("/result/{jobId}")
+    public ResponseEntity<ApiResponse<CompileResultResponse>> result(
+            @AuthenticationPrincipal CustomUserDetails userDetails,
+            @PathVariable String jobId) {
+        return ApiResponse.ok(
+                CompileStatus.OK,
+                compileService.getResult(userDetails.getUser().getUserId(), jobId)
+        );
+    }
+
     /**
      *  컴파일 서버로부터 컴파일 결과를 수신하는 콜백
      */
@@ -87,4 +148,15 @@ public class CompileController {
         // 워커 서버 에서 받음
         return ApiResponse.ok(CompileStatus.OK, null);
     }
+
+    /**
+     *  컴파일 서버로부터 실행 출력 일부를 수신하는 콜백 (스트리밍 실행만 전달)
+     */
+    @PostMapping("/callback/{jobId}/output")
+    public ResponseEntity<ApiResponse<Void>> receiveOutput(
+            @PathVariable String jobId,
+            @RequestBody CompileOutputChunk chunk) {
+        compileStreamService.output(jobId, chunk);
+        return ApiResponse.ok(CompileStatus.OK, null);
+    }
 }
\ No newline at end of file
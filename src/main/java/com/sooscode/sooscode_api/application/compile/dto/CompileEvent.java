@@ -0,0 +1,31 @@
+package com.sooscode.sooscode_api.application.compile.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+/**
+ * 컴파일 진행 이벤트 (/user/queue/compile)
+ *
+ * - RUNNING: 워커로 전달됨
+ * - OUTPUT : 실행 출력 일부 (seq 순서대로 이어 붙임)
+ * - RESULT : 최종 결과 (status, output)
+ * - ERROR  : 실패 (code, message - CompileStatus)
+ */
+@Getter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CompileEvent {
+
+    public enum Type { RUNNING, OUTPUT, RESULT, ERROR }
+
+    private String jobId;
+    private Type type;
+    private Integer seq;
+    private String status;
+    private String output;
+    private String code;
+    private String message;
+}
@@ -0,0 +1,16 @@
+package com.sooscode.sooscode_api.application.compile.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+/**
+ * 워커 실행 출력 일부 (/api/compile/callback/{jobId}/output)
+ */
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+public class CompileOutputChunk {
+    private int seq;
+    private String output;
+}
@@ -0,0 +1,18 @@
+package com.sooscode.sooscode_api.application.compile.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+/**
+ * 컴파일 대기 순번
+ * - position: 1 부터 시작하는 대기 순번, 0 이면 실행 중
+ */
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+public class CompileQueueResponse {
+    private String jobId;
+    private int position;
+    private int queueSize;
+}
@@ -12,4 +12,6 @@ public class CompileRunRequest {
     private String jobId;
     private String code;
     private String callbackUrl;
+    // true 면 컴파일 결과 캐시를 사용하지 않음 (실행마다 결과가 다른 코드)
+    private boolean noCache;
 }
\ No newline at end of file
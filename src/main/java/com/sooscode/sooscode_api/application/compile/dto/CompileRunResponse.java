@@ -9,4 +9,6 @@ import lombok.NoArgsConstructor;
 @AllArgsConstructor
 public class CompileRunResponse {
     private String jobId;
+    /** 워커 실행 환경 버전 (예: java.version) - 보내지 않는 워커는 null, 컴파일 결과 캐시 키에 사용 */
+    private String runtime;
 }
\ No newline at end of file
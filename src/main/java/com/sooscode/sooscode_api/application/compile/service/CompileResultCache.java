@@ -0,0 +1,202 @@
+package com.sooscode.sooscode_api.application.compile.service;
+
+import com.sooscode.sooscode_api.application.compile.dto.CompileResultResponse;
+import com.sooscode.sooscode_api.application.compile.store.CompileResultRedisStore;
+import com.sooscode.sooscode_api.global.utils.TokenHashUtil;
+import com.sooscode.sooscode_api.infra.worker.CompileWorkerPool;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * 컴파일 결과 캐시 (소스 내용 기준)
+ * - 같은 반 학생들이 같은 예제 코드를 실행하면 워커를 거치지 않고 바로 결과 반환
+ * - 키: 정규화한 소스 + 런타임 버전의 SHA-256 (줄바꿈 통일, 줄 끝 공백/앞뒤 빈 줄 제거)
+ * - 런타임 버전은 워커가 실행 요청 응답으로 알려준 값 (CompileWorkerPool.runtime())
+ *   - 버전을 알려준 워커가 없으면 compile.cache.runtime (비우면 캐시하지 않음)
+ * - 전체 항목 수는 compile.cache.max-entries 로 제한 (CompileResultRedisStore)
+ *
+ * 캐시하지 않는 경우
+ * - 요청에서 noCache 지정
+ * - 워커 런타임 버전을 모르거나(compile.cache.runtime 미설정) 워커마다 다름 (배포 중), 실행 중 버전이 바뀜
+ * - 실행마다 결과가 달라지는 코드
+ *   - 난수, 현재 시각/날짜, 환경 변수/시스템 속성, 스레드 실행 순서, identity hashCode 호출
+ *   - 해시 컬렉션(HashMap/HashSet 등)에 enum 이나 직접 만든 클래스를 넣는 코드 (identity hashCode 라 순회 순서가 실행마다 다름)
+ * - 출력에 기본 Object.toString (클래스명@해시) 이 있음
+ * - 출력이 max-output-chars 보다 크거나 status 가 skip-statuses 에 포함
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class CompileResultCache {
+
+    private final CompileResultRedisStore compileResultRedisStore;
+    private final MeterRegistry meterRegistry;
+    private final CompileWorkerPool workerPool;
+
+    // 실행마다 결과가 달라질 수 있는 API
+    private static final List<String> NONDETERMINISTIC_TOKENS = List.of(
+            // 난수 / 식별자
+            "Random",
+            "Math.random",
+            "UUID",
+            // 시각 / 날짜
+            "currentTimeMillis",
+            "nanoTime",
+            ".now(",
+            "new Date(",
+            "Calendar.getInstance",
+            "Clock.",
+            // 실행 환경
+            "getenv",
+            "getProperty",
+            "getProperties",
+            "Runtime.",
+            "ProcessHandle",
+            // 스레드 실행 순서
+            "Thread",
+            "Executor",
+            "CompletableFuture",
+            "parallel",
+            // identity hashCode (hashCode 선언은 결정적일 수 있으므로 호출만)
+            "identityHashCode",
+            ".hashCode("
+    );
+
+    // 순회 순서가 hashCode 를 따르는 컬렉션 (LinkedHashMap/LinkedHashSet 은 삽입 순서라 제외)
+    private static final Pattern HASH_COLLECTION =
+            Pattern.compile("(?<!Linked)\\b(HashMap|HashSet|Hashtable|ConcurrentHashMap|IdentityHashMap|WeakHashMap)\\b");
+
+    // identity hashCode 를 쓰는 타입 선언 (enum, Main 외 클래스) 또는 Object 인스턴스
+    private static final Pattern IDENTITY_HASHED_TYPE =
+            Pattern.compile("\\benum\\s+\\w+|\\bclass\\s+(?!Main\\b)\\w+|new\\s+Object\\s*\\(");
+
+    // 기본 Object.toString 출력 (예: Main$Node@1b6d3586)
+    private static final Pattern DEFAULT_TO_STRING =
+            Pattern.compile("[A-Za-z_$][\\w$.]*@[0-9a-f]{5,8}\\b");
+
+    /**
+     * 캐시 키
+     * @param runtime 키를 만들 때의 워커 런타임 버전 (저장 시 다시 확인)
+     */
+    public record Key(String value, String runtime) {}
+
+    @Value("${compile.cache.enabled:true}")
+    private boolean enabled;
+
+    @Value("${compile.cache.ttl-seconds:600}")
+    private long ttlSeconds;
+
+    @Value("${compile.cache.max-output-chars:65536}")
+    private int maxOutputChars;
+
+    @Value("${compile.cache.skip-statuses:TIMEOUT}")
+    private String skipStatuses;
+
+    /** 버전을 응답하지 않는 워커의 런타임 버전 (워커 이미지와 맞춰 설정) */
+    @Value("${compile.cache.runtime:java17}")
+    private String fallbackRuntime;
+
+    private Set<String> skipStatusSet;
+
+    private Counter hitCounter;
+    private Counter missCounter;
+    private Counter bypassCounter;
+    private Counter evictedCounter;
+
+    @PostConstruct
+    public void init() {
+        this.skipStatusSet = Arrays.stream(skipStatuses.split(","))
+                .map(String::trim)
+                .filter(status -> !status.isEmpty())
+                .collect(Collectors.toSet());
+
+        this.hitCounter = meterRegistry.counter("compile.cache", "result", "hit");
+        this.missCounter = meterRegistry.counter("compile.cache", "result", "miss");
+        this.bypassCounter = meterRegistry.counter("compile.cache", "result", "bypass");
+        this.evictedCounter = meterRegistry.counter("compile.cache.evictions");
+    }
+
+    /**
+     * 캐시 키 계산
+     * @return 캐시하지 않는 코드면 null
+     */
+    public Key keyOf(String code, boolean noCache) {
+        String runtime = runtime();
+        if (!enabled || noCache || runtime == null || isNondeterministic(code)) {
+            bypassCounter.increment();
+            return null;
+        }
+        return new Key(TokenHashUtil.sha256(runtime + "\n" + normalize(code)), runtime);
+    }
+
+    /**
+     * 캐시된 결과 조회 (Redis 오류는 miss 로 처리)
+     */
+    public CompileResultResponse find(Key key) {
+        CompileResultResponse result = null;
+        try {
+            result = compileResultRedisStore.find(key.value());
+        } catch (Exception e) {
+            log.warn("컴파일 결과 캐시 조회 실패: error={}", e.getMessage());
+        }
+
+        if (result != null) {
+            hitCounter.increment();
+        } else {
+            missCounter.increment();
+        }
+        return result;
+    }
+
+    /**
+     * 결과 저장
+     * - 실행한 워커의 버전은 전달 시점에 기록되므로, 그 사이 버전이 바뀌었으면 runtime() 이 달라져 저장하지 않음
+     */
+    public void save(Key key, CompileResultResponse result) {
+        if (result == null
+                || (result.getStatus() != null && skipStatusSet.contains(result.getStatus()))
+                || (result.getOutput() != null
+                        && (result.getOutput().length() > maxOutputChars || DEFAULT_TO_STRING.matcher(result.getOutput()).find()))
+                || !key.runtime().equals(runtime())) {
+            return;
+        }
+        try {
+            evictedCounter.increment(compileResultRedisStore.save(key.value(), result, Duration.ofSeconds(ttlSeconds)));
+        } catch (Exception e) {
+            log.warn("컴파일 결과 캐시 저장 실패: error={}", e.getMessage());
+        }
+    }
+
+    private String runtime() {
+        return workerPool.runtime(fallbackRuntime.isBlank() ? null : fallbackRuntime);
+    }
+
+    boolean isNondeterministic(String code) {
+        for (String token : NONDETERMINISTIC_TOKENS) {
+            if (code.contains(token)) {
+                return true;
+            }
+        }
+        return HASH_COLLECTION.matcher(code).find() && IDENTITY_HASHED_TYPE.matcher(code).find();
+    }
+
+    private String normalize(String code) {
+        StringBuilder normalized = new StringBuilder(code.length());
+        for (String line : code.replace("\r\n", "\n").replace('\r', '\n').split("\n")) {
+            normalized.append(line.stripTrailing()).append('\n');
+        }
+        return normalized.toString().strip();
+    }
+}
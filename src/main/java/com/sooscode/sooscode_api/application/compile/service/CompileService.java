@@ -1,13 +1,21 @@
 package com.sooscode.sooscode_api.application.compile.service;
 
+import com.sooscode.sooscode_api.application.compile.dto.CompileQueueResponse;
 import com.sooscode.sooscode_api.application.compile.dto.CompileResultResponse;
-import com.sooscode.sooscode_api.application.compile.dto.CompileRunRequest;
-import com.sooscode.sooscode_api.application.compile.dto.CompileRunResponse;
 
 import java.util.concurrent.CompletableFuture;
 
 public interface CompileService {
 
-    /** 코드 실행 요청을 워커 서버로 전달하고 result를 반환한다. */
-    CompletableFuture<CompileResultResponse> runCode(String code);
-}
\ No newline at end of file
+    /** 코드 실행 요청을 컴파일 큐에 넣고 result를 반환한다. */
+    CompletableFuture<CompileResultResponse> runCode(Long userId, String code, boolean noCache);
+
+    /** 코드 실행 요청을 컴파일 큐에 넣고 jobId 와 대기 순번을 바로 반환한다. 결과는 /user/queue/compile 로 전송된다. */
+    CompileQueueResponse runCodeStreaming(Long userId, String principalName, String code, boolean noCache);
+
+    /** 사용자의 진행 중인 컴파일 대기 순번을 반환한다. jobId 가 없으면 가장 최근 작업, 없으면 null */
+    CompileQueueResponse getQueuePosition(Long userId, String jobId);
+
+    /** 완료된 컴파일 결과를 반환한다. 본인이 요청한 작업만 조회 가능, 없거나 만료되면 RESULT_NOT_FOUND */
+    CompileResultResponse getResult(Long userId, String jobId);
+}
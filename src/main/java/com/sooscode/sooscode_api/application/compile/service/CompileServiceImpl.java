@@ -1,13 +1,16 @@
 package com.sooscode.sooscode_api.application.compile.service;
 
+import com.sooscode.sooscode_api.application.compile.dto.CompileQueueResponse;
 import com.sooscode.sooscode_api.application.compile.dto.CompileResultResponse;
 import com.sooscode.sooscode_api.global.exception.CustomException;
-import com.sooscode.sooscode_api.global.status.CompileStatus;
 import com.sooscode.sooscode_api.global.guard.RequestCooldown;
+import com.sooscode.sooscode_api.global.response.AfterResponseFilter;
+import com.sooscode.sooscode_api.global.status.CompileStatus;
 import com.sooscode.sooscode_api.global.utils.CodeValidator;
 import com.sooscode.sooscode_api.infra.worker.CodeBlacklistFilter;
 import com.sooscode.sooscode_api.infra.worker.CompileFutureStore;
-import com.sooscode.sooscode_api.infra.worker.CompileWorkerClient;
+import com.sooscode.sooscode_api.infra.worker.CompileJob;
+import com.sooscode.sooscode_api.infra.worker.CompileJobQueue;
 import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
@@ -19,54 +22,129 @@ import java.util.concurrent.CompletableFuture;
 @RequiredArgsConstructor
 public class CompileServiceImpl implements CompileService {
 
-    private final CompileWorkerClient compileWorkerClient;
+    private final CompileJobQueue compileJobQueue;
     private final CompileFutureStore compileFutureStore;
+    private final CompileStreamService compileStreamService;
+    private final CompileResultCache compileResultCache;
 
     @Value("${app.urls.backend}")
     private String backendUrl;
 
+    @Value("${compile.precheck.token-aware:true}")
+    private boolean tokenAwarePrecheck;
+
     @Override
     @RequestCooldown(seconds = 3)
-    public CompletableFuture<CompileResultResponse> runCode(String code) {
+    public CompletableFuture<CompileResultResponse> runCode(Long userId, String code, boolean noCache) {
+
+        validate(code);
+
+        // 같은 코드의 캐시된 결과가 있으면 워커를 거치지 않음
+        CompileResultCache.Key cacheKey = compileResultCache.keyOf(code, noCache);
+        CompileResultResponse cached = cacheKey != null ? compileResultCache.find(cacheKey) : null;
+        if (cached != null) {
+            return CompletableFuture.completedFuture(cached);
+        }
+
+        //job Id 생성
+        String jobId = UUID.randomUUID().toString();
 
-        // 유효성 검사
-        CodeValidator.validateAll(code);
         /**
-         *  blacklist 필터
+         *  Future 생성
+         * - createFuture(jobId, userId)는 "비어있는 Future" 만드는 시점
+         * - 실제 thenApply 실행 스레드는 컨트롤러에서 지정해야 한다.
          */
-        CodeBlacklistFilter.validate(code);
+        CompletableFuture<CompileResultResponse> future =
+                compileFutureStore.createFuture(jobId, userId);
+        cacheOnComplete(cacheKey, future);
+
+        enqueue(jobId, userId, code, future, null);
+
+        /**
+         *  future 반환하고  callback 에서 result 받아야 완료됨.
+         * */
+        return future;
+    }
+
+    @Override
+    @RequestCooldown(seconds = 3)
+    public CompileQueueResponse runCodeStreaming(Long userId, String principalName, String code, boolean noCache) {
+
+        validate(code);
 
-        //job Id 생성
         String jobId = UUID.randomUUID().toString();
 
+        // 캐시 적중 시 RESULT 만 전송 - 클라이언트가 jobId 를 받은 뒤 도착하도록 HTTP 응답 이후에 보냄
+        CompileResultCache.Key cacheKey = compileResultCache.keyOf(code, noCache);
+        CompileResultResponse cached = cacheKey != null ? compileResultCache.find(cacheKey) : null;
+        if (cached != null) {
+            AfterResponseFilter.runAfterResponse(() ->
+                    compileStreamService.register(jobId, principalName, CompletableFuture.completedFuture(cached)));
+            return new CompileQueueResponse(jobId, 0, 0);
+        }
 
-        try {
-            /**
-             *  callback URL 구성 및 Future 생성
-             * - createFuture(jobId)는 "비어있는 Future" 만드는 시점
-             * - 실제 thenApply 실행 스레드는 컨트롤러에서 지정해야 한다.
-             */
-            String callbackUrl =
-                    backendUrl + "/api/compile/callback/" + jobId;
-            CompletableFuture<CompileResultResponse> future =
-                    compileFutureStore.createFuture(jobId);
-            /**
-             *  컴파일 워커 서버로 실행 요청
-             *  이 시점에서  run  메서드 종료,  HTTP 스레드는 반환 준비임
-             * */
-            compileWorkerClient.requestCompile(jobId, code, callbackUrl);
-
-            /**
-             *  future 반환하고  callback 에서 result 받아야 완료됨.
-             * */
-            return future;
+        CompletableFuture<CompileResultResponse> future =
+                compileFutureStore.createFuture(jobId, userId);
+        cacheOnComplete(cacheKey, future);
 
+        /**
+         *  결과는 /user/queue/compile 로 전송, HTTP 는 jobId 와 대기 순번만 바로 반환
+         * */
+        compileStreamService.register(jobId, principalName, future);
+        CompileJobQueue.QueuePosition position =
+                enqueue(jobId, userId, code, future, () -> compileStreamService.running(jobId));
+
+        return new CompileQueueResponse(position.jobId(), position.position(), position.queueSize());
+    }
+
+    @Override
+    public CompileQueueResponse getQueuePosition(Long userId, String jobId) {
+        CompileJobQueue.QueuePosition position = compileJobQueue.getPosition(userId, jobId);
+        if (position == null) {
+            return null;
+        }
+        return new CompileQueueResponse(position.jobId(), position.position(), position.queueSize());
+    }
+
+    @Override
+    public CompileResultResponse getResult(Long userId, String jobId) {
+        CompileResultResponse result = compileFutureStore.findResult(jobId, userId);
+        if (result == null) {
+            throw new CustomException(CompileStatus.RESULT_NOT_FOUND);
+        }
+        return result;
+    }
+
+    private void validate(String code) {
+        /**
+         *  유효성 검사 + blacklist 필터
+         *  - 인코딩/줄 수/금지 패턴을 한 번의 스캔으로 검사
+         *  - 토큰 인식 모드면 주석/문자열 안의 금지 단어는 통과, 위반은 줄/열 목록으로 응답
+         */
+        CodeValidator.validateAll(code, CodeBlacklistFilter.scanner(tokenAwarePrecheck));
+    }
+
+    private void cacheOnComplete(CompileResultCache.Key cacheKey, CompletableFuture<CompileResultResponse> future) {
+        if (cacheKey != null) {
+            future.thenAccept(result -> compileResultCache.save(cacheKey, result));
+        }
+    }
+
+    /**
+     *  callback URL 구성 후 컴파일 큐에 적재
+     *  워커 전달은 dispatch 스레드가 담당, HTTP 스레드는 바로 반환
+     * */
+    private CompileJobQueue.QueuePosition enqueue(String jobId, Long userId, String code,
+                                                  CompletableFuture<CompileResultResponse> future,
+                                                  Runnable onDispatched) {
+        String callbackUrl =
+                backendUrl + "/api/compile/callback/" + jobId;
+        try {
+            return compileJobQueue.submit(new CompileJob(
+                    jobId, userId, code, callbackUrl, future, System.currentTimeMillis(), onDispatched));
         } catch (CustomException exception) {
+            compileFutureStore.failFuture(jobId, exception);
             throw exception;
-        } catch (Exception exception) {
-            compileFutureStore.failFuture(jobId, new CustomException(CompileStatus.WORKER_UNAVAILABLE));
-                throw new CustomException(CompileStatus.WORKER_UNAVAILABLE);
         }
     }
 }
-
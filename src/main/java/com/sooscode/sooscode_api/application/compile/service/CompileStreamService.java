@@ -0,0 +1,171 @@
+package com.sooscode.sooscode_api.application.compile.service;
+
+import com.sooscode.sooscode_api.application.compile.dto.CompileEvent;
+import com.sooscode.sooscode_api.application.compile.dto.CompileOutputChunk;
+import com.sooscode.sooscode_api.application.compile.dto.CompileResultResponse;
+import com.sooscode.sooscode_api.global.exception.CustomException;
+import com.sooscode.sooscode_api.global.status.CompileStatus;
+import com.sooscode.sooscode_api.global.status.StatusCode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * 컴파일 결과 WebSocket 전송 (/user/queue/compile)
+ * - 스트리밍 실행은 HTTP 요청을 붙잡지 않고 jobId 만 바로 반환
+ * - 진행 상태, 출력 일부, 최종 결과를 실행한 사용자의 STOMP 세션으로 전송
+ *
+ * 노드 간 전달 (compile.callback.mode=redis)
+ * - 최종 결과는 CompileFutureStore 가 전달
+ * - 출력 일부가 작업을 가진 노드가 아닌 곳으로 오면 compile:output 채널로 발행 → 작업을 가진 노드가 전송
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class CompileStreamService {
+
+    private final SimpMessagingTemplate messagingTemplate;
+    private final StringRedisTemplate stringRedisTemplate;
+    private final RedisMessageListenerContainer listenerContainer;
+    private final ObjectMapper objectMapper;
+
+    private static final String COMPILE_QUEUE = "/queue/compile";
+    private static final ChannelTopic OUTPUT_TOPIC = new ChannelTopic("compile:output");
+
+    @Value("${compile.callback.mode:local}")
+    private String mode;
+
+    // jobId → STOMP Principal 이름
+    private final Map<String, String> subscribers = new ConcurrentHashMap<>();
+
+    private boolean distributed;
+
+    @PostConstruct
+    public void init() {
+        this.distributed = "redis".equalsIgnoreCase(mode);
+        if (distributed) {
+            listenerContainer.addMessageListener(this::onOutputRelayed, OUTPUT_TOPIC);
+        }
+    }
+
+    /**
+     * 스트리밍 작업 등록 - future 가 끝나면 RESULT 또는 ERROR 전송
+     */
+    public void register(String jobId, String principalName, CompletableFuture<CompileResultResponse> future) {
+        subscribers.put(jobId, principalName);
+        future.whenComplete((result, ex) -> {
+            subscribers.remove(jobId);
+            if (ex == null) {
+                send(principalName, CompileEvent.builder()
+                        .jobId(jobId)
+                        .type(CompileEvent.Type.RESULT)
+                        .status(result.getStatus())
+                        .output(result.getOutput())
+                        .build());
+            } else {
+                StatusCode status = toStatus(ex);
+                send(principalName, CompileEvent.builder()
+                        .jobId(jobId)
+                        .type(CompileEvent.Type.ERROR)
+                        .code(status.getCode())
+                        .message(status.getMessage())
+                        .build());
+            }
+        });
+    }
+
+    /**
+     * 워커로 전달됨
+     */
+    public void running(String jobId) {
+        String principalName = subscribers.get(jobId);
+        if (principalName == null) {
+            return;
+        }
+        send(principalName, CompileEvent.builder()
+                .jobId(jobId)
+                .type(CompileEvent.Type.RUNNING)
+                .build());
+    }
+
+    /**
+     * 실행 출력 일부
+     */
+    public void output(String jobId, CompileOutputChunk chunk) {
+        CompileEvent event = CompileEvent.builder()
+                .jobId(jobId)
+                .type(CompileEvent.Type.OUTPUT)
+                .seq(chunk.getSeq())
+                .output(chunk.getOutput())
+                .build();
+
+        String principalName = subscribers.get(jobId);
+        if (principalName != null) {
+            send(principalName, event);
+        } else if (distributed) {
+            relay(event);
+        } else {
+            log.debug("컴파일 출력 수신 대상 없음: jobId={}, seq={}", jobId, chunk.getSeq());
+        }
+    }
+
+    private void relay(CompileEvent event) {
+        try {
+            stringRedisTemplate.convertAndSend(OUTPUT_TOPIC.getTopic(), objectMapper.writeValueAsString(event));
+        } catch (Exception e) {
+            log.warn("컴파일 출력 전달 실패: jobId={}, seq={}, error={}", event.getJobId(), event.getSeq(), e.getMessage());
+        }
+    }
+
+    /**
+     * 다른 노드가 받은 출력 일부 - 작업을 가진 노드만 전송 (발행한 노드 포함 나머지는 무시)
+     */
+    private void onOutputRelayed(Message message, byte[] pattern) {
+        CompileEvent event;
+        try {
+            event = objectMapper.readValue(new String(message.getBody(), StandardCharsets.UTF_8), CompileEvent.class);
+        } catch (Exception e) {
+            log.warn("컴파일 출력 메시지 해석 실패: {}", e.getMessage());
+            return;
+        }
+        String principalName = subscribers.get(event.getJobId());
+        if (principalName != null) {
+            send(principalName, event);
+        }
+    }
+
+    private void send(String principalName, CompileEvent event) {
+        try {
+            messagingTemplate.convertAndSendToUser(principalName, COMPILE_QUEUE, event);
+        } catch (Exception e) {
+            log.warn("컴파일 이벤트 전송 실패: jobId={}, type={}, error={}",
+                    event.getJobId(), event.getType(), e.getMessage());
+        }
+    }
+
+    private StatusCode toStatus(Throwable ex) {
+        Throwable cause = ex instanceof CompletionException && ex.getCause() != null ? ex.getCause() : ex;
+        if (cause instanceof CustomException customException) {
+            return customException.getStatusCode();
+        }
+        if (cause instanceof TimeoutException) {
+            return CompileStatus.WORKER_TIMEOUT;
+        }
+        return CompileStatus.WORKER_ERROR;
+    }
+}
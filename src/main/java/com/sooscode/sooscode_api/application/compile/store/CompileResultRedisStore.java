@@ -0,0 +1,105 @@
+package com.sooscode.sooscode_api.application.compile.store;
+
+import com.sooscode.sooscode_api.application.compile.dto.CompileResultResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.data.redis.serializer.GenericToStringSerializer;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.data.redis.serializer.SerializationException;
+import org.springframework.stereotype.Repository;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * 컴파일 결과 캐시 Redis 저장소
+ *
+ * Redis 키 구조:
+ * - compile:cache:{sourceHash} → CompileResultResponse (TTL, redis.value-format, compileResultRedisTemplate 로 읽고 씀)
+ * - compile:cache:index        → 저장된 sourceHash 목록 (ZSet, score=저장 시각 ms)
+ *
+ * 전체 항목 수는 compile.cache.max-entries 로 제한 (maxmemory 정책에 맡기지 않음)
+ * - 저장할 때 TTL 이 지난 인덱스 항목을 지우고, 그래도 넘치면 가장 오래된 항목부터 삭제
+ * - 삭제할 키는 스크립트 안에서 만들어 KEYS 로 선언하지 않으므로 단일 Redis(또는 Sentinel) 기준
+ */
+@Repository
+@Slf4j
+@RequiredArgsConstructor
+public class CompileResultRedisStore {
+
+    private final RedisTemplate<String, CompileResultResponse> compileResultRedisTemplate;
+
+    private static final String KEY_PREFIX = "compile:cache:";
+    private static final String INDEX_KEY = "compile:cache:index";
+
+    private static final RedisSerializer<byte[]> BYTES_SERIALIZER = RedisSerializer.byteArray();
+    private static final RedisSerializer<String> STRING_SERIALIZER = RedisSerializer.string();
+    private static final RedisSerializer<Long> LONG_SERIALIZER = new GenericToStringSerializer<>(Long.class);
+
+    /**
+     * 결과 저장 스크립트 (저장 + 인덱스 + 개수 제한을 한 번에, 원자적)
+     * KEYS[1] = compile:cache:{sourceHash}, KEYS[2] = compile:cache:index
+     * ARGV[1] = 직렬화된 결과 값, ARGV[2] = TTL(초), ARGV[3] = 현재 시각(ms), ARGV[4] = sourceHash,
+     * ARGV[5] = 최대 항목 수, ARGV[6] = 결과 키 접두사
+     *
+     * 반환: 개수 제한으로 삭제한 항목 수
+     */
+    private static final RedisScript<Long> SAVE_SCRIPT = new DefaultRedisScript<>("""
+            local ttl = tonumber(ARGV[2])
+            local now = tonumber(ARGV[3])
+            redis.call('SET', KEYS[1], ARGV[1], 'EX', ttl)
+            redis.call('ZADD', KEYS[2], now, ARGV[4])
+            redis.call('ZREMRANGEBYSCORE', KEYS[2], '-inf', now - ttl * 1000)
+
+            local evicted = 0
+            local overflow = redis.call('ZCARD', KEYS[2]) - tonumber(ARGV[5])
+            if overflow > 0 then
+                local oldest = redis.call('ZPOPMIN', KEYS[2], overflow)
+                for i = 1, #oldest, 2 do
+                    redis.call('UNLINK', ARGV[6] .. oldest[i])
+                end
+                evicted = overflow
+            end
+            redis.call('EXPIRE', KEYS[2], ttl)
+            return evicted
+            """, Long.class);
+
+    @Value("${compile.cache.max-entries:10000}")
+    private long maxEntries;
+
+    public CompileResultResponse find(String sourceHash) {
+        try {
+            return compileResultRedisTemplate.opsForValue().get(KEY_PREFIX + sourceHash);
+        } catch (SerializationException e) {
+            log.error("컴파일 결과 캐시 파싱 실패: hash={}", sourceHash, e);
+            return null;
+        }
+    }
+
+    /**
+     * 결과 저장
+     * @return 개수 제한으로 삭제한 항목 수
+     */
+    public long save(String sourceHash, CompileResultResponse result, Duration ttl) {
+        byte[] value = valueSerializer().serialize(result);
+        Long evicted = compileResultRedisTemplate.execute(
+                SAVE_SCRIPT, BYTES_SERIALIZER, LONG_SERIALIZER,
+                List.of(KEY_PREFIX + sourceHash, INDEX_KEY),
+                value,
+                STRING_SERIALIZER.serialize(String.valueOf(ttl.toSeconds())),
+                STRING_SERIALIZER.serialize(String.valueOf(System.currentTimeMillis())),
+                STRING_SERIALIZER.serialize(sourceHash),
+                STRING_SERIALIZER.serialize(String.valueOf(maxEntries)),
+                STRING_SERIALIZER.serialize(KEY_PREFIX));
+        return evicted != null ? evicted : 0L;
+    }
+
+    @SuppressWarnings("unchecked")
+    private RedisSerializer<CompileResultResponse> valueSerializer() {
+        return (RedisSerializer<CompileResultResponse>) compileResultRedisTemplate.getValueSerializer();
+    }
+}
@@ -10,6 +10,7 @@ import com.sooscode.sooscode_api.global.exception.CustomException;
 import com.sooscode.sooscode_api.global.status.AuthStatus;
 import com.sooscode.sooscode_api.global.status.UserStatus;
 import com.sooscode.sooscode_api.global.utils.UserValidator;
+import com.sooscode.sooscode_api.infra.security.PrincipalCacheService;
 import com.sooscode.sooscode_api.infra.s3.service.S3FileService;
 import org.springframework.transaction.annotation.Transactional;
 import lombok.RequiredArgsConstructor;
@@ -27,6 +28,7 @@ public class MypageUserServiceImpl implements MypageUserService {
     private final BCryptPasswordEncoder passwordEncoder;
     private final S3FileService fileService;
     private final ClassParticipantRepository classParticipantRepository;
+    private final PrincipalCacheService principalCacheService;
 
     /**
      * 유저 조회
@@ -69,6 +71,7 @@ public class MypageUserServiceImpl implements MypageUserService {
 
         user.setPassword(passwordEncoder.encode(request.getNewPassword()));
         userRepository.save(user);
+        principalCacheService.invalidate(user.getUserId());
     }
 
     /**
@@ -84,7 +87,9 @@ public class MypageUserServiceImpl implements MypageUserService {
             user.setName(request.getName());
         }
 
-        return userRepository.save(user);
+        User saved = userRepository.save(user);
+        principalCacheService.invalidate(user.getUserId());
+        return saved;
     }
 
     /**
@@ -94,6 +99,7 @@ public class MypageUserServiceImpl implements MypageUserService {
     public void deleteUser(User user) {
         user.setStatus(com.sooscode.sooscode_api.domain.user.enums.UserStatus.INACTIVE);
         userRepository.delete(user);
+        principalCacheService.invalidate(user.getUserId());
     }
 
 
@@ -121,6 +127,7 @@ public class MypageUserServiceImpl implements MypageUserService {
 
             // 새로운 파일 연결
             user.setFile(newFile);
+            principalCacheService.invalidate(userId);
         }
     }
 
@@ -141,6 +148,7 @@ public class MypageUserServiceImpl implements MypageUserService {
 
             // FK 해제
             user.setFile(null);
+            principalCacheService.invalidate(userId);
         }
     }
 
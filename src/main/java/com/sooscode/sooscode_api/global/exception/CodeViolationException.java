@@ -0,0 +1,28 @@
+package com.sooscode.sooscode_api.global.exception;
+
+import com.sooscode.sooscode_api.global.status.StatusCode;
+import com.sooscode.sooscode_api.global.utils.CodeScanner;
+import lombok.Getter;
+
+import java.util.List;
+
+/**
+ * 코드 검사 위반 예외
+ * - 위반 목록(규칙, 줄/열)을 응답 data 로 함께 전달
+ */
+@Getter
+public class CodeViolationException extends CustomException {
+
+    private final List<CodeScanner.Violation> violations;
+
+    public CodeViolationException(StatusCode statusCode, List<CodeScanner.Violation> violations) {
+        super(statusCode, describe(violations));
+        this.violations = violations;
+    }
+
+    private static String describe(List<CodeScanner.Violation> violations) {
+        CodeScanner.Violation first = violations.get(0);
+        return first.rule() + " (" + first.line() + ":" + first.column() + ")"
+                + (violations.size() > 1 ? " 외 " + (violations.size() - 1) + "건" : "");
+    }
+}
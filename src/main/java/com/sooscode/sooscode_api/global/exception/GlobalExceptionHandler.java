@@ -2,6 +2,7 @@ package com.sooscode.sooscode_api.global.exception;
 
 import com.sooscode.sooscode_api.global.response.ApiResponse;
 import com.sooscode.sooscode_api.global.status.GlobalStatus;
+import com.sooscode.sooscode_api.global.utils.CodeScanner;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.MethodArgumentNotValidException;
@@ -9,6 +10,8 @@ import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
 import org.springframework.web.reactive.resource.NoResourceFoundException;
 
+import java.util.List;
+
 /**
  * 전역 예외 처리 핸들러
  * 모든 @RestController에 적용
@@ -28,6 +31,18 @@ public class GlobalExceptionHandler {
         return ApiResponse.fail(e.getStatusCode());
     }
 
+    /**
+     * 코드 검사 위반 처리 - 위반 위치 목록을 data 로 전달
+     */
+    @ExceptionHandler(CodeViolationException.class)
+    public ResponseEntity<ApiResponse<List<CodeScanner.Violation>>> handleCodeViolationException(
+            CodeViolationException e) {
+        log.warn("[CodeViolationException] 코드: {}, 메시지: {}",
+                e.getStatusCode().getCode(), e.getMessage());
+
+        return ApiResponse.failWithData(e.getStatusCode(), e.getViolations());
+    }
+
     /**
      * Bean Validation 예외 처리
      */
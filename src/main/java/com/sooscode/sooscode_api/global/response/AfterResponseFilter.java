@@ -0,0 +1,72 @@
+package com.sooscode.sooscode_api.global.response;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * HTTP 응답을 클라이언트로 보낸(commit) 뒤 실행할 작업
+ * - 응답으로 받은 값(jobId 등)을 클라이언트가 알기 전에 WebSocket 메시지가 먼저 도착하지 않도록 할 때 사용
+ * - 요청 처리 중 runAfterResponse 로 등록, 정상 응답이면 flushBuffer 후 등록 순서대로 실행
+ * - 요청 처리 중이 아니거나 비동기 요청이면 바로 실행
+ */
+@Slf4j
+@Component
+public class AfterResponseFilter extends OncePerRequestFilter {
+
+    private static final String TASKS_ATTRIBUTE = AfterResponseFilter.class.getName() + ".tasks";
+
+    /**
+     * 현재 요청의 응답이 commit 된 뒤 실행할 작업 등록
+     */
+    @SuppressWarnings("unchecked")
+    public static void runAfterResponse(Runnable task) {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes == null) {
+            task.run();
+            return;
+        }
+        List<Runnable> tasks = (List<Runnable>) attributes.getAttribute(TASKS_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+        if (tasks == null) {
+            tasks = new ArrayList<>();
+            attributes.setAttribute(TASKS_ATTRIBUTE, tasks, RequestAttributes.SCOPE_REQUEST);
+        }
+        tasks.add(task);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain chain)
+            throws ServletException, IOException {
+
+        chain.doFilter(request, response);
+
+        List<Runnable> tasks = (List<Runnable>) request.getAttribute(TASKS_ATTRIBUTE);
+        if (tasks == null) {
+            return;
+        }
+        request.removeAttribute(TASKS_ATTRIBUTE);
+        if (!request.isAsyncStarted()) {
+            response.flushBuffer();
+        }
+        for (Runnable task : tasks) {
+            try {
+                task.run();
+            } catch (Exception e) {
+                log.warn("응답 후 작업 실패: uri={}, error={}", request.getRequestURI(), e.getMessage());
+            }
+        }
+    }
+}
@@ -109,6 +109,24 @@ public class ApiResponse<T> {
                 .body(body);
     }
 
+    /**
+     * 상태 코드 + 데이터로 실패 (코드 검사 위반 목록 등)
+     */
+    public static <T> ResponseEntity<ApiResponse<T>> failWithData(StatusCode statusCode, T data) {
+        ApiResponse<T> body = ApiResponse.<T>builder()
+                .success(false)
+                .status(statusCode.getHttpStatus().value())
+                .code(statusCode.getCode())
+                .message(statusCode.getMessage())
+                .data(data)
+                .httpStatus(statusCode.getHttpStatus())
+                .build();
+
+        return ResponseEntity
+                .status(statusCode.getHttpStatus())
+                .body(body);
+    }
+
     // ===== WebSocket용 (ResponseEntity 없이 객체만 반환) =====
 
     /**
@@ -29,7 +29,13 @@ public enum CompileStatus implements StatusCode {
     //코드 실행중 재요청시
     ALREADY_PROCESSING(HttpStatus.CONFLICT, "COMPILE_009","이미 컴파일이 진행 중입니다."),
     //짧은시간 내 너무 잦은 요청 시
-    TOO_MANY_REQUESTS(HttpStatus.TOO_MANY_REQUESTS, "COMPILE_010", "요청이 너무 빠릅니다. 잠시 후 다시 시도하세요.");
+    TOO_MANY_REQUESTS(HttpStatus.TOO_MANY_REQUESTS, "COMPILE_010", "요청이 너무 빠릅니다. 잠시 후 다시 시도하세요."),
+    //컴파일 대기열이 가득 찼을 때
+    QUEUE_FULL(HttpStatus.SERVICE_UNAVAILABLE, "COMPILE_011", "컴파일 대기열이 가득 찼습니다. 잠시 후 다시 시도하세요."),
+    //대기열에서 워커로 전달되기 전에 대기 한도를 넘었을 때
+    QUEUE_TIMEOUT(HttpStatus.SERVICE_UNAVAILABLE, "COMPILE_012", "컴파일 대기 시간이 초과되었습니다. 잠시 후 다시 시도하세요."),
+    //보관된 결과가 없거나 만료, 다른 사용자의 작업
+    RESULT_NOT_FOUND(HttpStatus.NOT_FOUND, "COMPILE_013", "컴파일 결과가 없거나 만료되었습니다.");
 
 
     private final HttpStatus httpStatus;
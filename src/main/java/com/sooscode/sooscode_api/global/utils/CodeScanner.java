@@ -0,0 +1,461 @@
+package com.sooscode.sooscode_api.global.utils;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Queue;
+import java.util.Set;
+
+/**
+ * 소스 코드 단일 패스 스캐너
+ * - 금지 패턴 여러 개를 Aho-Corasick 오토마톤 하나로 합쳐 코드를 한 번만 읽음
+ * - 같은 패스에서 줄 수, UTF-8 인코딩 가능 여부, 유니코드 이스케이프(\\uXXXX)도 함께 확인
+ * - 위반은 모두 위치(줄/열, 1 부터)와 함께 보고
+ *
+ * 패턴 문법 (정규식 대신 단순 문법 → 오토마톤으로 컴파일)
+ * - '~' : 공백 0 개 이상 (정규식 \s*)
+ * - '_' : 공백 1 개 이상 (정규식 \s+)
+ * - 그 외 문자는 그대로 일치
+ *
+ * 스캔 시 연속된 공백은 공백 한 칸으로 보고 일치시키므로, '~' 는 "없음/한 칸" 두 경우로 펼쳐 등록
+ */
+public final class CodeScanner {
+
+    /**
+     * 스캔 규칙
+     * @param name 위반 보고에 쓰는 이름
+     * @param pattern '~', '_' 를 포함한 패턴
+     */
+    public record Rule(String name, String pattern) {
+        public static Rule of(String name, String pattern) {
+            return new Rule(name, pattern);
+        }
+    }
+
+    /**
+     * 규칙 위반 위치
+     * @param offset 원본 코드 기준 시작 인덱스
+     */
+    public record Violation(String rule, int line, int column, int offset) {}
+
+    /**
+     * 스캔 결과
+     * @param lines 줄 수 (String.split 과 같이 끝의 빈 줄은 제외)
+     * @param encodable UTF-8 로 인코딩 가능한지 (짝이 없는 서로게이트 없음)
+     */
+    public record Result(int lines, boolean encodable, List<Violation> violations) {
+        public boolean hasViolations() {
+            return !violations.isEmpty();
+        }
+    }
+
+    public static final String UNICODE_ESCAPE_RULE = "unicode-escape";
+
+    private static final char WHITESPACE = ' ';
+    private static final int ASCII = 128;
+    // 어떤 패턴에도 없는 문자 (리터럴 자리 표시)
+    private static final int NEUTRAL = 0;
+    private static final int NO_FEED = -1;
+
+    // 토큰 인식 모드 렉서 상태
+    private static final int CODE = 0;
+    private static final int LINE_COMMENT = 1;
+    private static final int BLOCK_COMMENT = 2;
+    private static final int STRING = 3;
+    private static final int CHAR = 4;
+    private static final int TEXT_BLOCK = 5;
+
+    // 문자 → 알파벳 인덱스 (패턴에 없는 문자는 0)
+    private final int[] alphabet;
+    // 상태 전이표 (실패 링크까지 반영한 DFA)
+    private final int[][] transitions;
+    // 상태별 일치 패턴 (실패 링크 출력까지 병합)
+    private final int[][] outputs;
+    // 펼친 패턴별 규칙 이름 / 길이(스캔 문자 기준)
+    private final String[] variantRules;
+    private final int[] variantLengths;
+    private final int maxVariantLength;
+    private final boolean detectUnicodeEscape;
+    private final boolean tokenAware;
+    private final Set<String> deniedIdentifiers;
+
+    private CodeScanner(int[] alphabet, int[][] transitions, int[][] outputs,
+                        String[] variantRules, int[] variantLengths,
+                        boolean detectUnicodeEscape, boolean tokenAware, Set<String> deniedIdentifiers) {
+        this.alphabet = alphabet;
+        this.transitions = transitions;
+        this.outputs = outputs;
+        this.variantRules = variantRules;
+        this.variantLengths = variantLengths;
+        this.maxVariantLength = Arrays.stream(variantLengths).max().orElse(1);
+        this.detectUnicodeEscape = detectUnicodeEscape;
+        this.tokenAware = tokenAware;
+        this.deniedIdentifiers = deniedIdentifiers;
+    }
+
+    /**
+     * 규칙 목록을 오토마톤으로 컴파일 (클래스 로딩 시 한 번)
+     * @param detectUnicodeEscape true 면 \\uXXXX 유니코드 이스케이프도 위반으로 보고
+     */
+    public static CodeScanner compile(List<Rule> rules, boolean detectUnicodeEscape) {
+        return compile(rules, detectUnicodeEscape, false);
+    }
+
+    /**
+     * 규칙 목록을 오토마톤으로 컴파일
+     * @param tokenAware true 면 Java 주석/문자열/문자/텍스트 블록 안은 검사하지 않고,
+     *                   식별자 중간에서 시작하는 일치(예: mySocket)는 위반으로 보지 않음
+     *                   (단, 멤버 접근/메서드 참조/호출 위치의 식별자는 위반 - x.getClassLoader() 등)
+     */
+    public static CodeScanner compile(List<Rule> rules, boolean detectUnicodeEscape, boolean tokenAware) {
+        return compile(rules, detectUnicodeEscape, tokenAware, Set.of());
+    }
+
+    /**
+     * 규칙 목록을 오토마톤으로 컴파일
+     * @param deniedIdentifiers 토큰 인식 모드에서 식별자 중간 일치라도 위반으로 볼 식별자 전체 이름
+     *                          (예: SSLSocket, ThreadPoolExecutor 처럼 규칙을 포함하는 JDK 타입)
+     */
+    public static CodeScanner compile(List<Rule> rules, boolean detectUnicodeEscape, boolean tokenAware,
+                                      Set<String> deniedIdentifiers) {
+        List<String> variants = new ArrayList<>();
+        List<String> variantRuleNames = new ArrayList<>();
+        for (Rule rule : rules) {
+            for (String variant : expand(rule.pattern())) {
+                variants.add(variant);
+                variantRuleNames.add(rule.name());
+            }
+        }
+
+        // 알파벳 구성 (패턴은 ASCII 만 사용)
+        int[] alphabet = new int[ASCII];
+        int alphabetSize = 1;
+        for (String variant : variants) {
+            for (int i = 0; i < variant.length(); i++) {
+                char c = variant.charAt(i);
+                if (c >= ASCII) {
+                    throw new IllegalArgumentException("ASCII 패턴만 지원: " + variant);
+                }
+                if (alphabet[c] == 0) {
+                    alphabet[c] = alphabetSize++;
+                }
+            }
+        }
+
+        // 트라이 구성
+        List<int[]> trie = new ArrayList<>();
+        List<List<Integer>> trieOutputs = new ArrayList<>();
+        trie.add(newState(alphabetSize));
+        trieOutputs.add(new ArrayList<>());
+
+        for (int v = 0; v < variants.size(); v++) {
+            String variant = variants.get(v);
+            int state = 0;
+            for (int i = 0; i < variant.length(); i++) {
+                int symbol = alphabet[variant.charAt(i)];
+                if (trie.get(state)[symbol] < 0) {
+                    trie.get(state)[symbol] = trie.size();
+                    trie.add(newState(alphabetSize));
+                    trieOutputs.add(new ArrayList<>());
+                }
+                state = trie.get(state)[symbol];
+            }
+            trieOutputs.get(state).add(v);
+        }
+
+        // 실패 링크를 BFS 로 계산하며 DFA 로 변환
+        int[] fail = new int[trie.size()];
+        Queue<Integer> queue = new ArrayDeque<>();
+        int[] root = trie.get(0);
+        for (int symbol = 0; symbol < alphabetSize; symbol++) {
+            if (root[symbol] < 0) {
+                root[symbol] = 0;
+            } else {
+                fail[root[symbol]] = 0;
+                queue.add(root[symbol]);
+            }
+        }
+        while (!queue.isEmpty()) {
+            int state = queue.poll();
+            int[] row = trie.get(state);
+            trieOutputs.get(state).addAll(trieOutputs.get(fail[state]));
+            for (int symbol = 0; symbol < alphabetSize; symbol++) {
+                int next = row[symbol];
+                if (next < 0) {
+                    row[symbol] = trie.get(fail[state])[symbol];
+                } else {
+                    fail[next] = trie.get(fail[state])[symbol];
+                    queue.add(next);
+                }
+            }
+        }
+
+        int[][] transitions = trie.toArray(new int[0][]);
+        int[][] outputs = new int[trieOutputs.size()][];
+        for (int state = 0; state < outputs.length; state++) {
+            outputs[state] = trieOutputs.get(state).stream().mapToInt(Integer::intValue).toArray();
+        }
+
+        return new CodeScanner(
+                alphabet,
+                transitions,
+                outputs,
+                variantRuleNames.toArray(new String[0]),
+                variants.stream().mapToInt(String::length).toArray(),
+                detectUnicodeEscape,
+                tokenAware,
+                Set.copyOf(deniedIdentifiers)
+        );
+    }
+
+    /**
+     * 코드를 한 번 읽으며 모든 위반, 줄 수, 인코딩 가능 여부 계산
+     */
+    public Result scan(String code) {
+        int length = code.length();
+        List<Violation> violations = null;
+
+        // 최근 스캔 문자의 원본 위치 (패턴 길이만큼만 보관하는 링 버퍼)
+        int window = maxVariantLength;
+        int[] recentOffsets = new int[window];
+        int[] recentLines = new int[window];
+        int[] recentColumns = new int[window];
+        int fed = 0;
+
+        int state = 0;
+        int line = 1;
+        int column = 1;
+        int lineBreaks = 0;
+        int lineBreaksBeforeContent = 0;
+        boolean encodable = true;
+        boolean inWhitespace = false;
+        int lexState = CODE;
+        int skipUntil = 0;
+
+        for (int i = 0; i < length; i++) {
+            char c = code.charAt(i);
+
+            // 인코딩: 짝이 없는 서로게이트
+            if (Character.isHighSurrogate(c)) {
+                if (i + 1 >= length || !Character.isLowSurrogate(code.charAt(i + 1))) {
+                    encodable = false;
+                }
+            } else if (Character.isLowSurrogate(c)
+                    && (i == 0 || !Character.isHighSurrogate(code.charAt(i - 1)))) {
+                encodable = false;
+            }
+
+            // 유니코드 이스케이프 (\\uXXXX, u 는 여러 개 가능)
+            if (detectUnicodeEscape && c == '\\' && isUnicodeEscape(code, i)) {
+                violations = add(violations, new Violation(UNICODE_ESCAPE_RULE, line, column, i));
+            }
+
+            // 오토마톤에 넣을 문자 결정 (토큰 인식 모드면 주석/리터럴 내용은 제외)
+            int feed = NO_FEED;
+            if (i < skipUntil) {
+                // 여러 문자로 된 토큰(//, /*, */, """, 이스케이프)의 나머지 문자
+            } else if (lexState == CODE) {
+                char next = i + 1 < length ? code.charAt(i + 1) : 0;
+                if (tokenAware && c == '/' && next == '/') {
+                    lexState = LINE_COMMENT;
+                    feed = WHITESPACE;
+                } else if (tokenAware && c == '/' && next == '*') {
+                    lexState = BLOCK_COMMENT;
+                    feed = WHITESPACE;
+                    skipUntil = i + 2;
+                } else if (tokenAware && c == '"') {
+                    boolean textBlock = code.startsWith("\"\"\"", i);
+                    lexState = textBlock ? TEXT_BLOCK : STRING;
+                    feed = NEUTRAL;
+                    if (textBlock) {
+                        skipUntil = i + 3;
+                    }
+                } else if (tokenAware && c == '\'') {
+                    lexState = CHAR;
+                    feed = NEUTRAL;
+                } else {
+                    feed = isWhitespace(c) ? WHITESPACE : c;
+                }
+            } else if (lexState == LINE_COMMENT) {
+                if (c == '\n' || c == '\r') {
+                    lexState = CODE;
+                    feed = WHITESPACE;
+                }
+            } else if (lexState == BLOCK_COMMENT) {
+                if (c == '*' && i + 1 < length && code.charAt(i + 1) == '/') {
+                    lexState = CODE;
+                    skipUntil = i + 2;
+                }
+            } else if (c == '\\') {
+                // 리터럴 안 이스케이프는 다음 문자까지 건너뜀
+                skipUntil = i + 2;
+            } else if (lexState == TEXT_BLOCK) {
+                if (code.startsWith("\"\"\"", i)) {
+                    lexState = CODE;
+                    skipUntil = i + 3;
+                }
+            } else if ((lexState == STRING && c == '"') || (lexState == CHAR && c == '\'')) {
+                lexState = CODE;
+            } else if (c == '\n' || c == '\r') {
+                // 닫히지 않은 리터럴은 줄 끝에서 종료
+                lexState = CODE;
+                feed = WHITESPACE;
+            }
+
+            if (feed != NO_FEED) {
+                boolean whitespace = feed == WHITESPACE;
+                if (!whitespace || !inWhitespace) {
+                    int slot = fed % window;
+                    recentOffsets[slot] = i;
+                    recentLines[slot] = line;
+                    recentColumns[slot] = column;
+                    fed++;
+
+                    int symbol = feed < ASCII ? alphabet[feed] : 0;
+                    state = transitions[state][symbol];
+
+                    for (int variant : outputs[state]) {
+                        int start = (fed - variantLengths[variant]) % window;
+                        if (tokenAware && !isTokenStart(code, recentOffsets[start])
+                                && !deniedWithinIdentifier(code, recentOffsets[start])) {
+                            continue;
+                        }
+                        violations = add(violations, new Violation(
+                                variantRules[variant], recentLines[start], recentColumns[start], recentOffsets[start]));
+                    }
+                }
+                inWhitespace = whitespace;
+            }
+
+            // 줄/열 (\r\n 은 한 줄바꿈)
+            if (c == '\n' || c == '\r') {
+                if (c == '\r' && i + 1 < length && code.charAt(i + 1) == '\n') {
+                    column++;
+                    continue;
+                }
+                lineBreaks++;
+                line++;
+                column = 1;
+            } else {
+                lineBreaksBeforeContent = lineBreaks;
+                column++;
+            }
+        }
+
+        return new Result(
+                lineBreaksBeforeContent + 1,
+                encodable,
+                violations != null ? violations : Collections.emptyList()
+        );
+    }
+
+    // ==================== 내부 메서드 ====================
+
+    /**
+     * '~' 를 "없음/공백 한 칸" 으로, '_' 를 공백 한 칸으로 펼침
+     */
+    private static List<String> expand(String pattern) {
+        List<String> variants = new ArrayList<>();
+        variants.add("");
+        for (int i = 0; i < pattern.length(); i++) {
+            char c = pattern.charAt(i);
+            List<String> next = new ArrayList<>(variants.size() * 2);
+            for (String prefix : variants) {
+                if (c == '~') {
+                    next.add(prefix);
+                    next.add(appendWhitespace(prefix));
+                } else if (c == '_') {
+                    next.add(appendWhitespace(prefix));
+                } else {
+                    next.add(prefix + c);
+                }
+            }
+            variants = next.stream().distinct().toList();
+        }
+        return variants;
+    }
+
+    // 연속 공백은 스캔 시 한 칸이므로 패턴에도 두 칸 이상 연속되지 않게 함
+    private static String appendWhitespace(String prefix) {
+        return prefix.endsWith(" ") ? prefix : prefix + WHITESPACE;
+    }
+
+    private static int[] newState(int alphabetSize) {
+        int[] row = new int[alphabetSize];
+        Arrays.fill(row, -1);
+        return row;
+    }
+
+    // 일치 시작 위치가 식별자 중간이 아닌지
+    private static boolean isTokenStart(String code, int offset) {
+        return offset == 0 || !Character.isJavaIdentifierPart(code.charAt(offset - 1));
+    }
+
+    /**
+     * 식별자 중간에서 시작한 일치를 위반으로 볼지
+     * - deniedIdentifiers 에 있는 이름 (SSLSocket 등 JDK 타입)
+     * - 멤버 접근/메서드 참조/호출 위치의 이름 (x.getClassLoader(), Executors.newSingleThreadExecutor, ::getExecutor)
+     *   사용자가 만든 변수 이름(mySocket)만 통과 - 호출하는 사용자 메서드 이름도 위반으로 보는 쪽을 택함
+     */
+    private boolean deniedWithinIdentifier(String code, int offset) {
+        int start = offset;
+        while (start > 0 && Character.isJavaIdentifierPart(code.charAt(start - 1))) {
+            start--;
+        }
+        int end = offset;
+        while (end < code.length() && Character.isJavaIdentifierPart(code.charAt(end))) {
+            end++;
+        }
+        if (deniedIdentifiers.contains(code.substring(start, end))) {
+            return true;
+        }
+
+        int before = start - 1;
+        while (before >= 0 && isWhitespace(code.charAt(before))) {
+            before--;
+        }
+        int after = end;
+        while (after < code.length() && isWhitespace(code.charAt(after))) {
+            after++;
+        }
+        return (before >= 0 && code.charAt(before) == '.')
+                || (before >= 1 && code.charAt(before) == ':' && code.charAt(before - 1) == ':')
+                || (after < code.length() && code.charAt(after) == '(');
+    }
+
+    // 정규식 \s 와 동일한 공백 문자
+    private static boolean isWhitespace(char c) {
+        return c == ' ' || c == '\t' || c == '\n' || c == '\u000B' || c == '\f' || c == '\r';
+    }
+
+    private static boolean isUnicodeEscape(String code, int backslash) {
+        int i = backslash + 1;
+        if (i >= code.length() || code.charAt(i) != 'u') {
+            return false;
+        }
+        while (i < code.length() && code.charAt(i) == 'u') {
+            i++;
+        }
+        if (i + 4 > code.length()) {
+            return false;
+        }
+        for (int j = i; j < i + 4; j++) {
+            if (!isHexDigit(code.charAt(j))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean isHexDigit(char c) {
+        return (c >= '0' && c <= '9') || (c >= 'a' && c <= 'f') || (c >= 'A' && c <= 'F');
+    }
+
+    private static List<Violation> add(List<Violation> violations, Violation violation) {
+        List<Violation> list = violations != null ? violations : new ArrayList<>();
+        list.add(violation);
+        return list;
+    }
+}
@@ -1,5 +1,6 @@
 package com.sooscode.sooscode_api.global.utils;
 
+import com.sooscode.sooscode_api.global.exception.CodeViolationException;
 import com.sooscode.sooscode_api.global.exception.CustomException;
 import com.sooscode.sooscode_api.global.status.CodeValidStatus;
 import com.sooscode.sooscode_api.global.status.CompileStatus;
@@ -13,7 +14,8 @@ import java.util.regex.Pattern;
  */
 public final class CodeValidator {
 
-    private static final int MAX_CODE_LENGTH = 1000;
+    /** 코드 최대 길이 (문자 수) - 실시간 편집 문서(CodeDocument)도 같은 한도를 사용 */
+    public static final int MAX_CODE_LENGTH = 1000;
     private static final int MAX_OUTPUT_LINES = 80;
 
     private static final Pattern MAIN_CLASS_PATTERN =
@@ -30,6 +32,11 @@ public final class CodeValidator {
             "while (true)"
     );
 
+    private static final CodeScanner FORBIDDEN_SCANNER = CodeScanner.compile(
+            FORBIDDEN_KEYWORDS.stream().map(keyword -> CodeScanner.Rule.of(keyword, keyword)).toList(),
+            false
+    );
+
     // 생성자 막기
     private CodeValidator() {}
 
@@ -37,12 +44,28 @@ public final class CodeValidator {
      * 전체 코드 유효성 검사
      */
     public static void validateAll(String code) {
+        validateAll(code, FORBIDDEN_SCANNER);
+    }
+
+    /**
+     * 전체 코드 유효성 검사 - 인코딩/줄 수/금지 패턴을 주어진 스캐너로 한 번에 검사
+     * - 금지 키워드보다 넓은 스캐너(CodeBlacklistFilter.scanner())를 주면 블랙리스트 검사까지 한 패스로 끝남
+     */
+    public static void validateAll(String code, CodeScanner scanner) {
 
         validateRequired(code);
-        validateEncoding(code);
         validateLength(code);
-        validateLineCount(code);
-        validateForbiddenSyntax(code);
+
+        CodeScanner.Result result = scanner.scan(code);
+        if (!result.encodable()) {
+            throw new CustomException(CodeValidStatus.CODE_INVALID_ENCODING);
+        }
+        if (result.lines() > MAX_OUTPUT_LINES) {
+            throw new CustomException(CodeValidStatus.CODE_TOO_MANY_LINES);
+        }
+        if (result.hasViolations()) {
+            throw new CodeViolationException(CompileStatus.FORBIDDEN_SYNTAX, result.violations());
+        }
     }
 
     /** 코드 null/empty 검사 */
@@ -0,0 +1,28 @@
+package com.sooscode.sooscode_api.global.utils;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+
+/**
+ * 토큰 해시 유틸리티 클래스
+ * - 토큰 원문 대신 캐시/Redis 키로 사용할 SHA-256 해시 (Base64 URL, 43자)
+ */
+public class TokenHashUtil {
+
+    /**
+     * 토큰의 SHA-256 해시
+     *
+     * @param token JWT 등 토큰 원문
+     * @return Base64 URL 인코딩된 해시 (패딩 없음)
+     */
+    public static String sha256(String token) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
@@ -3,16 +3,27 @@ package com.sooscode.sooscode_api.infra.config;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.SerializationFeature;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.sooscode.sooscode_api.application.chat.dto.ChatMessageDto;
+import com.sooscode.sooscode_api.application.classroom.dto.ParticipantInfo;
+import com.sooscode.sooscode_api.application.code.dto.CodeData;
+import com.sooscode.sooscode_api.application.compile.dto.CompileResultResponse;
+import com.sooscode.sooscode_api.infra.redis.TypedRedisSerializer;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.data.redis.connection.RedisConnectionFactory;
 import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
 import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
 import org.springframework.data.redis.serializer.StringRedisSerializer;
 
 @Configuration
 public class RedisConfig {
 
+    /** 채팅/코드/참여자/컴파일 결과 값 저장 형식 (json | smile) - 읽기는 형식과 무관하게 모두 가능 */
+    @Value("${redis.value-format:json}")
+    private String valueFormat;
+
     @Bean
     public RedisTemplate<String, Object> redisTemplate(RedisConnectionFactory connectionFactory) {
         RedisTemplate<String, Object> template = new RedisTemplate<>();
@@ -37,4 +48,69 @@ public class RedisConfig {
 
         return template;
     }
-}
\ No newline at end of file
+
+    /**
+     * Redis pub/sub 리스너 컨테이너
+     * - 노드 간 로컬 캐시 무효화 메시지 수신용
+     */
+    @Bean
+    public RedisMessageListenerContainer redisMessageListenerContainer(RedisConnectionFactory connectionFactory) {
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(connectionFactory);
+        return container;
+    }
+
+    // ==================== 타입 지정 템플릿 ====================
+
+    /**
+     * 채팅 메시지 템플릿
+     * - 저장 스크립트(ChatRedisStore)는 이 직렬화기로 만든 바이트를 그대로 SET 하고 내용을 읽지 않으므로 redis.value-format 을 따름
+     */
+    @Bean
+    public RedisTemplate<String, ChatMessageDto> chatMessageRedisTemplate(RedisConnectionFactory connectionFactory,
+                                                                          ObjectMapper objectMapper) {
+        return typedTemplate(connectionFactory,
+                new TypedRedisSerializer<>(objectMapper, ChatMessageDto.class, valueFormat()));
+    }
+
+    @Bean
+    public RedisTemplate<String, CodeData> codeDataRedisTemplate(RedisConnectionFactory connectionFactory,
+                                                                 ObjectMapper objectMapper) {
+        return typedTemplate(connectionFactory,
+                new TypedRedisSerializer<>(objectMapper, CodeData.class, valueFormat()));
+    }
+
+    @Bean
+    public RedisTemplate<String, ParticipantInfo> participantRedisTemplate(RedisConnectionFactory connectionFactory,
+                                                                           ObjectMapper objectMapper) {
+        return typedTemplate(connectionFactory,
+                new TypedRedisSerializer<>(objectMapper, ParticipantInfo.class, valueFormat()));
+    }
+
+    /**
+     * 컴파일 결과 템플릿 (콜백 결과 보관, 결과 캐시)
+     * - redisTemplate 의 GenericJackson2JsonRedisSerializer 는 타입 정보 없이 써서 읽으면 LinkedHashMap 이 되므로 타입 지정
+     */
+    @Bean
+    public RedisTemplate<String, CompileResultResponse> compileResultRedisTemplate(RedisConnectionFactory connectionFactory,
+                                                                                   ObjectMapper objectMapper) {
+        return typedTemplate(connectionFactory,
+                new TypedRedisSerializer<>(objectMapper, CompileResultResponse.class, valueFormat()));
+    }
+
+    private TypedRedisSerializer.Format valueFormat() {
+        return TypedRedisSerializer.Format.valueOf(valueFormat.toUpperCase());
+    }
+
+    private <T> RedisTemplate<String, T> typedTemplate(RedisConnectionFactory connectionFactory,
+                                                       TypedRedisSerializer<T> serializer) {
+        RedisTemplate<String, T> template = new RedisTemplate<>();
+        template.setConnectionFactory(connectionFactory);
+        template.setKeySerializer(new StringRedisSerializer());
+        template.setValueSerializer(serializer);
+        template.setHashKeySerializer(new StringRedisSerializer());
+        template.setHashValueSerializer(serializer);
+        template.afterPropertiesSet();
+        return template;
+    }
+}
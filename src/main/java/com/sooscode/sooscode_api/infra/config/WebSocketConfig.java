@@ -1,23 +1,116 @@
 package com.sooscode.sooscode_api.global.websocket.config;
 
+import com.sooscode.sooscode_api.infra.websocket.interceptor.SlowConsumerInterceptor;
+import com.sooscode.sooscode_api.infra.websocket.interceptor.StompSessionInterceptor;
+import com.sooscode.sooscode_api.infra.websocket.resolver.SessionInfoArgumentResolver;
+import com.sooscode.sooscode_api.infra.websocket.service.SlowConsumerPolicy;
+import com.sooscode.sooscode_api.infra.websocket.service.WebSocketSessionRegistry;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.messaging.handler.invocation.HandlerMethodArgumentResolver;
+import org.springframework.messaging.simp.config.ChannelRegistration;
 import org.springframework.messaging.simp.config.MessageBrokerRegistry;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 import org.springframework.web.socket.config.annotation.EnableWebSocketMessageBroker;
 import org.springframework.web.socket.config.annotation.StompEndpointRegistry;
 import org.springframework.web.socket.config.annotation.WebSocketMessageBrokerConfigurer;
+import org.springframework.web.socket.config.annotation.WebSocketTransportRegistration;
+
+import java.util.List;
+import java.util.concurrent.RejectedExecutionHandler;
 
 /**
  * WebSocket 설정
  * - /ws 엔드포인트
  * - /app prefix → Controller @MessageMapping
- * - /topic, /queue → 메시지 브로커
+ * - /topic, /queue → 메시지 브로커 (websocket.broker.mode)
+ *   - simple : 인메모리 브로커 (단일 노드, 로컬/테스트 기본값)
+ *   - relay  : 외부 STOMP 브로커(RabbitMQ STOMP 등)로 중계 → 여러 API 노드가 같은 토픽을 공유
+ * - destination 구분자
+ *   - 발행 토픽: simple 은 "/" (/topic/class/{classId}/chat), relay 는 "." (/topic/class.{classId}.chat) - StompDestinations
+ *     RabbitMQ STOMP 플러그인은 /topic/ 뒤를 routing key 로 쓰므로 "/" 로 나뉜 여러 단계 destination 을 거부함
+ *   - /app 전송과 구독 해석은 모드와 관계없이 두 형식 모두 허용 (프론트엔드 이전 기간 동안 중단 없음)
+ *     "." 형식 @MessageMapping 은 변수를 숫자로 제한 ({classId:\d+}) - 기본 "/" 매처에서 한 세그먼트라
+ *     code.instructor.{classId} 가 code.instructor.1.patch 까지 잡지 않도록 함
+ *   - /queue 는 한 단계 이름만 사용 (/queue/errors, /queue/code ...)
+ * - StompSessionInterceptor → 세션 속성에 SessionInfo 저장
+ * - SessionInfoArgumentResolver → @MessageMapping 핸들러에 SessionInfo 주입
+ * - inbound/outbound 채널 스레드 풀 크기와 큐 용량은 websocket.channel.* 로 설정 (큐 깊이는 메트릭으로 노출)
+ * - spring.threads.virtual.enabled=true 면 inbound/outbound 채널을 가상 스레드로 처리
+ *   (핸들러의 Redis/DB 대기가 채널 스레드를 오래 붙잡지 않음)
+ * - 세션별 전송 버퍼/시간 한도(websocket.transport.*)와 SlowConsumerPolicy 로
+ *   느린 클라이언트 하나가 outbound 채널 전체를 지연시키지 않도록 함
  *
  * 참고: 이벤트 처리는 StompEventHandler에서 @EventListener로 처리
  */
+@Slf4j
 @Configuration
 @EnableWebSocketMessageBroker
+@RequiredArgsConstructor
 public class WebSocketConfig implements WebSocketMessageBrokerConfigurer {
 
+    private final StompSessionInterceptor stompSessionInterceptor;
+    private final SlowConsumerInterceptor slowConsumerInterceptor;
+    private final SlowConsumerPolicy slowConsumerPolicy;
+    private final WebSocketSessionRegistry webSocketSessionRegistry;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${websocket.broker.mode:simple}")
+    private String brokerMode;
+
+    @Value("${websocket.broker.relay.host:localhost}")
+    private String relayHost;
+
+    @Value("${websocket.broker.relay.port:61613}")
+    private int relayPort;
+
+    @Value("${websocket.broker.relay.login:guest}")
+    private String relayLogin;
+
+    @Value("${websocket.broker.relay.passcode:guest}")
+    private String relayPasscode;
+
+    @Value("${websocket.broker.relay.virtual-host:/}")
+    private String relayVirtualHost;
+
+    @Value("${spring.threads.virtual.enabled:false}")
+    private boolean virtualThreads;
+
+    @Value("${websocket.channel.virtual-pool-size:256}")
+    private int virtualPoolSize;
+
+    @Value("${websocket.channel.inbound.core-pool-size:8}")
+    private int inboundCorePoolSize;
+
+    @Value("${websocket.channel.inbound.max-pool-size:32}")
+    private int inboundMaxPoolSize;
+
+    @Value("${websocket.channel.inbound.queue-capacity:100}")
+    private int inboundQueueCapacity;
+
+    @Value("${websocket.channel.outbound.core-pool-size:8}")
+    private int outboundCorePoolSize;
+
+    @Value("${websocket.channel.outbound.max-pool-size:32}")
+    private int outboundMaxPoolSize;
+
+    @Value("${websocket.channel.outbound.queue-capacity:100}")
+    private int outboundQueueCapacity;
+
+    @Value("${websocket.transport.send-time-limit-ms:5000}")
+    private int sendTimeLimitMs;
+
+    @Value("${websocket.transport.send-buffer-size-limit:262144}")
+    private int sendBufferSizeLimit;
+
+    @Value("${websocket.transport.message-size-limit:65536}")
+    private int messageSizeLimit;
+
     @Override
     public void registerStompEndpoints(StompEndpointRegistry registry) {
         registry.addEndpoint("/ws")
@@ -30,7 +123,102 @@ public class WebSocketConfig implements WebSocketMessageBrokerConfigurer {
 
     @Override
     public void configureMessageBroker(MessageBrokerRegistry registry) {
-        registry.enableSimpleBroker("/topic", "/queue");
+        if ("relay".equalsIgnoreCase(brokerMode)) {
+            registry.enableStompBrokerRelay("/topic", "/queue")
+                    .setRelayHost(relayHost)
+                    .setRelayPort(relayPort)
+                    .setClientLogin(relayLogin)
+                    .setClientPasscode(relayPasscode)
+                    .setSystemLogin(relayLogin)
+                    .setSystemPasscode(relayPasscode)
+                    .setVirtualHost(relayVirtualHost)
+                    // 다른 노드에 연결된 사용자의 /user/queue/** 메시지도 전달되도록 사용자 레지스트리 공유
+                    .setUserDestinationBroadcast("/topic/unresolved-user")
+                    .setUserRegistryBroadcast("/topic/user-registry");
+            log.info("WebSocket 브로커: relay ({}:{})", relayHost, relayPort);
+        } else {
+            registry.enableSimpleBroker("/topic", "/queue");
+            log.info("WebSocket 브로커: simple (인메모리)");
+        }
         registry.setApplicationDestinationPrefixes("/app");
+        // 같은 세션으로 가는 프레임은 발행 순서대로 전송 (PATCH 리비전이 뒤바뀌어 불필요한 재조회가 생기지 않도록)
+        registry.setPreservePublishOrder(true);
+    }
+
+    @Override
+    public void configureClientInboundChannel(ChannelRegistration registration) {
+        registration.interceptors(stompSessionInterceptor);
+        registration.executor(channelExecutor("inbound", inboundCorePoolSize, inboundMaxPoolSize, inboundQueueCapacity));
+    }
+
+    @Override
+    public void configureClientOutboundChannel(ChannelRegistration registration) {
+        registration.interceptors(slowConsumerInterceptor);
+        registration.executor(channelExecutor("outbound", outboundCorePoolSize, outboundMaxPoolSize, outboundQueueCapacity));
+    }
+
+    /**
+     * 세션별 전송 한도
+     * - 한 세션의 전송이 send-time-limit 을 넘거나 미전송 버퍼가 send-buffer-size-limit 을 넘으면 세션 종료
+     * - 그 전에 SlowConsumerPolicy 가 버려도 되는 프레임부터 버림
+     */
+    @Override
+    public void configureWebSocketTransport(WebSocketTransportRegistration registration) {
+        registration.setSendTimeLimit(sendTimeLimitMs)
+                .setSendBufferSizeLimit(sendBufferSizeLimit)
+                .setMessageSizeLimit(messageSizeLimit)
+                .addDecoratorFactory(slowConsumerPolicy::decorate)
+                .addDecoratorFactory(webSocketSessionRegistry::decorate);
+    }
+
+    /**
+     * 채널 실행기
+     * - 코어 스레드가 모두 바쁘면 큐에 쌓고, 큐가 차면 max-pool-size 까지 스레드 추가
+     *   (큐가 크면 스레드가 늘기 전에 프레임이 큐에서 오래 대기하므로 queue-capacity 는 작게 유지)
+     * - 스레드와 큐가 모두 차면 예외 대신 websocket.channel.rejected 를 세고 호출 스레드에서 실행
+     *   (보내는 쪽이 느려지는 backpressure, 버리면 preservePublishOrder 의 세션별 전송이 멈춤)
+     * - 가상 스레드 모드는 스레드 생성 비용이 없으므로 virtual-pool-size 만큼 바로 실행 (블로킹 핸들러에도 대기 없음)
+     * - websocket.channel.queue.size / websocket.channel.active 로 채널별 적체 확인
+     */
+    private ThreadPoolTaskExecutor channelExecutor(String channel, int corePoolSize, int maxPoolSize, int queueCapacity) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setThreadNamePrefix("ws-" + channel + "-");
+        executor.setQueueCapacity(queueCapacity);
+        if (virtualThreads) {
+            executor.setVirtualThreads(true);
+            executor.setCorePoolSize(virtualPoolSize);
+            executor.setMaxPoolSize(virtualPoolSize);
+            executor.setAllowCoreThreadTimeOut(true);
+        } else {
+            executor.setCorePoolSize(corePoolSize);
+            executor.setMaxPoolSize(Math.max(corePoolSize, maxPoolSize));
+        }
+
+        executor.setRejectedExecutionHandler(callerRunsCounting(channel));
+
+        Gauge.builder("websocket.channel.queue.size", executor, ThreadPoolTaskExecutor::getQueueSize)
+                .tag("channel", channel)
+                .register(meterRegistry);
+        Gauge.builder("websocket.channel.active", executor, ThreadPoolTaskExecutor::getActiveCount)
+                .tag("channel", channel)
+                .register(meterRegistry);
+        return executor;
+    }
+
+    private RejectedExecutionHandler callerRunsCounting(String channel) {
+        Counter rejected = Counter.builder("websocket.channel.rejected")
+                .tag("channel", channel)
+                .register(meterRegistry);
+        return (task, pool) -> {
+            rejected.increment();
+            if (!pool.isShutdown()) {
+                task.run();
+            }
+        };
+    }
+
+    @Override
+    public void addArgumentResolvers(List<HandlerMethodArgumentResolver> argumentResolvers) {
+        argumentResolvers.add(new SessionInfoArgumentResolver());
     }
-}
\ No newline at end of file
+}
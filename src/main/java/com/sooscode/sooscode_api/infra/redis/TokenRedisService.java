@@ -1,21 +1,87 @@
 package com.sooscode.sooscode_api.infra.redis;
 
+import com.sooscode.sooscode_api.global.utils.TokenHashUtil;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.core.Cursor;
 import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.ScanOptions;
+import org.springframework.data.redis.core.ZSetOperations;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
 import org.springframework.stereotype.Service;
 
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 
+/**
+ * 토큰 Redis 서비스
+ * - Refresh Token 저장/조회/삭제
+ * - Access Token 블랙리스트 (로그아웃)
+ *
+ * 블랙리스트 구조
+ * - token:blacklist (ZSet, member = 토큰 SHA-256 해시, score = 토큰 만료 시각 ms)
+ * - 토큰 원문 대신 해시만 저장, 만료된 항목은 등록 시 ZREMRANGEBYSCORE 로 정리
+ *
+ * 조회는 노드 로컬 Map 만 확인 (요청 경로에서 Redis 접근 없음)
+ * - 등록 시 pub/sub 으로 모든 노드에 전파
+ * - 시작 시 + 주기적으로 ZSet 전체를 다시 읽어 놓친 메시지 보정
+ * - 첫 동기화가 성공하기 전에는 로컬 Map 이 비어 있으므로 Redis 를 직접 조회하고, Redis 오류면 차단 (fail closed)
+ *
+ * 이전 구조(token:blacklist:{토큰 원문}, TTL = 토큰 남은 시간) 키는 동기화 시 ZSet 으로 옮기고 삭제
+ */
+@Slf4j
 @Service
 @RequiredArgsConstructor
 public class TokenRedisService {
 
     private final RedisTemplate<String, Object> redisTemplate;
+    private final RedisMessageListenerContainer listenerContainer;
 
     private static final String REFRESH_TOKEN_PREFIX = "token:refresh:";
-    private static final String BLACKLIST_PREFIX = "token:blacklist:";
+    private static final String BLACKLIST_KEY = "token:blacklist";
+    private static final String LEGACY_BLACKLIST_PREFIX = "token:blacklist:";
+    private static final int LEGACY_SCAN_COUNT = 500;
+    private static final ChannelTopic BLACKLIST_TOPIC = new ChannelTopic("token:blacklist:added");
     private static final long REFRESH_TOKEN_TTL_DAYS = 7;
 
+    @Value("${token.blacklist.resync-seconds:60}")
+    private long resyncSeconds;
+
+    /** 토큰 해시 → 만료 시각(ms) */
+    private final Map<String, Long> blacklist = new ConcurrentHashMap<>();
+    /** 첫 동기화 성공 여부 - 그 전에는 로컬 Map 을 믿을 수 없음 */
+    private final AtomicBoolean synced = new AtomicBoolean();
+    private ScheduledExecutorService scheduler;
+
+    @PostConstruct
+    public void init() {
+        listenerContainer.addMessageListener(this::onBlacklisted, BLACKLIST_TOPIC);
+
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "token-blacklist-sync");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleWithFixedDelay(this::resyncSafely, 0, resyncSeconds, TimeUnit.SECONDS);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+        }
+    }
+
     /**
      * Refresh Token 저장
      */
@@ -47,15 +113,125 @@ public class TokenRedisService {
      * @param remainingMillis 토큰 남은 만료 시간 (밀리초)
      */
     public void addToBlacklist(String accessToken, long remainingMillis) {
-        String key = BLACKLIST_PREFIX + accessToken;
-        redisTemplate.opsForValue().set(key, "true", remainingMillis, TimeUnit.MILLISECONDS);
+        String hash = TokenHashUtil.sha256(accessToken);
+        long now = System.currentTimeMillis();
+        long expiresAt = now + remainingMillis;
+
+        redisTemplate.opsForZSet().add(BLACKLIST_KEY, hash, expiresAt);
+        redisTemplate.opsForZSet().removeRangeByScore(BLACKLIST_KEY, Double.NEGATIVE_INFINITY, now);
+        blacklist.put(hash, expiresAt);
+
+        // 다른 노드에 전파 (member 만 보내고 만료 시각은 ZSet 에서 읽음)
+        redisTemplate.convertAndSend(BLACKLIST_TOPIC.getTopic(), hash);
     }
 
     /**
-     * Access Token 블랙리스트 여부 확인
+     * Access Token 블랙리스트 여부 확인 (로컬 조회)
+     * - 첫 동기화 전 로컬 미스는 Redis 로 확인
      */
     public boolean isBlacklisted(String accessToken) {
-        String key = BLACKLIST_PREFIX + accessToken;
-        return Boolean.TRUE.equals(redisTemplate.hasKey(key));
+        String hash = TokenHashUtil.sha256(accessToken);
+        long now = System.currentTimeMillis();
+        Long expiresAt = blacklist.get(hash);
+        if (expiresAt != null) {
+            return expiresAt > now;
+        }
+        return !synced.get() && isBlacklistedInRedis(accessToken, hash, now);
+    }
+
+    /**
+     * Redis 직접 조회 (ZSet + 이전 구조 키)
+     * - Redis 오류면 블랙리스트로 간주 (동기화 전에는 로그아웃한 토큰을 가려낼 방법이 없음)
+     */
+    private boolean isBlacklistedInRedis(String accessToken, String hash, long now) {
+        try {
+            Double score = redisTemplate.opsForZSet().score(BLACKLIST_KEY, hash);
+            if (score != null) {
+                blacklist.put(hash, score.longValue());
+                return score.longValue() > now;
+            }
+            return Boolean.TRUE.equals(redisTemplate.hasKey(LEGACY_BLACKLIST_PREFIX + accessToken));
+        } catch (Exception e) {
+            log.warn("토큰 블랙리스트 조회 실패 (동기화 전, 차단): {}", e.getMessage());
+            return true;
+        }
+    }
+
+    // ==================== 노드 동기화 ====================
+
+    private void onBlacklisted(Message message, byte[] pattern) {
+        Object hash = redisTemplate.getValueSerializer().deserialize(message.getBody());
+        if (hash == null) {
+            return;
+        }
+        Double expiresAt = redisTemplate.opsForZSet().score(BLACKLIST_KEY, hash);
+        if (expiresAt != null) {
+            blacklist.put(hash.toString(), expiresAt.longValue());
+        }
+    }
+
+    /**
+     * ZSet 의 유효한 항목으로 로컬 블랙리스트 갱신 + 만료 항목 정리
+     */
+    private void resync() {
+        if (!synced.get()) {
+            migrateLegacyKeys();
+        }
+
+        long now = System.currentTimeMillis();
+        Set<ZSetOperations.TypedTuple<Object>> entries =
+                redisTemplate.opsForZSet().rangeByScoreWithScores(BLACKLIST_KEY, now, Double.POSITIVE_INFINITY);
+
+        if (entries != null) {
+            for (ZSetOperations.TypedTuple<Object> entry : entries) {
+                if (entry.getValue() != null && entry.getScore() != null) {
+                    blacklist.put(entry.getValue().toString(), entry.getScore().longValue());
+                }
+            }
+        }
+        blacklist.values().removeIf(expiresAt -> expiresAt <= now);
+
+        if (synced.compareAndSet(false, true)) {
+            log.info("토큰 블랙리스트 동기화 완료: size={}", blacklist.size());
+        }
+    }
+
+    /**
+     * 이전 구조 블랙리스트 키(token:blacklist:{토큰 원문})를 ZSet 으로 이전
+     * - 남은 TTL 을 만료 시각으로 사용, 이전 후 키 삭제
+     * - 여러 노드가 동시에 실행해도 ZADD/DEL 이 멱등이라 안전
+     */
+    private void migrateLegacyKeys() {
+        ScanOptions options = ScanOptions.scanOptions()
+                .match(LEGACY_BLACKLIST_PREFIX + "*")
+                .count(LEGACY_SCAN_COUNT)
+                .build();
+
+        int migrated = 0;
+        try (Cursor<String> cursor = redisTemplate.scan(options)) {
+            while (cursor.hasNext()) {
+                String key = cursor.next();
+                Long ttlMillis = redisTemplate.getExpire(key, TimeUnit.MILLISECONDS);
+                if (ttlMillis != null && ttlMillis > 0) {
+                    String accessToken = key.substring(LEGACY_BLACKLIST_PREFIX.length());
+                    redisTemplate.opsForZSet().add(BLACKLIST_KEY, TokenHashUtil.sha256(accessToken),
+                            System.currentTimeMillis() + ttlMillis);
+                    migrated++;
+                }
+                redisTemplate.unlink(key);
+            }
+        }
+
+        if (migrated > 0) {
+            log.info("이전 구조 토큰 블랙리스트 이전: count={}", migrated);
+        }
+    }
+
+    private void resyncSafely() {
+        try {
+            resync();
+        } catch (Exception e) {
+            log.warn("토큰 블랙리스트 동기화 실패: {}", e.getMessage());
+        }
     }
 }
\ No newline at end of file
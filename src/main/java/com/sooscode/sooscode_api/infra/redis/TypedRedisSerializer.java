@@ -0,0 +1,81 @@
+package com.sooscode.sooscode_api.infra.redis;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.data.redis.serializer.SerializationException;
+
+/**
+ * 타입 지정 Redis 값 직렬화기
+ * - 타입 메타데이터(@class) 없이 대상 타입 하나만 직렬화
+ * - JSON 은 한 번만 인코딩 (기존: JSON 문자열을 다시 JSON 문자열로 감싸 저장)
+ * - SMILE 은 Jackson 바이너리 JSON (필드명 공유 참조로 JSON 보다 작고 파싱이 빠름)
+ *
+ * 읽기는 저장 형식을 바이트로 판별하므로 설정과 무관하게 모두 읽음 (기존 키 마이그레이션)
+ * - 0x3A 0x29 0x0A(":)\n") 로 시작 → SMILE
+ * - '"' 로 시작 → 이전 형식 (이중 인코딩 JSON 문자열)
+ * - 그 외 → JSON
+ */
+public class TypedRedisSerializer<T> implements RedisSerializer<T> {
+
+    public enum Format { JSON, SMILE }
+
+    private static final byte[] SMILE_HEADER = {0x3A, 0x29, 0x0A};
+
+    private final ObjectMapper jsonMapper;
+    private final ObjectMapper smileMapper;
+    private final Class<T> type;
+    private final Format format;
+
+    public TypedRedisSerializer(ObjectMapper objectMapper, Class<T> type, Format format) {
+        this.jsonMapper = objectMapper;
+        this.smileMapper = objectMapper.copyWith(new SmileFactory());
+        this.type = type;
+        this.format = format;
+    }
+
+    @Override
+    public byte[] serialize(T value) throws SerializationException {
+        if (value == null) {
+            return null;
+        }
+        try {
+            return format == Format.SMILE
+                    ? smileMapper.writeValueAsBytes(value)
+                    : jsonMapper.writeValueAsBytes(value);
+        } catch (Exception e) {
+            throw new SerializationException("Redis 값 직렬화 실패: " + type.getSimpleName(), e);
+        }
+    }
+
+    @Override
+    public T deserialize(byte[] bytes) throws SerializationException {
+        if (bytes == null || bytes.length == 0) {
+            return null;
+        }
+        try {
+            if (isSmile(bytes)) {
+                return smileMapper.readValue(bytes, type);
+            }
+            if (bytes[0] == '"') {
+                String legacy = jsonMapper.readValue(bytes, String.class);
+                return jsonMapper.readValue(legacy, type);
+            }
+            return jsonMapper.readValue(bytes, type);
+        } catch (Exception e) {
+            throw new SerializationException("Redis 값 역직렬화 실패: " + type.getSimpleName(), e);
+        }
+    }
+
+    @Override
+    public Class<?> getTargetType() {
+        return type;
+    }
+
+    private boolean isSmile(byte[] bytes) {
+        return bytes.length >= SMILE_HEADER.length
+                && bytes[0] == SMILE_HEADER[0]
+                && bytes[1] == SMILE_HEADER[1]
+                && bytes[2] == SMILE_HEADER[2];
+    }
+}
@@ -1,5 +1,6 @@
 package com.sooscode.sooscode_api.infra.security;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.scheduling.annotation.EnableAsync;
@@ -12,16 +13,22 @@ import java.util.concurrent.Executors;
 @EnableAsync
 public class AsyncSecurityConfig {
 
+    @Value("${spring.threads.virtual.enabled:false}")
+    private boolean virtualThreads;
+
     /**
      *   HTTP 요청 스레드랑 future 스레드가 다른 스레드라서 토큰 인증정보를 가지고가지 못함
      * - Spring Security Context를 비동기 스레드에도 전달하기 위한 전용 Executor.
      * - DelegatingSecurityContextExecutor가 현재 요청의 인증 정보를 복사
      *   비동기 스레드에서 동일하게 사용할 수 있도록 보장
+     * - spring.threads.virtual.enabled=true 면 작업마다 가상 스레드 (고정 10개 풀 대기 없음)
      */
     @Bean
     public Executor securityAsyncExecutor() {
         return new DelegatingSecurityContextExecutor(
-                Executors.newFixedThreadPool(10)
+                virtualThreads
+                        ? Executors.newVirtualThreadPerTaskExecutor()
+                        : Executors.newFixedThreadPool(10)
         );
     }
 }
@@ -0,0 +1,128 @@
+package com.sooscode.sooscode_api.infra.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.sooscode.sooscode_api.domain.user.entity.User;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+
+/**
+ * 인증 사용자(Principal) 로컬 캐시
+ * - JwtAuthenticationFilter 가 요청마다 DB 에서 사용자를 읽지 않도록 userId 기준으로 User 스냅샷 보관
+ * - 요청마다 스냅샷의 복사본으로 CustomUserDetails 를 만들어, 한 요청의 변경이 다른 요청에 보이지 않음
+ *
+ * 사용자 정보(역할/상태/이름/비밀번호 등)를 바꾸는 곳에서 invalidate 호출
+ * - 트랜잭션 안이면 커밋 후 무효화 (커밋 전 값을 다시 캐시하지 않도록)
+ * - Redis pub/sub 으로 다른 노드 캐시도 무효화
+ * - 놓친 무효화는 TTL 로 정리
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class PrincipalCacheService {
+
+    private static final ChannelTopic INVALIDATE_TOPIC = new ChannelTopic("auth:principal:invalidate");
+
+    private final CustomUserDetailsService customUserDetailsService;
+    private final RedisTemplate<String, Object> redisTemplate;
+    private final RedisMessageListenerContainer listenerContainer;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${security.principal-cache.max-size:10000}")
+    private long maxSize;
+
+    @Value("${security.principal-cache.ttl-seconds:300}")
+    private long ttlSeconds;
+
+    private Cache<Long, User> principals;
+
+    @PostConstruct
+    public void init() {
+        this.principals = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .recordStats()
+                .build();
+
+        CaffeineCacheMetrics.monitor(meterRegistry, principals, "auth.principal");
+        listenerContainer.addMessageListener(this::onInvalidate, INVALIDATE_TOPIC);
+    }
+
+    /**
+     * 토큰의 userId/email 로 인증 사용자 조회 (로컬 캐시 → DB)
+     * - 캐시된 이메일이 토큰과 다르면(이메일 변경) DB 에서 다시 조회
+     */
+    public CustomUserDetails load(Long userId, String email) {
+        User cached = principals.getIfPresent(userId);
+        if (cached != null && cached.getEmail().equals(email)) {
+            return new CustomUserDetails(copyOf(cached));
+        }
+
+        CustomUserDetails userDetails = (CustomUserDetails) customUserDetailsService.loadUserByUsername(email);
+        User user = userDetails.getUser();
+        if (user.getUserId().equals(userId)) {
+            principals.put(userId, copyOf(user));
+        }
+        return userDetails;
+    }
+
+    /**
+     * 사용자 캐시 무효화 (모든 노드)
+     */
+    public void invalidate(Long userId) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    publishInvalidate(userId);
+                }
+            });
+            return;
+        }
+        publishInvalidate(userId);
+    }
+
+    private void publishInvalidate(Long userId) {
+        principals.invalidate(userId);
+        try {
+            redisTemplate.convertAndSend(INVALIDATE_TOPIC.getTopic(), userId);
+        } catch (Exception e) {
+            log.warn("Principal 캐시 무효화 전파 실패 (TTL 로 정리됨): userId={}, error={}", userId, e.getMessage());
+        }
+    }
+
+    private void onInvalidate(Message message, byte[] pattern) {
+        Object value = redisTemplate.getValueSerializer().deserialize(message.getBody());
+        if (value instanceof Number userId) {
+            principals.invalidate(userId.longValue());
+        }
+    }
+
+    private User copyOf(User user) {
+        return User.builder()
+                .userId(user.getUserId())
+                .email(user.getEmail())
+                .password(user.getPassword())
+                .name(user.getName())
+                .provider(user.getProvider())
+                .role(user.getRole())
+                .status(user.getStatus())
+                .createdAt(user.getCreatedAt())
+                .updatedAt(user.getUpdatedAt())
+                .file(user.getFile())
+                .build();
+    }
+}
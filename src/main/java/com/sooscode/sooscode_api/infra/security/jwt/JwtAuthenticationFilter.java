@@ -1,8 +1,9 @@
 package com.sooscode.sooscode_api.infra.security.jwt;
 
 import com.sooscode.sooscode_api.infra.security.CustomUserDetails;
-import com.sooscode.sooscode_api.infra.security.CustomUserDetailsService;
+import com.sooscode.sooscode_api.infra.security.PrincipalCacheService;
 import com.sooscode.sooscode_api.infra.redis.TokenRedisService;
+import io.jsonwebtoken.Claims;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.Cookie;
@@ -24,7 +25,7 @@ import java.util.Arrays;
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
     private final JwtUtil jwtUtil;
-    private final CustomUserDetailsService customUserDetailsService;
+    private final PrincipalCacheService principalCacheService;
     private final TokenRedisService tokenRedisService;  // 추가
 
     @Override
@@ -36,15 +37,16 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         // 1) 쿠키에서 accessToken 찾기
         String token = extractAccessToken(request);
 
-        // 2) 토큰 검증(토큰이 null인지? / 토큰이 만료되었는지?)
-        if (token != null && jwtUtil.validateToken(token) && !tokenRedisService.isBlacklisted(token)) {
+        // 2) 토큰 검증(토큰이 null인지? / 토큰이 만료되었는지?) - 검증은 한 번, 이후 Claims 재사용
+        Claims claims = token != null ? jwtUtil.getVerifiedClaims(token) : null;
+        if (claims != null && !tokenRedisService.isBlacklisted(token)) {
 
-            // 3) email 추출
-            String email = jwtUtil.getEmailFromToken(token);
+            // 3) userId, email 추출
+            Long userId = jwtUtil.getUserId(claims);
+            String email = jwtUtil.getEmail(claims);
 
-            // 4) DB 조회 -> CustomUserDetails 만들기
-            CustomUserDetails userDetails =
-                    (CustomUserDetails) customUserDetailsService.loadUserByUsername(email);
+            // 4) 로컬 캐시 조회 (없으면 DB) -> CustomUserDetails 만들기
+            CustomUserDetails userDetails = principalCacheService.load(userId, email);
 
             // 5) 인증 객체 생성 후 시큐리티 컨텍스트에 저장
             UsernamePasswordAuthenticationToken authentication =
@@ -1,8 +1,11 @@
 package com.sooscode.sooscode_api.infra.security.jwt;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
 import com.sooscode.sooscode_api.domain.user.entity.User;
 import com.sooscode.sooscode_api.global.exception.CustomException;
 import com.sooscode.sooscode_api.global.status.AuthStatus;
+import com.sooscode.sooscode_api.global.utils.TokenHashUtil;
 import io.jsonwebtoken.*;
 import io.jsonwebtoken.security.Keys;
 import jakarta.annotation.PostConstruct;
@@ -12,10 +15,16 @@ import org.springframework.stereotype.Component;
 
 import java.nio.charset.StandardCharsets;
 import java.security.Key;
+import java.time.Duration;
 import java.util.Date;
 
 /**
  * JWT 생성 · 파싱 · 검증을 담당하는 유틸 클래스
+ *
+ * 파서는 초기화 시 한 번 만들어 재사용 (JwtParser 는 불변, thread-safe)
+ * 검증된 Claims 는 토큰 해시 기준으로 짧게 캐시 → 같은 토큰의 서명 검증/JSON 디코딩은 한 번만 수행
+ * - 캐시 키는 토큰 원문이 아닌 SHA-256 해시
+ * - 캐시에서 꺼낸 Claims 도 만료 시각을 다시 확인
  */
 @Slf4j
 @Component
@@ -30,7 +39,15 @@ public class JwtUtil {
     @Value("${jwt.refresh-token-expire}")
     private long refreshTokenExpire;
 
+    @Value("${jwt.claims-cache.max-size:10000}")
+    private long claimsCacheMaxSize;
+
+    @Value("${jwt.claims-cache.ttl-seconds:60}")
+    private long claimsCacheTtlSeconds;
+
     private Key secretKey;
+    private JwtParser parser;
+    private Cache<String, Claims> verifiedClaims;
 
     /**
      * 의존성 주입 완료 후 secretKey 초기화
@@ -39,6 +56,13 @@ public class JwtUtil {
     @PostConstruct
     private void init() {
         this.secretKey = Keys.hmacShaKeyFor(jwtSecret.getBytes(StandardCharsets.UTF_8));
+        this.parser = Jwts.parserBuilder()
+                .setSigningKey(secretKey)
+                .build();
+        this.verifiedClaims = Caffeine.newBuilder()
+                .maximumSize(claimsCacheMaxSize)
+                .expireAfterWrite(Duration.ofSeconds(claimsCacheTtlSeconds))
+                .build();
         log.info("JwtUtil 초기화 완료 - Access Token: {}ms, Refresh Token: {}ms",
                 accessTokenExpire, refreshTokenExpire);
     }
@@ -72,13 +96,12 @@ public class JwtUtil {
 
     /** userId 추출 */
     public Long getUserIdFromToken(String token) {
-        String subject = getAllClaims(token).getSubject();
-        return Long.valueOf(subject);
+        return getUserId(getAllClaims(token));
     }
 
     /** email 추출 */
     public String getEmailFromToken(String token) {
-        return getAllClaims(token).get("email", String.class);
+        return getEmail(getAllClaims(token));
     }
 
     /** role 추출 */
@@ -86,13 +109,34 @@ public class JwtUtil {
         return getAllClaims(token).get("role", String.class);
     }
 
-    /** payload(Claims) 가져오기 */
+    /** 검증된 Claims 에서 userId 추출 */
+    public Long getUserId(Claims claims) {
+        return Long.valueOf(claims.getSubject());
+    }
+
+    /** 검증된 Claims 에서 email 추출 */
+    public String getEmail(Claims claims) {
+        return claims.get("email", String.class);
+    }
+
+    /**
+     * payload(Claims) 가져오기
+     * - 캐시에 있으면 서명 검증 생략, 만료됐으면 캐시에서 지우고 다시 파싱 (ExpiredJwtException 발생)
+     */
     private Claims getAllClaims(String token) {
-        return Jwts.parserBuilder()
-                .setSigningKey(secretKey)
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
+        String key = TokenHashUtil.sha256(token);
+        Claims cached = verifiedClaims.getIfPresent(key);
+        if (cached != null) {
+            Date expiration = cached.getExpiration();
+            if (expiration == null || expiration.getTime() > System.currentTimeMillis()) {
+                return cached;
+            }
+            verifiedClaims.invalidate(key);
+        }
+
+        Claims claims = parser.parseClaimsJws(token).getBody();
+        verifiedClaims.put(key, claims);
+        return claims;
     }
 
 
@@ -117,13 +161,18 @@ public class JwtUtil {
      * - 그 외 잘못된 토큰은 false 반환 → 인증 실패 처리
      */
     public boolean validateToken(String token) {
-        try {
-            Jwts.parserBuilder()
-                    .setSigningKey(secretKey)
-                    .build()
-                    .parseClaimsJws(token);
+        return getVerifiedClaims(token) != null;
+    }
 
-            return true;
+    /**
+     * 토큰을 한 번 검증하고 Claims 반환 (이후 값 추출은 Claims 로)
+     * - 유효하면 Claims 반환
+     * - 만료된 토큰은 CustomException 발생 → 프론트에서 재발급 요청
+     * - 그 외 잘못된 토큰은 null 반환 → 인증 실패 처리
+     */
+    public Claims getVerifiedClaims(String token) {
+        try {
+            return getAllClaims(token);
 
         } catch (ExpiredJwtException e) {
             // 만료된 토큰 → 재발급 필요하므로 예외 발생
@@ -131,19 +180,19 @@ public class JwtUtil {
 
         } catch (UnsupportedJwtException e) {
             log.warn("지원되지 않는 JWT: {}", e.getMessage());
-            return false;
+            return null;
 
         } catch (MalformedJwtException e) {
             log.warn("잘못된 JWT 형식: {}", e.getMessage());
-            return false;
+            return null;
 
         } catch (SecurityException e) {
             log.warn("JWT 서명 불일치: {}", e.getMessage());
-            return false;
+            return null;
 
         } catch (IllegalArgumentException e) {
             log.warn("JWT 토큰이 비어있음: {}", e.getMessage());
-            return false;
+            return null;
         }
     }
 
@@ -155,10 +204,7 @@ public class JwtUtil {
      */
     public boolean isTokenExpired(String token) {
         try {
-            Jwts.parserBuilder()
-                    .setSigningKey(secretKey)
-                    .build()
-                    .parseClaimsJws(token);
+            getAllClaims(token);
 
             return false;  // 유효함 = 만료 안 됨
 
@@ -0,0 +1,14 @@
+package com.sooscode.sooscode_api.infra.websocket.dto;
+
+/**
+ * WebSocket 세션 정보 (불변)
+ * - 세션 로컬 캐시 / Redis 세션 Hash 의 값
+ *
+ * @param classId 현재 입장한 클래스 (입장 전이면 null)
+ */
+public record SessionInfo(Long userId, String username, boolean instructor, String classId) {
+
+    public SessionInfo withClassId(String classId) {
+        return new SessionInfo(userId, username, instructor, classId);
+    }
+}
@@ -1,22 +1,26 @@
 package com.sooscode.sooscode_api.infra.websocket.handler;
 
-import com.sooscode.sooscode_api.infra.security.CustomUserDetails;
 import com.sooscode.sooscode_api.application.classroom.service.ParticipantService;
+import com.sooscode.sooscode_api.infra.websocket.dto.SessionInfo;
 import com.sooscode.sooscode_api.infra.websocket.service.SessionService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.context.event.EventListener;
 import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
-import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.stereotype.Component;
 import org.springframework.web.socket.messaging.SessionConnectEvent;
 import org.springframework.web.socket.messaging.SessionDisconnectEvent;
 import org.springframework.web.socket.messaging.SessionSubscribeEvent;
 
+import static com.sooscode.sooscode_api.infra.websocket.interceptor.StompSessionInterceptor.CHAT_TOPIC_NAME;
+import static com.sooscode.sooscode_api.infra.websocket.interceptor.StompSessionInterceptor.PARTICIPANTS_TOPIC_NAME;
+import static com.sooscode.sooscode_api.infra.websocket.interceptor.StompSessionInterceptor.classIdOf;
+import static com.sooscode.sooscode_api.infra.websocket.interceptor.StompSessionInterceptor.resolveSessionInfo;
+
 /**
  * WebSocket 이벤트 리스너
  * - SessionConnectEvent: 연결 시 세션 등록
- * - SessionSubscribeEvent: 구독 시 클래스 입장
+ * - SessionSubscribeEvent: 구독 시 클래스 입장, 참여자 채널 구독 시 참여자 목록 스냅샷 전송
  * - SessionDisconnectEvent: 연결 해제 시 정리
  *
  * ChannelInterceptor 대신 EventListener 사용으로 순환 의존성 해결
@@ -36,17 +40,15 @@ public class StompEventHandler {
     public void handleConnect(SessionConnectEvent event) {
         StompHeaderAccessor accessor = StompHeaderAccessor.wrap(event.getMessage());
 
-        if (!(accessor.getUser() instanceof UsernamePasswordAuthenticationToken auth)) {
-            return;
-        }
-        if (!(auth.getPrincipal() instanceof CustomUserDetails userDetails)) {
+        SessionInfo info = resolveSessionInfo(accessor);
+        if (info == null) {
             return;
         }
 
         String sessionId = accessor.getSessionId();
-        Long userId = userDetails.getUser().getUserId();
-        String username = userDetails.getUser().getName();
-        boolean isInstructor = extractIsInstructor(accessor);
+        Long userId = info.userId();
+        String username = info.username();
+        boolean isInstructor = info.instructor();
 
         // 중복 접속 처리
         String oldSessionId = sessionService.getExistingSessionId(userId);
@@ -71,13 +73,18 @@ public class StompEventHandler {
         String destination = accessor.getDestination();
         String sessionId = accessor.getSessionId();
 
-        // 채팅 채널 구독만 입장으로 처리
-        if (!isChatChannel(destination)) {
+        // 참여자 채널 구독 → 해당 세션에 현재 목록 스냅샷 (이후는 증분 이벤트)
+        String participantsClassId = classIdOf(destination, PARTICIPANTS_TOPIC_NAME);
+        if (participantsClassId != null) {
+            if (accessor.getUser() != null) {
+                participantService.sendSnapshot(participantsClassId, accessor.getUser().getName(), sessionId);
+            }
             return;
         }
 
+        // 채팅 채널 구독만 입장으로 처리
+        String classId = classIdOf(destination, CHAT_TOPIC_NAME);
         Long userId = sessionService.getUserId(sessionId);
-        String classId = extractClassId(destination);
 
         if (userId == null || classId == null) {
             return;
@@ -129,6 +136,7 @@ public class StompEventHandler {
 
     /**
      * 중복 접속 세션 정리
+     * - 이전 세션의 클래스 퇴장 처리 후 세션 등록 해제 + 소켓 종료 (다른 노드의 세션이면 그 노드가 종료)
      */
     private void handleDuplicateSession(String oldSessionId, Long userId) {
         String oldClassId = sessionService.getClassId(oldSessionId);
@@ -139,37 +147,7 @@ public class StompEventHandler {
             log.info("FORCE CLASS LEAVE — classId={}, userId={}", oldClassId, userId);
         }
 
-        sessionService.remove(oldSessionId);
+        sessionService.evict(oldSessionId);
         log.info("FORCE DISCONNECT — oldSessionId={}, userId={}", oldSessionId, userId);
     }
-
-    /**
-     * 헤더에서 강사 여부 추출
-     */
-    private boolean extractIsInstructor(StompHeaderAccessor accessor) {
-        String header = accessor.getFirstNativeHeader("isInstructor");
-        if (header != null) {
-            return Boolean.parseBoolean(header);
-        }
-        log.warn("역할 정보 없음, 기본값(학생) 사용");
-        return false;
-    }
-
-    /**
-     * 채팅 채널 여부 확인
-     */
-    private boolean isChatChannel(String destination) {
-        return destination != null
-                && destination.startsWith("/topic/class/")
-                && destination.endsWith("/chat");
-    }
-
-    /**
-     * destination에서 classId 추출
-     */
-    private String extractClassId(String destination) {
-        // /topic/class/{classId}/chat
-        String[] parts = destination.split("/");
-        return parts.length >= 4 ? parts[3] : null;
-    }
-}
\ No newline at end of file
+}
@@ -0,0 +1,37 @@
+package com.sooscode.sooscode_api.infra.websocket.interceptor;
+
+import com.sooscode.sooscode_api.infra.websocket.service.SlowConsumerPolicy;
+import lombok.RequiredArgsConstructor;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.MessageHeaders;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
+import org.springframework.messaging.support.ChannelInterceptor;
+import org.springframework.stereotype.Component;
+
+/**
+ * 느린 클라이언트 프레임 필터 (clientOutboundChannel)
+ * - 브로커가 세션별 MESSAGE 프레임을 채널에 넣기 전에 SlowConsumerPolicy 로 판단
+ * - 버릴 프레임은 채널 큐에 들어가지 않으므로 outbound 큐 깊이도 늘지 않음
+ */
+@Component
+@RequiredArgsConstructor
+public class SlowConsumerInterceptor implements ChannelInterceptor {
+
+    private final SlowConsumerPolicy slowConsumerPolicy;
+
+    @Override
+    public Message<?> preSend(Message<?> message, MessageChannel channel) {
+        MessageHeaders headers = message.getHeaders();
+        if (SimpMessageHeaderAccessor.getMessageType(headers) != SimpMessageType.MESSAGE) {
+            return message;
+        }
+
+        boolean admitted = slowConsumerPolicy.admit(
+                SimpMessageHeaderAccessor.getSessionId(headers),
+                SimpMessageHeaderAccessor.getDestination(headers)
+        );
+        return admitted ? message : null;
+    }
+}
@@ -0,0 +1,149 @@
+package com.sooscode.sooscode_api.infra.websocket.interceptor;
+
+import com.sooscode.sooscode_api.infra.security.CustomUserDetails;
+import com.sooscode.sooscode_api.infra.websocket.dto.SessionInfo;
+import com.sooscode.sooscode_api.infra.websocket.service.SessionService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.simp.stomp.StompCommand;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.messaging.support.ChannelInterceptor;
+import org.springframework.messaging.support.MessageHeaderAccessor;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+/**
+ * STOMP 세션 정보 인터셉터 (clientInboundChannel)
+ * - CONNECT   : 인증 정보(Principal)로 SessionInfo 를 만들어 세션 속성에 저장
+ * - SUBSCRIBE : 채팅 채널 구독 시 SessionInfo 의 classId 갱신
+ * - SEND/SUBSCRIBE : 중복 접속으로 밀려난(등록 해제된) 세션의 메시지 차단
+ *
+ * 이후 @MessageMapping 핸들러는 SessionInfo 파라미터로 바로 받음 (등록 확인은 세션 로컬 캐시)
+ * SessionInfo 생성과 클래스 채널 해석은 StompEventHandler 와 같은 메서드를 사용
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class StompSessionInterceptor implements ChannelInterceptor {
+
+    public static final String SESSION_INFO_ATTRIBUTE = "sessionInfo";
+    public static final String CHAT_TOPIC_NAME = "chat";
+    public static final String PARTICIPANTS_TOPIC_NAME = "participants";
+
+    private static final String CLASS_TOPIC_PREFIX = "/topic/class";
+    private static final String INSTRUCTOR_HEADER = "isInstructor";
+
+    private final SessionService sessionService;
+
+    @Override
+    public Message<?> preSend(Message<?> message, MessageChannel channel) {
+        StompHeaderAccessor accessor = MessageHeaderAccessor.getAccessor(message, StompHeaderAccessor.class);
+        if (accessor == null || accessor.getCommand() == null) {
+            return message;
+        }
+
+        Map<String, Object> attributes = accessor.getSessionAttributes();
+        if (attributes == null) {
+            return message;
+        }
+
+        StompCommand command = accessor.getCommand();
+        if (command == StompCommand.CONNECT) {
+            SessionInfo info = resolveSessionInfo(accessor);
+            if (info != null) {
+                attributes.put(SESSION_INFO_ATTRIBUTE, info);
+            }
+            return message;
+        }
+
+        if (command != StompCommand.SEND && command != StompCommand.SUBSCRIBE) {
+            return message;
+        }
+
+        if (getSessionInfo(attributes) != null && !sessionService.isRegistered(accessor.getSessionId())) {
+            log.warn("등록 해제된 세션 메시지 차단: sessionId={}, command={}", accessor.getSessionId(), command);
+            return null;
+        }
+
+        if (command == StompCommand.SUBSCRIBE) {
+            updateClassId(accessor.getDestination(), attributes);
+        }
+        return message;
+    }
+
+    /**
+     * 세션 속성에서 SessionInfo 조회
+     */
+    public static SessionInfo getSessionInfo(Map<String, Object> attributes) {
+        if (attributes == null) {
+            return null;
+        }
+        Object value = attributes.get(SESSION_INFO_ATTRIBUTE);
+        return value instanceof SessionInfo info ? info : null;
+    }
+
+    /**
+     * CONNECT 프레임의 인증 정보와 isInstructor 헤더로 SessionInfo 생성 (입장 전이므로 classId 없음)
+     * @return 인증되지 않은 연결이면 null
+     */
+    public static SessionInfo resolveSessionInfo(StompHeaderAccessor accessor) {
+        if (!(accessor.getUser() instanceof UsernamePasswordAuthenticationToken auth)) {
+            return null;
+        }
+        if (!(auth.getPrincipal() instanceof CustomUserDetails userDetails)) {
+            return null;
+        }
+
+        Long userId = userDetails.getUser().getUserId();
+        String username = userDetails.getUser().getName();
+
+        String header = accessor.getFirstNativeHeader(INSTRUCTOR_HEADER);
+        if (header == null) {
+            log.warn("역할 정보 없음, 기본값(학생) 사용: userId={}", userId);
+        }
+
+        return new SessionInfo(
+                userId,
+                username != null ? username : "User#" + userId,
+                Boolean.parseBoolean(header),
+                null
+        );
+    }
+
+    /**
+     * /topic/class/{classId}/{name} 또는 /topic/class.{classId}.{name} 형태의 destination 에서 classId 추출
+     * - 구분자는 브로커 모드와 관계없이 둘 다 허용 (StompDestinations 참고), 한 destination 안에서는 같아야 함
+     * @return 형태가 다르면 null
+     */
+    public static String classIdOf(String destination, String name) {
+        if (destination == null || destination.length() <= CLASS_TOPIC_PREFIX.length()) {
+            return null;
+        }
+        char separator = destination.charAt(CLASS_TOPIC_PREFIX.length());
+        if (!destination.startsWith(CLASS_TOPIC_PREFIX) || (separator != '/' && separator != '.')) {
+            return null;
+        }
+
+        String suffix = separator + name;
+        int start = CLASS_TOPIC_PREFIX.length() + 1;
+        if (!destination.endsWith(suffix) || destination.length() <= start + suffix.length()) {
+            return null;
+        }
+
+        String classId = destination.substring(start, destination.length() - suffix.length());
+        return classId.contains(".") || classId.contains("/") ? null : classId;
+    }
+
+    private void updateClassId(String destination, Map<String, Object> attributes) {
+        // /topic/class/{classId}/chat (또는 /topic/class.{classId}.chat) 구독 = 클래스 입장
+        String classId = classIdOf(destination, CHAT_TOPIC_NAME);
+        SessionInfo info = getSessionInfo(attributes);
+        if (classId != null && info != null) {
+            attributes.put(SESSION_INFO_ATTRIBUTE, info.withClassId(classId));
+        }
+    }
+}
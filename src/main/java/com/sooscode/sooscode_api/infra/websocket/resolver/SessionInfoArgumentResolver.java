@@ -0,0 +1,28 @@
+package com.sooscode.sooscode_api.infra.websocket.resolver;
+
+import com.sooscode.sooscode_api.infra.websocket.dto.SessionInfo;
+import com.sooscode.sooscode_api.infra.websocket.interceptor.StompSessionInterceptor;
+import org.springframework.core.MethodParameter;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.handler.invocation.HandlerMethodArgumentResolver;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+
+/**
+ * @MessageMapping 핸들러의 SessionInfo 파라미터 해석
+ * - StompSessionInterceptor 가 세션 속성에 저장해 둔 값을 그대로 전달
+ * - 세션 정보가 없으면(미인증) null
+ */
+public class SessionInfoArgumentResolver implements HandlerMethodArgumentResolver {
+
+    @Override
+    public boolean supportsParameter(MethodParameter parameter) {
+        return SessionInfo.class.equals(parameter.getParameterType());
+    }
+
+    @Override
+    public Object resolveArgument(MethodParameter parameter, Message<?> message) {
+        return StompSessionInterceptor.getSessionInfo(
+                SimpMessageHeaderAccessor.getSessionAttributes(message.getHeaders())
+        );
+    }
+}
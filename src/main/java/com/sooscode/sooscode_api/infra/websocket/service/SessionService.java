@@ -1,10 +1,23 @@
 package com.sooscode.sooscode_api.infra.websocket.service;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.sooscode.sooscode_api.infra.websocket.dto.SessionInfo;
 import com.sooscode.sooscode_api.infra.websocket.store.SessionRedisStore;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
 import org.springframework.stereotype.Service;
+import org.springframework.web.socket.CloseStatus;
 
+import java.time.Duration;
 import java.util.Set;
 
 /**
@@ -12,19 +25,55 @@ import java.util.Set;
  * - 세션 등록/삭제
  * - 클래스 입장/퇴장 (세션 레벨)
  * - 중복 접속 관리
+ *
+ * 세션 조회는 노드 로컬 캐시를 먼저 확인하고, 없을 때만 Redis 에서 읽어 캐시에 채움
+ * - 연결(CONNECT) 시 등록, 연결 해제/중복 접속 정리 시 무효화
+ * - 다른 노드에서 정리된 세션도 TTL 이 지나면 Redis 기준으로 다시 맞춰짐
+ *
+ * 중복 접속으로 밀려난 세션은 evict 로 정리
+ * - Redis pub/sub 으로 모든 노드에 알려 캐시를 비우고, 세션이 연결된 노드에서 소켓을 닫음
  */
 @Service
 @Slf4j
 @RequiredArgsConstructor
 public class SessionService {
 
+    private static final ChannelTopic EVICT_TOPIC = new ChannelTopic("ws:session:evict");
+
     private final SessionRedisStore sessionRepository;
+    private final WebSocketSessionRegistry webSocketSessionRegistry;
+    private final RedisTemplate<String, Object> redisTemplate;
+    private final RedisMessageListenerContainer listenerContainer;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${websocket.session-cache.max-size:10000}")
+    private long cacheMaxSize;
+
+    @Value("${websocket.session-cache.ttl-seconds:60}")
+    private long cacheTtlSeconds;
+
+    private Cache<String, SessionInfo> sessionCache;
+
+    @PostConstruct
+    public void init() {
+        this.sessionCache = Caffeine.newBuilder()
+                .maximumSize(cacheMaxSize)
+                .expireAfterWrite(Duration.ofSeconds(cacheTtlSeconds))
+                .recordStats()
+                .build();
+
+        // cache.gets{result=hit|miss} 등 히트/미스 메트릭
+        CaffeineCacheMetrics.monitor(meterRegistry, sessionCache, "ws.session");
+        listenerContainer.addMessageListener(this::onEvict, EVICT_TOPIC);
+    }
 
     /**
      * 세션 등록
      */
     public void register(String sessionId, Long userId, String username, boolean isInstructor) {
         sessionRepository.saveSession(sessionId, userId, username, isInstructor);
+        String storedName = username != null ? username : "User#" + userId;
+        sessionCache.put(sessionId, new SessionInfo(userId, storedName, isInstructor, null));
         log.info("세션 등록: sessionId={}, userId={}, username={}, isInstructor={}",
                 sessionId, userId, username, isInstructor);
     }
@@ -33,16 +82,49 @@ public class SessionService {
      * 세션 삭제
      */
     public void remove(String sessionId) {
+        sessionCache.invalidate(sessionId);
         sessionRepository.deleteSession(sessionId);
         log.info("세션 삭제: sessionId={}", sessionId);
     }
 
+    /**
+     * 중복 접속으로 밀려난 세션 정리
+     * - 세션 삭제 후 모든 노드에 알려 캐시를 비우고 소켓을 닫음 (이후 메시지는 StompSessionInterceptor 가 차단)
+     */
+    public void evict(String sessionId) {
+        remove(sessionId);
+        webSocketSessionRegistry.close(sessionId, CloseStatus.POLICY_VIOLATION);
+        try {
+            redisTemplate.convertAndSend(EVICT_TOPIC.getTopic(), sessionId);
+        } catch (Exception e) {
+            log.warn("세션 종료 전파 실패 (캐시 TTL 뒤 차단됨): sessionId={}, error={}", sessionId, e.getMessage());
+        }
+    }
+
+    private void onEvict(Message message, byte[] pattern) {
+        Object value = redisTemplate.getValueSerializer().deserialize(message.getBody());
+        if (value instanceof String sessionId) {
+            sessionCache.invalidate(sessionId);
+            if (webSocketSessionRegistry.close(sessionId, CloseStatus.POLICY_VIOLATION)) {
+                log.info("중복 접속 세션 종료: sessionId={}", sessionId);
+            }
+        }
+    }
+
+    /**
+     * 등록된(밀려나지 않은) 세션인지 확인 (로컬 캐시 → Redis)
+     */
+    public boolean isRegistered(String sessionId) {
+        return getSession(sessionId) != null;
+    }
+
     /**
      * 클래스 입장 (세션에 classId 기록)
      */
     public void joinClass(String sessionId, String classId, Long userId) {
         sessionRepository.setClassId(sessionId, classId);
         sessionRepository.addClassMember(classId, userId);
+        sessionCache.asMap().computeIfPresent(sessionId, (id, info) -> info.withClassId(classId));
         log.debug("클래스 입장 (세션): sessionId={}, classId={}, userId={}", sessionId, classId, userId);
     }
 
@@ -52,6 +134,7 @@ public class SessionService {
     public void leaveClass(String sessionId, String classId, Long userId) {
         sessionRepository.clearClassId(sessionId);
         sessionRepository.removeClassMember(classId, userId);
+        sessionCache.asMap().computeIfPresent(sessionId, (id, info) -> info.withClassId(null));
         log.debug("클래스 퇴장 (세션): sessionId={}, classId={}, userId={}", sessionId, classId, userId);
     }
 
@@ -63,22 +146,34 @@ public class SessionService {
     }
 
     /**
-     * 세션 정보 조회
+     * 세션 정보 조회 (로컬 캐시 → Redis)
+     * @return 세션이 없으면 null
      */
+    public SessionInfo getSession(String sessionId) {
+        if (sessionId == null) {
+            return null;
+        }
+        return sessionCache.get(sessionId, sessionRepository::findSession);
+    }
+
     public Long getUserId(String sessionId) {
-        return sessionRepository.getUserId(sessionId);
+        SessionInfo session = getSession(sessionId);
+        return session != null ? session.userId() : null;
     }
 
     public String getUsername(String sessionId) {
-        return sessionRepository.getUsername(sessionId);
+        SessionInfo session = getSession(sessionId);
+        return session != null ? session.username() : null;
     }
 
     public String getClassId(String sessionId) {
-        return sessionRepository.getClassId(sessionId);
+        SessionInfo session = getSession(sessionId);
+        return session != null ? session.classId() : null;
     }
 
     public boolean isInstructor(String sessionId) {
-        return sessionRepository.isInstructor(sessionId);
+        SessionInfo session = getSession(sessionId);
+        return session != null && session.instructor();
     }
 
     /**
@@ -94,4 +189,4 @@ public class SessionService {
     public void clearClassMembers(String classId) {
         sessionRepository.clearClassMembers(classId);
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,198 @@
+package com.sooscode.sooscode_api.infra.websocket.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.WebSocketHandler;
+import org.springframework.web.socket.WebSocketMessage;
+import org.springframework.web.socket.WebSocketSession;
+import org.springframework.web.socket.handler.WebSocketHandlerDecorator;
+import org.springframework.web.socket.handler.WebSocketSessionDecorator;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 느린 클라이언트(slow consumer) 정책
+ * - 세션마다 실제 소켓 전송이 얼마나 오래 막혀 있는지 추적
+ * - drop-after-ms 이상 막힌 세션에는 버려도 되는 프레임(타이핑, 코드)을 보내지 않음
+ *   - 타이핑: 다음 상태가 곧 다시 옴
+ *   - 코드: 다음 PATCH/SNAPSHOT 이 앞선 프레임을 대체 (리비전이 비면 클라이언트가 REST 로 재조회)
+ * - 버린 프레임이 max-dropped 를 넘으면 세션 종료 (SESSION_NOT_RELIABLE)
+ * - 채팅/시스템/참여자/컴파일 프레임은 버리지 않음 → 전송 버퍼/시간 한도(websocket.transport.*)를 넘으면 Spring 이 종료
+ *
+ * 한 학생의 느린 네트워크가 같은 클래스의 다른 세션으로 가는 전송을 지연시키지 않도록 함
+ * SockJS 폴링 전송은 소켓 전송이 막히지 않으므로 대상이 아님 (WebSocket 전송만 해당)
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class SlowConsumerPolicy {
+
+    // "/" 구분(simple)과 "." 구분(relay) destination 모두 해당 (StompDestinations 참고)
+    private static final String CLASS_TOPIC_PREFIX = "/topic/class";
+    private static final String TYPING_TOPIC_NAME = "typing";
+    private static final String CODE_TOPIC_PREFIX = "/topic/code";
+
+    private final MeterRegistry meterRegistry;
+
+    @Value("${websocket.slow-consumer.drop-after-ms:1000}")
+    private long dropAfterMs;
+
+    @Value("${websocket.slow-consumer.max-dropped:100}")
+    private int maxDropped;
+
+    private final Map<String, TrackedSession> sessions = new ConcurrentHashMap<>();
+    private ExecutorService closer;
+
+    private Counter droppedTypingCounter;
+    private Counter droppedCodeCounter;
+    private Counter closedCounter;
+
+    @PostConstruct
+    public void init() {
+        this.droppedTypingCounter = meterRegistry.counter("websocket.slow_consumer.dropped", "frame", "typing");
+        this.droppedCodeCounter = meterRegistry.counter("websocket.slow_consumer.dropped", "frame", "code");
+        this.closedCounter = meterRegistry.counter("websocket.slow_consumer.closed");
+        Gauge.builder("websocket.slow_consumer.sessions", this, SlowConsumerPolicy::countSlowSessions)
+                .description("전송이 drop-after-ms 이상 막혀 있는 세션 수")
+                .register(meterRegistry);
+
+        // 막힌 소켓 close 가 브로커/채널 스레드를 붙잡지 않도록 별도 스레드에서 종료
+        this.closer = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "ws-slow-consumer-close");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        closer.shutdownNow();
+    }
+
+    /**
+     * WebSocket 핸들러 장식 (WebSocketTransportRegistration.addDecoratorFactory)
+     * - 연결 시 세션을 TrackedSession 으로 감싸 하위 핸들러(SubProtocolWebSocketHandler)에 전달
+     */
+    public WebSocketHandler decorate(WebSocketHandler handler) {
+        return new WebSocketHandlerDecorator(handler) {
+            @Override
+            public void afterConnectionEstablished(WebSocketSession session) throws Exception {
+                TrackedSession tracked = new TrackedSession(session);
+                sessions.put(session.getId(), tracked);
+                super.afterConnectionEstablished(tracked);
+            }
+
+            @Override
+            public void afterConnectionClosed(WebSocketSession session, CloseStatus closeStatus) throws Exception {
+                sessions.remove(session.getId());
+                super.afterConnectionClosed(session, closeStatus);
+            }
+        };
+    }
+
+    /**
+     * 세션으로 나갈 프레임을 보낼지 결정
+     * @return false 면 프레임을 버림
+     */
+    public boolean admit(String sessionId, String destination) {
+        if (sessionId == null || destination == null) {
+            return true;
+        }
+        TrackedSession session = sessions.get(sessionId);
+        if (session == null || !session.isSlow(System.nanoTime())) {
+            return true;
+        }
+
+        if (isTyping(destination)) {
+            droppedTypingCounter.increment();
+        } else if (isCode(destination)) {
+            droppedCodeCounter.increment();
+        } else {
+            return true;
+        }
+
+        if (session.dropped.incrementAndGet() >= maxDropped) {
+            close(session);
+        }
+        return false;
+    }
+
+    private boolean isTyping(String destination) {
+        return destination.startsWith(CLASS_TOPIC_PREFIX)
+                && (destination.endsWith("/" + TYPING_TOPIC_NAME) || destination.endsWith("." + TYPING_TOPIC_NAME));
+    }
+
+    private boolean isCode(String destination) {
+        return destination.startsWith(CODE_TOPIC_PREFIX + "/") || destination.startsWith(CODE_TOPIC_PREFIX + ".");
+    }
+
+    private void close(TrackedSession session) {
+        if (!session.closing.compareAndSet(false, true)) {
+            return;
+        }
+        closedCounter.increment();
+        log.warn("느린 클라이언트 세션 종료: sessionId={}, dropped={}", session.getId(), session.dropped.get());
+        closer.execute(() -> {
+            try {
+                session.close(CloseStatus.SESSION_NOT_RELIABLE);
+            } catch (IOException e) {
+                log.debug("느린 클라이언트 세션 종료 실패: sessionId={}, error={}", session.getId(), e.getMessage());
+            }
+        });
+    }
+
+    private double countSlowSessions() {
+        long now = System.nanoTime();
+        return sessions.values().stream().filter(session -> session.isSlow(now)).count();
+    }
+
+    /**
+     * 소켓 전송 시작 시각을 기록하는 세션
+     * - Spring 의 ConcurrentWebSocketSessionDecorator 안쪽에 위치하므로 전송은 한 번에 하나
+     */
+    private final class TrackedSession extends WebSocketSessionDecorator {
+
+        private volatile long sendStartedAt;
+        private final AtomicInteger dropped = new AtomicInteger();
+        private final AtomicBoolean closing = new AtomicBoolean();
+
+        private TrackedSession(WebSocketSession delegate) {
+            super(delegate);
+        }
+
+        @Override
+        public void sendMessage(WebSocketMessage<?> message) throws IOException {
+            long startedAt = System.nanoTime();
+            sendStartedAt = startedAt;
+            try {
+                super.sendMessage(message);
+            } finally {
+                sendStartedAt = 0;
+                // 제때 끝난 전송이면 회복한 것으로 보고 버린 수 초기화
+                if (System.nanoTime() - startedAt < TimeUnit.MILLISECONDS.toNanos(dropAfterMs)) {
+                    dropped.set(0);
+                }
+            }
+        }
+
+        private boolean isSlow(long now) {
+            long startedAt = sendStartedAt;
+            return startedAt != 0 && now - startedAt >= TimeUnit.MILLISECONDS.toNanos(dropAfterMs);
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package com.sooscode.sooscode_api.infra.websocket.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * 서버가 발행하는 /topic destination 생성
+ * - simple 브로커: "/" 구분 (/topic/class/{classId}/chat) - 배포된 프론트엔드가 구독하는 형식 그대로
+ * - relay 브로커 : "." 구분 (/topic/class.{classId}.chat)
+ *   RabbitMQ STOMP 플러그인은 /topic/ 뒤를 routing key 로 쓰므로 "/" 로 나뉜 여러 단계 destination 을 거부함
+ *
+ * 구독/전송 destination 해석(StompSessionInterceptor.classIdOf, SlowConsumerPolicy, @MessageMapping)은
+ * 모드와 관계없이 두 형식을 모두 받음 → 프론트엔드는 relay 전환 전까지 어느 형식으로든 옮겨갈 수 있음
+ */
+@Component
+public class StompDestinations {
+
+    private static final String TOPIC_PREFIX = "/topic/";
+
+    private final String separator;
+
+    public StompDestinations(@Value("${websocket.broker.mode:simple}") String brokerMode) {
+        this.separator = "relay".equalsIgnoreCase(brokerMode) ? "." : "/";
+    }
+
+    /**
+     * /topic/class{sep}{classId}{sep}{name} (chat, typing, participants, system, mode)
+     */
+    public String classTopic(Object classId, String name) {
+        return topic("class", classId, name);
+    }
+
+    /**
+     * /topic/code{sep}instructor{sep}{classId}
+     */
+    public String instructorCodeTopic(Long classId) {
+        return topic("code", "instructor", classId);
+    }
+
+    /**
+     * /topic/code{sep}student{sep}{classId}{sep}{studentId}
+     */
+    public String studentCodeTopic(Long classId, Long studentId) {
+        return topic("code", "student", classId, studentId);
+    }
+
+    private String topic(Object... segments) {
+        StringBuilder destination = new StringBuilder(TOPIC_PREFIX);
+        for (int i = 0; i < segments.length; i++) {
+            if (i > 0) {
+                destination.append(separator);
+            }
+            destination.append(segments[i]);
+        }
+        return destination.toString();
+    }
+}
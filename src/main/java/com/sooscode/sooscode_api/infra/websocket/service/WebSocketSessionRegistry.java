@@ -0,0 +1,57 @@
+package com.sooscode.sooscode_api.infra.websocket.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.WebSocketHandler;
+import org.springframework.web.socket.WebSocketSession;
+import org.springframework.web.socket.handler.WebSocketHandlerDecorator;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 이 노드에 연결된 WebSocket 세션 목록
+ * - STOMP 세션 ID 로 실제 소켓을 찾아 서버에서 종료할 때 사용 (중복 접속 정리 등)
+ * - WebSocketTransportRegistration.addDecoratorFactory 로 연결/해제 시 등록/삭제
+ */
+@Slf4j
+@Component
+public class WebSocketSessionRegistry {
+
+    private final Map<String, WebSocketSession> sessions = new ConcurrentHashMap<>();
+
+    public WebSocketHandler decorate(WebSocketHandler handler) {
+        return new WebSocketHandlerDecorator(handler) {
+            @Override
+            public void afterConnectionEstablished(WebSocketSession session) throws Exception {
+                sessions.put(session.getId(), session);
+                super.afterConnectionEstablished(session);
+            }
+
+            @Override
+            public void afterConnectionClosed(WebSocketSession session, CloseStatus closeStatus) throws Exception {
+                sessions.remove(session.getId());
+                super.afterConnectionClosed(session, closeStatus);
+            }
+        };
+    }
+
+    /**
+     * 이 노드에 연결된 세션이면 종료
+     * @return 이 노드의 세션이었으면 true
+     */
+    public boolean close(String sessionId, CloseStatus status) {
+        WebSocketSession session = sessions.remove(sessionId);
+        if (session == null) {
+            return false;
+        }
+        try {
+            session.close(status);
+        } catch (IOException e) {
+            log.debug("WebSocket 세션 종료 실패: sessionId={}, error={}", sessionId, e.getMessage());
+        }
+        return true;
+    }
+}
@@ -1,11 +1,13 @@
 package com.sooscode.sooscode_api.infra.websocket.store;
 
+import com.sooscode.sooscode_api.infra.websocket.dto.SessionInfo;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.redis.core.RedisTemplate;
 import org.springframework.stereotype.Repository;
 
 import java.util.Collections;
+import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.TimeUnit;
 
@@ -63,6 +65,27 @@ public class SessionRedisStore {
         log.debug("세션 삭제: sessionId={}", sessionId);
     }
 
+    /**
+     * 세션 정보 전체 조회 (HGETALL 한 번)
+     * @return 세션이 없으면 null
+     */
+    public SessionInfo findSession(String sessionId) {
+        Map<Object, Object> entries = redisTemplate.opsForHash().entries(SESSION_PREFIX + sessionId);
+        Object userId = entries.get("userId");
+        if (userId == null) {
+            return null;
+        }
+
+        Object username = entries.get("username");
+        Object classId = entries.get("classId");
+        return new SessionInfo(
+                ((Number) userId).longValue(),
+                username != null ? username.toString() : null,
+                parseBoolean(entries.get("isInstructor")),
+                classId != null ? classId.toString() : null
+        );
+    }
+
     public Long getUserId(String sessionId) {
         Object value = redisTemplate.opsForHash().get(SESSION_PREFIX + sessionId, "userId");
         return value != null ? ((Number) value).longValue() : null;
@@ -80,9 +103,7 @@ public class SessionRedisStore {
 
     public boolean isInstructor(String sessionId) {
         Object value = redisTemplate.opsForHash().get(SESSION_PREFIX + sessionId, "isInstructor");
-        if (value == null) return false;
-        if (value instanceof Boolean) return (Boolean) value;
-        return Boolean.parseBoolean(value.toString());
+        return parseBoolean(value);
     }
 
     public String getSessionIdByUserId(Long userId) {
@@ -118,6 +139,14 @@ public class SessionRedisStore {
     }
 
     public void clearClassMembers(String classId) {
-        redisTemplate.delete(CLASS_MEMBERS_PREFIX + classId + CLASS_MEMBERS_SUFFIX);
+        redisTemplate.unlink(CLASS_MEMBERS_PREFIX + classId + CLASS_MEMBERS_SUFFIX);
+    }
+
+    // ==================== 내부 메서드 ====================
+
+    private boolean parseBoolean(Object value) {
+        if (value == null) return false;
+        if (value instanceof Boolean) return (Boolean) value;
+        return Boolean.parseBoolean(value.toString());
     }
 }
\ No newline at end of file
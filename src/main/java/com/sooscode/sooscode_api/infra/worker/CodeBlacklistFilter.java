@@ -1,84 +1,142 @@
 package com.sooscode.sooscode_api.infra.worker;
 
-import com.sooscode.sooscode_api.global.exception.CustomException;
+import com.sooscode.sooscode_api.global.exception.CodeViolationException;
 import com.sooscode.sooscode_api.global.status.CompileStatus;
+import com.sooscode.sooscode_api.global.utils.CodeScanner;
+import com.sooscode.sooscode_api.global.utils.CodeScanner.Rule;
 
 import java.util.List;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
-
+import java.util.Set;
+
+/**
+ * 금지 코드 필터
+ * - 금지 패턴 전체를 CodeScanner 오토마톤 하나로 컴파일해 코드를 한 번만 읽음
+ * - 패턴의 '~' 는 공백 0 개 이상, '_' 는 공백 1 개 이상
+ *
+ * 토큰 인식 스캐너는 주석/문자열 리터럴 안의 단어와 식별자 일부(mySocket 등)는 위반으로 보지 않음
+ * - 단, 금지 패턴을 포함하는 JDK 타입 이름(SSLSocket, ThreadPoolExecutor 등)은 식별자 전체로 비교해 위반
+ * - 멤버 접근/호출 위치의 식별자(getClassLoader(), Executors.newSingleThreadExecutor 등)도 위반
+ *   → JDK 메서드/필드 이름은 목록 없이 막힘, 목록(DENIED_IDENTIFIERS)은 단독으로 쓰이는 타입 이름만
+ * - 일반 스캐너가 막는 JDK API 이름은 토큰 인식 스캐너도 모두 막음 (CodeScannerTest 에서 JDK 공개 API 전체로 확인)
+ * - 유니코드 이스케이프는 javac 가 주석 안에서도 해석하므로 어디서든 위반
+ */
 public class CodeBlacklistFilter {
 
     // 금지 패턴 목록
-    private static final List<Pattern> BLACKLIST_PATTERNS = List.of(
+    private static final List<Rule> BLACKLIST_RULES = List.of(
 
             // ===== 시스템 제어 =====
-            Pattern.compile("System\\s*\\.\\s*exit"),
+            Rule.of("System.exit", "System~.~exit"),
 
             // ===== 외부 프로세스 =====
-            Pattern.compile("Runtime\\s*\\.\\s*getRuntime"),
-            Pattern.compile("ProcessBuilder"),
-            Pattern.compile("exec\\s*\\("),
+            Rule.of("Runtime.getRuntime", "Runtime~.~getRuntime"),
+            Rule.of("ProcessBuilder", "ProcessBuilder"),
+            Rule.of("exec(", "exec~("),
 
             // ===== 파일/디렉토리 IO =====
-            Pattern.compile("java\\s*\\.\\s*io\\s*\\.\\s*File"),
-            Pattern.compile("FileInputStream"),
-            Pattern.compile("FileOutputStream"),
-            Pattern.compile("Files\\s*\\.\\s*read"),
-            Pattern.compile("Files\\s*\\.\\s*write"),
-            Pattern.compile("Paths\\s*\\.\\s*get"),
-            Pattern.compile("Path\\s*\\.\\s*of"),
+            Rule.of("java.io.File", "java~.~io~.~File"),
+            Rule.of("FileInputStream", "FileInputStream"),
+            Rule.of("FileOutputStream", "FileOutputStream"),
+            Rule.of("Files.read", "Files~.~read"),
+            Rule.of("Files.write", "Files~.~write"),
+            Rule.of("Paths.get", "Paths~.~get"),
+            Rule.of("Path.of", "Path~.~of"),
 
             // ===== 네트워크 IO =====
-            Pattern.compile("Socket"),
-            Pattern.compile("ServerSocket"),
-            Pattern.compile("URLConnection"),
-            Pattern.compile("HttpURLConnection"),
-            Pattern.compile("openStream"),
-            Pattern.compile("InetAddress"),
+            Rule.of("Socket", "Socket"),
+            Rule.of("ServerSocket", "ServerSocket"),
+            Rule.of("URLConnection", "URLConnection"),
+            Rule.of("HttpURLConnection", "HttpURLConnection"),
+            Rule.of("openStream", "openStream"),
+            Rule.of("InetAddress", "InetAddress"),
 
             // ===== Reflection / ClassLoader =====
-            Pattern.compile("java\\s*\\.\\s*lang\\s*\\.\\s*reflect"),
-            Pattern.compile("Class\\s*\\.\\s*forName"),
-            Pattern.compile("ClassLoader"),
-            Pattern.compile("getDeclared"),
-            Pattern.compile("invoke"),
-            Pattern.compile("setAccessible"),
+            Rule.of("java.lang.reflect", "java~.~lang~.~reflect"),
+            Rule.of("Class.forName", "Class~.~forName"),
+            Rule.of("ClassLoader", "ClassLoader"),
+            Rule.of("getDeclared", "getDeclared"),
+            Rule.of("invoke", "invoke"),
+            Rule.of("setAccessible", "setAccessible"),
 
             // ===== Thread / Executor =====
-            Pattern.compile("new\\s+Thread"),
-            Pattern.compile("Thread\\s*\\.\\s*sleep"),
-            Pattern.compile("Executor"),
-            Pattern.compile("ForkJoinPool"),
-            Pattern.compile("TimerTask"),
+            Rule.of("new Thread", "new_Thread"),
+            Rule.of("Thread.sleep", "Thread~.~sleep"),
+            Rule.of("Executor", "Executor"),
+            Rule.of("ForkJoinPool", "ForkJoinPool"),
+            Rule.of("TimerTask", "TimerTask"),
 
             // ===== 무한 루프 =====
-            Pattern.compile("while\\s*\\(\\s*true\\s*\\)"),
-            Pattern.compile("for\\s*\\(\\s*;\\s*;\\s*\\)"),
+            Rule.of("while(true)", "while~(~true~)"),
+            Rule.of("for(;;)", "for~(~;~;~)"),
 
 
             // ===== Unsafe / Native =====
-            Pattern.compile("Unsafe"),
-            Pattern.compile("System\\s*\\.\\s*load"),
-            Pattern.compile("sun\\s*\\.\\s*misc"),
+            Rule.of("Unsafe", "Unsafe"),
+            Rule.of("System.load", "System~.~load"),
+            Rule.of("sun.misc", "sun~.~misc")
 
             // ===== 난독화 =====
-            Pattern.compile("\\\\u[0-9a-fA-F]{4}") // Unicode escape
+            // Unicode escape (\\uXXXX) 는 CodeScanner 가 같은 패스에서 검사
+    );
+
+    // 식별자 중간에 금지 패턴이 있는 JDK 타입 (토큰 인식 스캐너에서도 위반)
+    // 메서드/필드 이름은 호출/접근 위치로 막히므로 단독으로 쓰이는 타입 이름만 등록
+    private static final Set<String> DENIED_IDENTIFIERS = Set.of(
+
+            // ===== 네트워크 IO =====
+            "DatagramSocket", "DatagramSocketImpl", "DatagramSocketImplFactory",
+            "MulticastSocket", "InetSocketAddress", "UnixDomainSocketAddress",
+            "StandardSocketOptions", "ExtendedSocketOptions", "SctpSocketOption", "SctpStandardSocketOptions",
+            "SSLSocket", "SSLServerSocket", "SSLSocketFactory", "SSLServerSocketFactory",
+            "AsynchronousSocketChannel", "AsynchronousServerSocketChannel",
+            "HttpsURLConnection", "JarURLConnection",
+            "WebSocket", "WebSocketHandshakeException",
+            "RMISocketFactory", "RMIClientSocketFactory", "RMIServerSocketFactory",
+            "SslRMIClientSocketFactory", "SslRMIServerSocketFactory",
+
+            // ===== ClassLoader =====
+            "URLClassLoader", "SecureClassLoader", "RMIClassLoader", "RMIClassLoaderSpi",
+            "PrivateClassLoader", "RecordedClassLoader",
+
+            // ===== Executor =====
+            "ThreadPoolExecutor", "ScheduledThreadPoolExecutor",
+            "ScheduledExecutorService", "AbstractExecutorService"
     );
 
+    private static final CodeScanner SCANNER = CodeScanner.compile(BLACKLIST_RULES, true);
+    private static final CodeScanner TOKEN_SCANNER =
+            CodeScanner.compile(BLACKLIST_RULES, true, true, DENIED_IDENTIFIERS);
+
     /**
-     * 코드 내부에 금지된 패턴이 포함되어 있으면 예외 발생
+     * 금지 패턴 스캐너 (CodeValidator.validateAll 과 한 번에 검사할 때 사용)
      */
-    public static void validate(String code) {
-        if (code == null || code.isBlank()) return;
+    public static CodeScanner scanner() {
+        return SCANNER;
+    }
+
+    /**
+     * 금지 패턴 스캐너
+     * @param tokenAware true 면 주석/문자열 리터럴을 제외하고 실제 식별자/호출만 검사
+     */
+    public static CodeScanner scanner(boolean tokenAware) {
+        return tokenAware ? TOKEN_SCANNER : SCANNER;
+    }
 
-        String normalized = code;
+    /**
+     * 코드 내 모든 금지 패턴 위치
+     */
+    public static List<CodeScanner.Violation> scan(String code) {
+        if (code == null || code.isBlank()) return List.of();
+        return SCANNER.scan(code).violations();
+    }
 
-        for (Pattern pattern : BLACKLIST_PATTERNS) {
-            Matcher matcher = pattern.matcher(normalized);
-            if (matcher.find()) {
-                throw new CustomException(CompileStatus.FORBIDDEN_SYNTAX);
-            }
+    /**
+     * 코드 내부에 금지된 패턴이 포함되어 있으면 예외 발생
+     */
+    public static void validate(String code) {
+        List<CodeScanner.Violation> violations = scan(code);
+        if (!violations.isEmpty()) {
+            throw new CodeViolationException(CompileStatus.FORBIDDEN_SYNTAX, violations);
         }
     }
 }
@@ -3,69 +3,240 @@ package com.sooscode.sooscode_api.infra.worker;
 import com.sooscode.sooscode_api.application.compile.dto.CompileResultResponse;
 import com.sooscode.sooscode_api.global.exception.CustomException;
 import com.sooscode.sooscode_api.global.status.CompileStatus;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
 import org.springframework.stereotype.Component;
 
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
 import java.util.Map;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.TimeUnit;
 
+/**
+ * 컴파일 결과 대기 Future 저장소
+ *
+ * compile.callback.mode
+ * - local: 콜백을 받은 노드의 Future 만 완료 (단일 노드)
+ * - redis: 콜백을 받은 노드가 결과를 Redis 에 잠시 보관(compile:result:{jobId})하고
+ *          jobId 를 pub/sub 으로 알림 → Future 를 가진 노드가 보관된 결과로 완료
+ *          콜백이 어느 API 노드로 와도 결과가 유실되지 않음
+ *
+ * 결과는 result-ttl-seconds 동안 findResult 로 다시 조회 가능 (늦게 조회하는 클라이언트용, 작업을 요청한 사용자만)
+ * - local: 노드 로컬 캐시에 보관
+ * - redis: compile:result:{jobId} 와 요청 사용자 compile:result:{jobId}:owner (Future 생성 시 기록)
+ * - 값은 compileResultRedisTemplate(타입 지정 직렬화)로 읽고 씀
+ *
+ * Future 자체에는 시간 제한이 없음 - 대기열 대기/실행 시간 제한은 CompileJobQueue 가 단계별로 failAfter 로 건다
+ * 콜백 리스너(onCallback)는 Future 완료 여부와 무관하게 콜백 도착 시 실행 (타임아웃 이후 늦은 콜백 포함, 워커 슬롯 반환용)
+ */
 @Slf4j
 @Component
+@RequiredArgsConstructor
 public class CompileFutureStore {
 
+    private final RedisTemplate<String, CompileResultResponse> compileResultRedisTemplate;
+    private final StringRedisTemplate stringRedisTemplate;
+    private final RedisMessageListenerContainer listenerContainer;
+
     // Job ID와 CompletableFuture<CompileResultResponse>를 스레드 안전하게 저장
     private final Map<String, CompletableFuture<CompileResultResponse>> futureMap = new ConcurrentHashMap<>();
+    // jobId → 콜백 도착 시 한 번 실행할 작업
+    private final Map<String, Runnable> callbackListeners = new ConcurrentHashMap<>();
+    // 완료 전 작업의 요청 사용자 (local 모드 결과 보관용)
+    private final Map<String, Long> owners = new ConcurrentHashMap<>();
+
+    private static final String RESULT_KEY_PREFIX = "compile:result:";
+    private static final String OWNER_KEY_SUFFIX = ":owner";
+    private static final int RECENT_RESULTS_MAX_SIZE = 10_000;
+    private static final ChannelTopic RESULT_TOPIC = new ChannelTopic("compile:result:completed");
+
+    @Value("${compile.callback.mode:local}")
+    private String mode;
+
+    @Value("${compile.callback.result-ttl-seconds:60}")
+    private long resultTtlSeconds;
+
+    /** 요청 사용자 기록 유지 시간 (대기 + 실행 한도보다 길게, 결과 보관 시 result-ttl-seconds 로 다시 설정) */
+    @Value("${compile.callback.owner-ttl-seconds:300}")
+    private long ownerTtlSeconds;
+
+    private boolean distributed;
+    // local 모드 결과 보관
+    private Cache<String, StoredResult> recentResults;
+
+    private record StoredResult(Long userId, CompileResultResponse result) {}
 
-    // 최대 대기 시간 (15초)
-    private static final long TIMEOUT_SECONDS = 15;
+    @PostConstruct
+    public void init() {
+        this.distributed = "redis".equalsIgnoreCase(mode);
+        this.recentResults = Caffeine.newBuilder()
+                .maximumSize(RECENT_RESULTS_MAX_SIZE)
+                .expireAfterWrite(Duration.ofSeconds(resultTtlSeconds))
+                .build();
+        if (distributed) {
+            listenerContainer.addMessageListener(this::onResultPublished, RESULT_TOPIC);
+        }
+        log.info("[FutureStore] callback mode={}", distributed ? "redis" : "local");
+    }
 
     /**
      * 새로운 Job에 대한 비동기 대기 객체를 생성하고 저장합니다.
+     * @param userId 작업을 요청한 사용자 (결과 조회 권한)
      */
-    public CompletableFuture<CompileResultResponse> createFuture(String jobId) {
+    public CompletableFuture<CompileResultResponse> createFuture(String jobId, Long userId) {
 
         // LOG 추가
         log.info("[FutureStore] createFuture() called - jobId={}", jobId);
 
         CompletableFuture<CompileResultResponse> future = new CompletableFuture<>();
         futureMap.put(jobId, future);
+        recordOwner(jobId, userId);
 
         // LOG 추가
         log.info("[FutureStore] keys after create = {}", futureMap.keySet());
 
-        // 타임아웃 처리 로직 추가 (15초 초과 시 TIMEOUT 에러 발생)
-        future.orTimeout(TIMEOUT_SECONDS, TimeUnit.SECONDS)
-                .exceptionally(ex -> {
+        return future;
+    }
+
+    /**
+     * delaySeconds 뒤에도 Future 가 끝나지 않았으면 status 로 실패 처리
+     * - 대기열 대기(QUEUE_TIMEOUT), 워커 실행(WORKER_TIMEOUT) 단계마다 따로 건다
+     */
+    public void failAfter(String jobId, long delaySeconds, CompileStatus status) {
+        CompletableFuture.delayedExecutor(delaySeconds, TimeUnit.SECONDS).execute(() -> {
+            if (futureMap.containsKey(jobId)) {
+                log.warn("[FutureStore] TIMEOUT - jobId={}, status={}", jobId, status);
+                failFuture(jobId, new CustomException(status));
+            }
+        });
+    }
+
+    /**
+     * 콜백 도착 시 한 번 실행할 작업 등록 (Future 가 이미 타임아웃으로 끝났어도 실행)
+     * - redis 모드에서는 다른 노드로 온 콜백도 pub/sub 으로 전달받아 실행
+     */
+    public void onCallback(String jobId, Runnable listener) {
+        callbackListeners.put(jobId, listener);
+    }
+
+    public void removeCallbackListener(String jobId) {
+        callbackListeners.remove(jobId);
+    }
+
+    /**
+     * 워커 서버로부터 콜백을 받았을 때 비동기 대기 객체를 완료합니다.
+     * - redis 모드: 결과를 보관하고, 이 노드에 Future 가 없으면 다른 노드에 알림
+     */
+    public void completeFuture(String jobId, CompileResultResponse result) {
+        boolean listened = notifyCallback(jobId);
+        if (!distributed) {
+            completeLocal(jobId, result);
+            return;
+        }
 
-                    // LOG 추가
-                    log.warn("[FutureStore] TIMEOUT or exception occurred - jobId={}, ex={}", jobId, ex.toString());
+        stashResult(jobId, result);
+        if (!completeLocal(jobId, result) && !listened) {
+            stringRedisTemplate.convertAndSend(RESULT_TOPIC.getTopic(), jobId);
+            log.info("[FutureStore] result published - jobId={}", jobId);
+        }
+    }
 
-                    if (ex.getCause() instanceof java.util.concurrent.TimeoutException) {
-                        futureMap.remove(jobId);
+    /**
+     * 보관된 컴파일 결과 조회 (result-ttl-seconds 이내)
+     * @param userId 조회하는 사용자 - 작업을 요청한 사용자가 아니면 null
+     * @return 없으면 null
+     */
+    public CompileResultResponse findResult(String jobId, Long userId) {
+        if (!distributed) {
+            StoredResult stored = recentResults.getIfPresent(jobId);
+            return stored != null && stored.userId().equals(userId) ? stored.result() : null;
+        }
+        String owner = stringRedisTemplate.opsForValue().get(RESULT_KEY_PREFIX + jobId + OWNER_KEY_SUFFIX);
+        if (owner == null || !owner.equals(String.valueOf(userId))) {
+            return null;
+        }
+        return stashedResult(jobId);
+    }
 
-                        // LOG 추가
-                        log.warn("[FutureStore] Future removed due to TIMEOUT - jobId={}", jobId);
+    private CompileResultResponse stashedResult(String jobId) {
+        return compileResultRedisTemplate.opsForValue().get(RESULT_KEY_PREFIX + jobId);
+    }
 
-                        throw new CustomException(CompileStatus.WORKER_TIMEOUT);
-                    }
+    private void recordOwner(String jobId, Long userId) {
+        if (!distributed) {
+            owners.put(jobId, userId);
+            return;
+        }
+        try {
+            stringRedisTemplate.opsForValue().set(RESULT_KEY_PREFIX + jobId + OWNER_KEY_SUFFIX,
+                    String.valueOf(userId), Duration.ofSeconds(ownerTtlSeconds));
+        } catch (Exception e) {
+            log.warn("[FutureStore] owner record failed - jobId={}, error={}", jobId, e.getMessage());
+        }
+    }
 
-                    futureMap.remove(jobId);
+    private void stashResult(String jobId, CompileResultResponse result) {
+        try {
+            Duration ttl = Duration.ofSeconds(resultTtlSeconds);
+            compileResultRedisTemplate.opsForValue().set(RESULT_KEY_PREFIX + jobId, result, ttl);
+            stringRedisTemplate.expire(RESULT_KEY_PREFIX + jobId + OWNER_KEY_SUFFIX, ttl);
+        } catch (Exception e) {
+            log.warn("[FutureStore] result stash failed - jobId={}, error={}", jobId, e.getMessage());
+        }
+    }
 
-                    // LOG 추가
-                    log.warn("[FutureStore] Future removed due to OTHER EXCEPTION - jobId={}", jobId);
+    /**
+     * 다른 노드가 받은 콜백 알림 - 이 노드가 가진 Future 면 보관된 결과로 완료
+     */
+    private void onResultPublished(Message message, byte[] pattern) {
+        String jobId = new String(message.getBody(), StandardCharsets.UTF_8);
+        notifyCallback(jobId);
+        if (!futureMap.containsKey(jobId)) {
+            return;
+        }
 
-                    throw new CustomException(CompileStatus.WORKER_ERROR);
-                });
+        CompileResultResponse result = stashedResult(jobId);
+        if (result == null) {
+            log.warn("[FutureStore] published result NOT FOUND in stash - jobId={}", jobId);
+            failFuture(jobId, new CustomException(CompileStatus.WORKER_ERROR));
+            return;
+        }
+        completeLocal(jobId, result);
+    }
 
-        return future;
+    /**
+     * 콜백 리스너 실행
+     * @return 이 노드에 리스너가 있었으면 true
+     */
+    private boolean notifyCallback(String jobId) {
+        Runnable listener = callbackListeners.remove(jobId);
+        if (listener == null) {
+            return false;
+        }
+        try {
+            listener.run();
+        } catch (Exception e) {
+            log.warn("[FutureStore] callback listener failed - jobId={}, error={}", jobId, e.getMessage());
+        }
+        return true;
     }
 
     /**
-     * 워커 서버로부터 콜백을 받았을 때 비동기 대기 객체를 완료합니다.
+     * 이 노드의 Future 완료
+     * @return 이 노드에 Future 가 있었으면 true
      */
-    public void completeFuture(String jobId, CompileResultResponse result) {
+    private boolean completeLocal(String jobId, CompileResultResponse result) {
 
         // LOG 추가
         log.info("[FutureStore] completeFuture() called - jobId={}", jobId);
@@ -73,6 +244,10 @@ public class CompileFutureStore {
 
         // 맵에서 퓨처를 꺼내면서 제거 (한 번만 완료되어야 함)
         CompletableFuture<CompileResultResponse> future = futureMap.remove(jobId);
+        Long owner = owners.remove(jobId);
+        if (owner != null) {
+            recentResults.put(jobId, new StoredResult(owner, result));
+        }
 
         if (future != null) {
 
@@ -81,12 +256,16 @@ public class CompileFutureStore {
 
             // Future를 완료시키고, 대기 중이던 API 요청 연결에 결과를 전달합니다.
             future.complete(result);
+            return true;
+        }
 
+        // LOG 추가 (redis 모드에서는 다른 노드의 Future 일 수 있음)
+        if (distributed) {
+            log.info("[FutureStore] future not on this node - jobId={}", jobId);
         } else {
-
-            // LOG 추가
             log.warn("[FutureStore] future NOT FOUND - jobId={} (PENDING 발생 원인)", jobId);
         }
+        return false;
     }
 
     /**
@@ -94,6 +273,7 @@ public class CompileFutureStore {
      * */
     public void failFuture(String jobId, CustomException ex) {
         CompletableFuture<?> future = futureMap.remove(jobId);
+        owners.remove(jobId);
         if (future != null) {
             future.completeExceptionally(ex);
         }
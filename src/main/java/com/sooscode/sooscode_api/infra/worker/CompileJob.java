@@ -0,0 +1,21 @@
+package com.sooscode.sooscode_api.infra.worker;
+
+import com.sooscode.sooscode_api.application.compile.dto.CompileResultResponse;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * 컴파일 작업 (큐에 대기 → 워커로 전달 → 콜백으로 future 완료)
+ * @param userId 요청 사용자 (대기 순번 조회용)
+ * @param enqueuedAt 큐 적재 시각 (ms)
+ * @param onDispatched 워커로 전달된 뒤 호출 (없으면 null)
+ */
+public record CompileJob(
+        String jobId,
+        Long userId,
+        String code,
+        String callbackUrl,
+        CompletableFuture<CompileResultResponse> future,
+        long enqueuedAt,
+        Runnable onDispatched
+) {}
@@ -0,0 +1,328 @@
+package com.sooscode.sooscode_api.infra.worker;
+
+import com.sooscode.sooscode_api.application.compile.dto.CompileRunResponse;
+import com.sooscode.sooscode_api.global.exception.CustomException;
+import com.sooscode.sooscode_api.global.status.CompileStatus;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 컴파일 작업 큐
+ * - HTTP 스레드는 큐에 넣고 바로 future 를 반환 (워커 요청으로 막히지 않음)
+ * - dispatch 스레드가 큐에서 꺼내 CompileWorkerPool 의 여유 워커로 전달
+ * - 동시에 많은 실행 요청이 와도 워커별 동시 처리 수만큼만 전달하고 나머지는 순서대로 대기
+ *
+ * 큐가 가득 차면 QUEUE_FULL, 모든 워커가 장애 상태(서킷 OPEN)면 WORKER_UNAVAILABLE 로 즉시 거절
+ * 워커 전달 실패 시 다른 워커로 재시도 (max-attempts), 그래도 실패하면 WORKER_UNAVAILABLE
+ *
+ * 시간 제한은 단계별로 따로 적용
+ * - 대기: compile.queue.max-wait-seconds 안에 워커로 전달되지 않으면 큐에서 빼고 QUEUE_TIMEOUT
+ *   적재 시 예상 대기 시간(앞선 작업 수 / 워커 슬롯 수 × 평균 실행 시간)이 한도를 넘으면 바로 QUEUE_FULL
+ * - 실행: 워커로 전달한 시점부터 compile.execution.timeout-seconds 가 지나면 WORKER_TIMEOUT
+ * - 워커 슬롯: 실행 타임아웃 후에도 워커는 아직 실행 중일 수 있으므로
+ *   늦은 콜백이 오거나 전달 후 compile.worker.job-deadline-seconds 가 지날 때까지 반환하지 않음
+ *
+ * 진행 중인 작업은 jobId 로 관리 (한 사용자가 여러 작업을 동시에 실행할 수 있음), 사용자별 jobId 인덱스로 조회
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class CompileJobQueue {
+
+    private final CompileWorkerPool workerPool;
+    private final CompileWorkerClient compileWorkerClient;
+    private final CompileFutureStore compileFutureStore;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${compile.queue.capacity:200}")
+    private int capacity;
+
+    @Value("${compile.dispatch.threads:4}")
+    private int dispatchThreads;
+
+    @Value("${compile.dispatch.max-attempts:2}")
+    private int maxAttempts;
+
+    @Value("${compile.queue.max-wait-seconds:30}")
+    private long maxWaitSeconds;
+
+    @Value("${compile.execution.timeout-seconds:15}")
+    private long executionTimeoutSeconds;
+
+    @Value("${compile.worker.job-deadline-seconds:30}")
+    private long jobDeadlineSeconds;
+
+    private BlockingQueue<CompileJob> queue;
+    private ExecutorService dispatchers;
+
+    // 진행 중인 작업 (대기 + 실행 중), jobId → 작업
+    private final Map<String, CompileJob> activeJobs = new ConcurrentHashMap<>();
+    // 사용자별 진행 중인 jobId
+    private final Map<Long, Set<String>> userJobs = new ConcurrentHashMap<>();
+
+    private Counter rejectedCounter;
+    private Counter expiredCounter;
+    private Timer waitTimer;
+    private Timer executionTimer;
+
+    /**
+     * 대기 순번
+     * @param position 1 부터 시작하는 대기 순번, 0 이면 워커에서 실행 중
+     */
+    public record QueuePosition(String jobId, int position, int queueSize) {}
+
+    @PostConstruct
+    public void init() {
+        this.queue = new LinkedBlockingQueue<>(capacity);
+
+        Gauge.builder("compile.queue.size", queue, Collection::size).register(meterRegistry);
+        this.rejectedCounter = meterRegistry.counter("compile.queue.rejected");
+        this.expiredCounter = meterRegistry.counter("compile.queue.expired");
+        this.waitTimer = meterRegistry.timer("compile.queue.wait");
+        this.executionTimer = meterRegistry.timer("compile.execution");
+
+        AtomicInteger sequence = new AtomicInteger();
+        this.dispatchers = Executors.newFixedThreadPool(dispatchThreads, runnable -> {
+            Thread thread = new Thread(runnable, "compile-dispatch-" + sequence.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        for (int i = 0; i < dispatchThreads; i++) {
+            dispatchers.execute(this::dispatchLoop);
+        }
+
+        log.info("컴파일 큐 시작 - capacity={}, dispatchThreads={}, workers={}, maxWait={}s, executionTimeout={}s",
+                capacity, dispatchThreads, workerPool.size(), maxWaitSeconds, executionTimeoutSeconds);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        dispatchers.shutdownNow();
+    }
+
+    /**
+     * 작업 적재
+     * @return 적재 시점의 대기 순번
+     */
+    public QueuePosition submit(CompileJob job) {
+        // 모든 워커가 장애 상태면 대기시키지 않고 즉시 실패
+        if (!workerPool.hasAvailableWorker()) {
+            throw new CustomException(CompileStatus.WORKER_UNAVAILABLE);
+        }
+        // 대기 한도 안에 전달될 가망이 없으면 적재하지 않음
+        if (exceedsMaxWait()) {
+            rejectedCounter.increment();
+            log.warn("컴파일 예상 대기 시간 초과 - 요청 거절: jobId={}, userId={}, queueSize={}",
+                    job.jobId(), job.userId(), queue.size());
+            throw new CustomException(CompileStatus.QUEUE_FULL);
+        }
+        if (!queue.offer(job)) {
+            rejectedCounter.increment();
+            log.warn("컴파일 큐 가득 참 - 요청 거절: jobId={}, userId={}", job.jobId(), job.userId());
+            throw new CustomException(CompileStatus.QUEUE_FULL);
+        }
+
+        register(job);
+        job.future().whenComplete((result, ex) -> unregister(job));
+        expireIfQueued(job);
+
+        QueuePosition position = positionOf(job);
+        log.info("컴파일 작업 적재: jobId={}, userId={}, position={}", job.jobId(), job.userId(), position.position());
+        return position;
+    }
+
+    /**
+     * 사용자의 진행 중인 작업 대기 순번
+     * @param jobId null 이면 사용자가 가장 최근에 적재한 작업
+     * @return 진행 중인 작업이 없거나 다른 사용자의 작업이면 null
+     */
+    public QueuePosition getPosition(Long userId, String jobId) {
+        CompileJob job = jobId != null ? activeJobs.get(jobId) : latestJob(userId);
+        if (job == null || !job.userId().equals(userId)) {
+            return null;
+        }
+        return positionOf(job);
+    }
+
+    /**
+     * 큐를 앞에서부터 훑어 순번 계산 (적재 응답과 조회가 같은 방식)
+     * - 큐에 없으면 이미 꺼내져 워커에서 실행 중 → 0
+     */
+    private QueuePosition positionOf(CompileJob job) {
+        int index = 0;
+        for (CompileJob queued : queue) {
+            index++;
+            if (queued == job) {
+                return new QueuePosition(job.jobId(), index, queue.size());
+            }
+        }
+        return new QueuePosition(job.jobId(), 0, queue.size());
+    }
+
+    /**
+     * 앞선 작업 수 / 워커 슬롯 수 × 평균 실행 시간(누적)으로 예상한 대기 시간이 한도를 넘는지
+     * - 실행 기록이 아직 없으면 추정하지 않음 (대기 한도 타임아웃이 대신 막음)
+     */
+    private boolean exceedsMaxWait() {
+        int slots = workerPool.capacity();
+        if (executionTimer.count() == 0 || slots <= 0) {
+            return false;
+        }
+        long rounds = (queue.size() + slots) / slots;
+        double estimatedMillis = rounds * executionTimer.mean(TimeUnit.MILLISECONDS);
+        return estimatedMillis > TimeUnit.SECONDS.toMillis(maxWaitSeconds);
+    }
+
+    /**
+     * 대기 한도가 지나도록 큐에 남아 있으면 빼고 QUEUE_TIMEOUT
+     * - 이미 dispatch 스레드가 꺼냈으면 remove 가 실패하므로 실행 단계 타임아웃만 적용됨
+     */
+    private void expireIfQueued(CompileJob job) {
+        CompletableFuture.delayedExecutor(maxWaitSeconds, TimeUnit.SECONDS).execute(() -> {
+            if (queue.remove(job)) {
+                expiredCounter.increment();
+                log.warn("컴파일 대기 시간 초과: jobId={}, userId={}", job.jobId(), job.userId());
+                compileFutureStore.failFuture(job.jobId(), new CustomException(CompileStatus.QUEUE_TIMEOUT));
+            }
+        });
+    }
+
+    private CompileJob latestJob(Long userId) {
+        Set<String> jobIds = userJobs.get(userId);
+        if (jobIds == null) {
+            return null;
+        }
+        return jobIds.stream()
+                .map(activeJobs::get)
+                .filter(Objects::nonNull)
+                .max(Comparator.comparingLong(CompileJob::enqueuedAt))
+                .orElse(null);
+    }
+
+    private void register(CompileJob job) {
+        activeJobs.put(job.jobId(), job);
+        userJobs.compute(job.userId(), (userId, jobIds) -> {
+            Set<String> ids = jobIds != null ? jobIds : ConcurrentHashMap.newKeySet();
+            ids.add(job.jobId());
+            return ids;
+        });
+    }
+
+    private void unregister(CompileJob job) {
+        activeJobs.remove(job.jobId(), job);
+        userJobs.computeIfPresent(job.userId(), (userId, jobIds) -> {
+            jobIds.remove(job.jobId());
+            return jobIds.isEmpty() ? null : jobIds;
+        });
+    }
+
+    // ==================== 전달 ====================
+
+    private void dispatchLoop() {
+        while (!Thread.currentThread().isInterrupted()) {
+            try {
+                dispatch(queue.take());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (Exception e) {
+                log.error("컴파일 작업 전달 중 오류", e);
+            }
+        }
+    }
+
+    private void dispatch(CompileJob job) throws InterruptedException {
+        // 대기 중 이미 끝난 작업(실패 처리 등)은 전달하지 않음
+        if (job.future().isDone()) {
+            return;
+        }
+        waitTimer.record(System.currentTimeMillis() - job.enqueuedAt(), TimeUnit.MILLISECONDS);
+
+        for (int attempt = 1; attempt <= maxAttempts; attempt++) {
+            CompileWorkerPool.WorkerEndpoint worker = workerPool.acquire();
+            if (worker == null) {
+                break;
+            }
+            long dispatchedAt = System.currentTimeMillis();
+
+            try {
+                CompileRunResponse response =
+                        compileWorkerClient.requestCompile(worker.getUrl(), job.jobId(), job.code(), job.callbackUrl());
+                workerPool.recordSuccess(worker, response != null ? response.getRuntime() : null);
+                holdSlot(job, worker, dispatchedAt);
+                compileFutureStore.failAfter(job.jobId(), executionTimeoutSeconds, CompileStatus.WORKER_TIMEOUT);
+                notifyDispatched(job);
+                return;
+            } catch (Exception e) {
+                workerPool.recordFailure(worker);
+                workerPool.release(worker);
+                log.warn("컴파일 워커 전달 실패: jobId={}, worker={}, attempt={}",
+                        job.jobId(), worker.getUrl(), attempt);
+            }
+        }
+
+        compileFutureStore.failFuture(job.jobId(), new CustomException(CompileStatus.WORKER_UNAVAILABLE));
+    }
+
+    /**
+     * 워커 슬롯을 콜백 도착 또는 워커 마감 시각까지 점유
+     * - 정상 완료(콜백)면 바로 반환
+     * - 실행 타임아웃 등으로 먼저 끝나면 워커는 아직 실행 중일 수 있으므로 늦은 콜백 또는 마감 시각에 반환
+     */
+    private void holdSlot(CompileJob job, CompileWorkerPool.WorkerEndpoint worker, long dispatchedAt) {
+        AtomicBoolean held = new AtomicBoolean(true);
+        Runnable release = () -> {
+            if (held.compareAndSet(true, false)) {
+                workerPool.release(worker);
+            }
+        };
+        compileFutureStore.onCallback(job.jobId(), release);
+
+        job.future().whenComplete((result, ex) -> {
+            if (ex == null) {
+                executionTimer.record(System.currentTimeMillis() - dispatchedAt, TimeUnit.MILLISECONDS);
+                compileFutureStore.removeCallbackListener(job.jobId());
+                release.run();
+                return;
+            }
+            long remaining = dispatchedAt + TimeUnit.SECONDS.toMillis(jobDeadlineSeconds) - System.currentTimeMillis();
+            CompletableFuture.delayedExecutor(Math.max(remaining, 0), TimeUnit.MILLISECONDS).execute(() -> {
+                compileFutureStore.removeCallbackListener(job.jobId());
+                release.run();
+            });
+        });
+    }
+
+    private void notifyDispatched(CompileJob job) {
+        if (job.onDispatched() == null) {
+            return;
+        }
+        try {
+            job.onDispatched().run();
+        } catch (Exception e) {
+            log.warn("컴파일 작업 전달 알림 실패: jobId={}, error={}", job.jobId(), e.getMessage());
+        }
+    }
+}
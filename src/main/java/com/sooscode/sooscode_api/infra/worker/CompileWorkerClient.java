@@ -3,30 +3,105 @@ package com.sooscode.sooscode_api.infra.worker;
 import com.sooscode.sooscode_api.application.compile.dto.CompileRunResponse;
 import com.sooscode.sooscode_api.global.exception.CustomException;
 import com.sooscode.sooscode_api.global.status.CompileStatus;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.httpcomponents.hc5.PoolingHttpClientConnectionManagerMetricsBinder;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.apache.hc.client5.http.config.ConnectionConfig;
+import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.ResponseEntity;
-import org.springframework.http.client.SimpleClientHttpRequestFactory;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.stereotype.Component;
 import org.springframework.web.client.RestTemplate;
+
+import java.io.IOException;
 import java.util.HashMap;
 import java.util.Map;
 
+/**
+ * 컴파일 워커 HTTP 클라이언트
+ * - 커넥션 풀(HTTP/1.1 keep-alive)로 요청마다 새 연결을 만들지 않음
+ * - 풀 전체/워커별 연결 수 제한, 풀이 가득 차면 pool-timeout 만큼만 기다리고 실패
+ * - 워커는 실행 요청을 접수만 하고 결과는 콜백으로 보내므로 응답 대기(read-timeout)는 짧게 유지
+ *
+ * 워커 선택과 장애 워커 제외(서킷 브레이커)는 CompileWorkerPool 담당
+ */
 @Slf4j
 @Component
 @RequiredArgsConstructor
 public class CompileWorkerClient {
 
-    private final RestTemplate restTemplate = createRestTemplate();
+    private final MeterRegistry meterRegistry;
+
+    @Value("${compile.worker.http.max-connections:32}")
+    private int maxConnections;
+
+    @Value("${compile.worker.http.max-connections-per-worker:8}")
+    private int maxConnectionsPerWorker;
+
+    @Value("${compile.worker.http.connect-timeout-ms:2000}")
+    private long connectTimeoutMs;
+
+    @Value("${compile.worker.http.read-timeout-ms:5000}")
+    private long readTimeoutMs;
+
+    @Value("${compile.worker.http.pool-timeout-ms:1000}")
+    private long poolTimeoutMs;
+
+    @Value("${compile.worker.http.idle-seconds:30}")
+    private long idleSeconds;
+
+    private PoolingHttpClientConnectionManager connectionManager;
+    private CloseableHttpClient httpClient;
+    private RestTemplate restTemplate;
+
+    @PostConstruct
+    public void init() {
+        this.connectionManager = PoolingHttpClientConnectionManagerBuilder.create()
+                .setMaxConnTotal(maxConnections)
+                .setMaxConnPerRoute(maxConnectionsPerWorker)
+                .setDefaultConnectionConfig(ConnectionConfig.custom()
+                        .setConnectTimeout(Timeout.ofMilliseconds(connectTimeoutMs))
+                        .setSocketTimeout(Timeout.ofMilliseconds(readTimeoutMs))
+                        .build())
+                .build();
 
-    @Value("${app.urls.worker}")
-    private String workerUrl;
+        this.httpClient = HttpClients.custom()
+                .setConnectionManager(connectionManager)
+                .setDefaultRequestConfig(RequestConfig.custom()
+                        .setConnectionRequestTimeout(Timeout.ofMilliseconds(poolTimeoutMs))
+                        .setResponseTimeout(Timeout.ofMilliseconds(readTimeoutMs))
+                        .build())
+                .evictIdleConnections(TimeValue.ofSeconds(idleSeconds))
+                .evictExpiredConnections()
+                .build();
+
+        this.restTemplate = new RestTemplate(new HttpComponentsClientHttpRequestFactory(httpClient));
+
+        // httpcomponents.httpclient.pool.* (leased/available/pending)
+        new PoolingHttpClientConnectionManagerMetricsBinder(connectionManager, "compile-worker")
+                .bindTo(meterRegistry);
+    }
+
+    @PreDestroy
+    public void shutdown() throws IOException {
+        httpClient.close();
+    }
 
     /**
      * [POST] 워커에게 실행 요청
+     * - 워커 선택은 CompileWorkerPool 담당
      */
-    public CompileRunResponse requestCompile(String jobId, String code, String callbackUrl) {
+    public CompileRunResponse requestCompile(String workerUrl, String jobId, String code, String callbackUrl) {
 
         String targetUrl = workerUrl + "/api/compile/run";
 
@@ -40,17 +115,8 @@ public class CompileWorkerClient {
                     restTemplate.postForEntity(targetUrl, requestBody, CompileRunResponse.class);
             return response.getBody();
         } catch (Exception e) {
-            log.error("워커 서버 통신 실패: {}", e.getMessage());
+            log.error("워커 서버 통신 실패: worker={}, error={}", workerUrl, e.getMessage());
             throw new CustomException(CompileStatus.WORKER_UNAVAILABLE);
         }
     }
-    /**
-     * 내부적으로 RestTemplate 생성 (타임아웃 적용)
-     */
-    private RestTemplate createRestTemplate() {
-        SimpleClientHttpRequestFactory factory = new SimpleClientHttpRequestFactory();
-        factory.setConnectTimeout(7000);
-        factory.setReadTimeout(15000);
-        return new RestTemplate(factory);
-    }
-}
\ No newline at end of file
+}
@@ -0,0 +1,276 @@
+package com.sooscode.sooscode_api.infra.worker;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 컴파일 워커 풀
+ * - app.urls.worker 에 쉼표로 여러 워커 지정 가능
+ * - 워커마다 동시 처리 수 제한, 슬롯은 결과 콜백(또는 워커 마감 시각)까지 점유
+ *   - 기본값 compile.worker.max-concurrency, 워커별 값은 compile.worker.max-concurrency-overrides (url=수, 쉼표 구분)
+ *   - 제한은 API 노드마다 따로 계산 → API 노드가 N 개면 워커가 받는 동시 요청은 최대 N 배
+ *     (워커 전체 한도는 워커 쪽 설정이 담당, 여기서는 노드별 몫을 정함)
+ * - 여유 슬롯이 있는 정상 워커 중 처리 중인 작업이 가장 적은 워커 선택
+ *
+ * 워커마다 WorkerCircuitBreaker 로 장애 워커를 제외
+ * - 연속 실패가 failure-threshold 에 도달하면 open-seconds 동안 제외 (OPEN)
+ * - 이후 시험 요청 하나만 보내 성공하면 복구, 실패하면 다시 제외 (HALF_OPEN)
+ * - 모든 워커가 OPEN 이면 대기하지 않고 즉시 실패
+ *
+ * 워커가 실행 요청 응답으로 알려준 런타임 버전을 기록 (컴파일 결과 캐시 키에 사용)
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class CompileWorkerPool {
+
+    private final MeterRegistry meterRegistry;
+
+    @Value("${app.urls.worker}")
+    private String workerUrls;
+
+    @Value("${compile.worker.max-concurrency:4}")
+    private int maxConcurrency;
+
+    @Value("${compile.worker.max-concurrency-overrides:}")
+    private String maxConcurrencyOverrides;
+
+    @Value("${compile.worker.breaker.failure-threshold:3}")
+    private int failureThreshold;
+
+    @Value("${compile.worker.breaker.open-seconds:10}")
+    private long openSeconds;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition released = lock.newCondition();
+
+    private List<WorkerEndpoint> endpoints;
+
+    /**
+     * 워커 상태 (lock 으로 보호, 메트릭은 lock 없이 읽음)
+     */
+    public static final class WorkerEndpoint {
+
+        @Getter
+        private final String url;
+        private final int maxConcurrency;
+        private final WorkerCircuitBreaker breaker;
+        private volatile int inFlight;
+        private volatile String runtime;
+
+        private WorkerEndpoint(String url, int maxConcurrency, WorkerCircuitBreaker breaker) {
+            this.url = url;
+            this.maxConcurrency = maxConcurrency;
+            this.breaker = breaker;
+        }
+    }
+
+    @PostConstruct
+    public void init() {
+        Map<String, Integer> overrides = parseOverrides(maxConcurrencyOverrides);
+        this.endpoints = Arrays.stream(workerUrls.split(","))
+                .map(String::trim)
+                .filter(url -> !url.isEmpty())
+                .map(CompileWorkerPool::normalize)
+                .map(url -> new WorkerEndpoint(url, overrides.getOrDefault(url, maxConcurrency),
+                        new WorkerCircuitBreaker(failureThreshold, TimeUnit.SECONDS.toMillis(openSeconds))))
+                .toList();
+
+        for (WorkerEndpoint endpoint : endpoints) {
+            Gauge.builder("compile.worker.inflight", endpoint, e -> e.inFlight)
+                    .tag("worker", endpoint.url)
+                    .register(meterRegistry);
+            // 0 = CLOSED, 1 = HALF_OPEN, 2 = OPEN
+            Gauge.builder("compile.worker.breaker.state", endpoint, e -> e.breaker.state().ordinal())
+                    .tag("worker", endpoint.url)
+                    .register(meterRegistry);
+        }
+
+        log.info("컴파일 워커 풀 - workers={}",
+                endpoints.stream().map(endpoint -> endpoint.url + "(max=" + endpoint.maxConcurrency + ")").toList());
+    }
+
+    public int size() {
+        return endpoints.size();
+    }
+
+    /**
+     * 요청을 보낼 수 있는 워커들의 동시 처리 수 합 (대기 시간 추정용)
+     */
+    public int capacity() {
+        lock.lock();
+        try {
+            long now = System.currentTimeMillis();
+            return endpoints.stream()
+                    .filter(endpoint -> endpoint.breaker.allows(now))
+                    .mapToInt(endpoint -> endpoint.maxConcurrency)
+                    .sum();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 요청을 보낼 수 있는 워커가 하나라도 있는지 (모두 OPEN 이면 false)
+     */
+    public boolean hasAvailableWorker() {
+        lock.lock();
+        try {
+            long now = System.currentTimeMillis();
+            return endpoints.stream().anyMatch(endpoint -> endpoint.breaker.allows(now));
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 워커 슬롯 점유
+     * - 정상 워커가 모두 바쁘면 슬롯이 반환될 때까지 대기
+     * @return 점유한 워커, 요청을 보낼 수 있는 워커가 하나도 없으면 null
+     */
+    public WorkerEndpoint acquire() throws InterruptedException {
+        lock.lockInterruptibly();
+        try {
+            while (true) {
+                long now = System.currentTimeMillis();
+                WorkerEndpoint selected = null;
+                boolean anyAvailable = false;
+
+                for (WorkerEndpoint endpoint : endpoints) {
+                    if (!endpoint.breaker.allows(now)) {
+                        continue;
+                    }
+                    anyAvailable = true;
+                    if (endpoint.inFlight < endpoint.maxConcurrency
+                            && (selected == null || endpoint.inFlight < selected.inFlight)) {
+                        selected = endpoint;
+                    }
+                }
+
+                if (selected != null) {
+                    selected.inFlight++;
+                    if (selected.breaker.onAcquire(now)) {
+                        log.info("컴파일 워커 시험 요청 (HALF_OPEN): worker={}", selected.url);
+                    }
+                    return selected;
+                }
+                if (!anyAvailable) {
+                    return null;
+                }
+                // OPEN 기간이 끝난 워커도 다시 확인하도록 주기적으로 깨어남
+                released.await(500, TimeUnit.MILLISECONDS);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 워커 슬롯 반환
+     */
+    public void release(WorkerEndpoint endpoint) {
+        lock.lock();
+        try {
+            endpoint.inFlight--;
+            released.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 전달 성공 기록
+     * @param runtime 워커가 응답한 런타임 버전 (없으면 null)
+     */
+    public void recordSuccess(WorkerEndpoint endpoint, String runtime) {
+        if (runtime != null && !runtime.equals(endpoint.runtime)) {
+            log.info("컴파일 워커 런타임: worker={}, runtime={} → {}", endpoint.url, endpoint.runtime, runtime);
+            endpoint.runtime = runtime;
+        }
+        lock.lock();
+        try {
+            if (endpoint.breaker.onSuccess()) {
+                log.info("컴파일 워커 복구 (CLOSED): worker={}", endpoint.url);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 워커들이 알려준 런타임 버전
+     * - 버전을 알려준 워커가 없거나 서로 다르면(배포 중 등) null
+     * - 아직 요청을 받지 않은 워커는 전달 시점에 버전이 기록되므로, 작업 완료 전에 다시 확인하면 불일치를 알 수 있음
+     */
+    public String runtime() {
+        return runtime(null);
+    }
+
+    /**
+     * 워커들이 알려준 런타임 버전
+     * @param unreported 버전을 알려준 워커가 하나도 없을 때 쓸 값 (버전을 응답하지 않는 워커용)
+     * @return 서로 다르면 null
+     */
+    public String runtime(String unreported) {
+        List<String> runtimes = endpoints.stream()
+                .map(endpoint -> endpoint.runtime)
+                .filter(Objects::nonNull)
+                .distinct()
+                .toList();
+        if (runtimes.isEmpty()) {
+            return unreported;
+        }
+        return runtimes.size() == 1 ? runtimes.get(0) : null;
+    }
+
+    /**
+     * "url=수,url=수" 형식의 워커별 동시 처리 수
+     */
+    private static Map<String, Integer> parseOverrides(String value) {
+        Map<String, Integer> overrides = new HashMap<>();
+        if (value == null || value.isBlank()) {
+            return overrides;
+        }
+        for (String entry : value.split(",")) {
+            int separator = entry.lastIndexOf('=');
+            if (separator <= 0) {
+                throw new IllegalArgumentException("compile.worker.max-concurrency-overrides 형식 오류: " + entry);
+            }
+            overrides.put(normalize(entry.substring(0, separator).trim()),
+                    Integer.parseInt(entry.substring(separator + 1).trim()));
+        }
+        return overrides;
+    }
+
+    private static String normalize(String url) {
+        return url.endsWith("/") ? url.substring(0, url.length() - 1) : url;
+    }
+
+    public void recordFailure(WorkerEndpoint endpoint) {
+        lock.lock();
+        try {
+            if (endpoint.breaker.onFailure(System.currentTimeMillis())) {
+                log.warn("컴파일 워커 제외 (OPEN): worker={}, openSeconds={}", endpoint.url, openSeconds);
+            }
+            // HALF_OPEN 시험 실패 시 다른 대기 스레드가 바로 다시 판단하도록
+            released.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+}
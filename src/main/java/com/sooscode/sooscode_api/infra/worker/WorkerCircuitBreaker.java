@@ -0,0 +1,90 @@
+package com.sooscode.sooscode_api.infra.worker;
+
+/**
+ * 워커별 서킷 브레이커 (CompileWorkerPool 의 lock 안에서만 변경, 상태는 메트릭용으로 lock 없이 읽음)
+ *
+ * - CLOSED   : 정상, 연속 실패가 failure-threshold 에 도달하면 OPEN
+ * - OPEN     : open-seconds 동안 요청을 보내지 않음 (바로 다른 워커 선택 또는 즉시 실패)
+ * - HALF_OPEN: OPEN 기간이 지나면 요청 하나만 시험 전송, 성공하면 CLOSED / 실패하면 다시 OPEN
+ */
+class WorkerCircuitBreaker {
+
+    enum State { CLOSED, HALF_OPEN, OPEN }
+
+    private final int failureThreshold;
+    private final long openMillis;
+
+    private volatile State state = State.CLOSED;
+    private int failures;
+    private long openUntil;
+    private boolean probing;
+
+    WorkerCircuitBreaker(int failureThreshold, long openMillis) {
+        this.failureThreshold = failureThreshold;
+        this.openMillis = openMillis;
+    }
+
+    State state() {
+        return state;
+    }
+
+    /**
+     * 지금 요청을 보낼 수 있는지 (상태는 바꾸지 않음)
+     */
+    boolean allows(long now) {
+        return switch (state) {
+            case CLOSED -> true;
+            case OPEN -> now >= openUntil;
+            case HALF_OPEN -> !probing;
+        };
+    }
+
+    /**
+     * 요청 전송 시작 - OPEN 기간이 지났으면 HALF_OPEN 으로 바꾸고 시험 요청으로 표시
+     * @return 상태가 바뀌었으면 true
+     */
+    boolean onAcquire(long now) {
+        if (state == State.OPEN && now >= openUntil) {
+            state = State.HALF_OPEN;
+            probing = true;
+            return true;
+        }
+        if (state == State.HALF_OPEN) {
+            probing = true;
+        }
+        return false;
+    }
+
+    /**
+     * @return 상태가 바뀌었으면 true
+     */
+    boolean onSuccess() {
+        State previous = state;
+        state = State.CLOSED;
+        failures = 0;
+        probing = false;
+        return previous != State.CLOSED;
+    }
+
+    /**
+     * @return 상태가 바뀌었으면 true
+     */
+    boolean onFailure(long now) {
+        probing = false;
+        if (state == State.HALF_OPEN) {
+            open(now);
+            return true;
+        }
+        failures++;
+        if (state == State.CLOSED && failures >= failureThreshold) {
+            open(now);
+            return true;
+        }
+        return false;
+    }
+
+    private void open(long now) {
+        state = State.OPEN;
+        openUntil = now + openMillis;
+    }
+}
@@ -0,0 +1,143 @@
+package com.sooscode.sooscode_api.application.compile.service;
+
+import com.sooscode.sooscode_api.application.compile.dto.CompileResultResponse;
+import com.sooscode.sooscode_api.application.compile.store.CompileResultRedisStore;
+import com.sooscode.sooscode_api.infra.worker.CompileWorkerPool;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+class CompileResultCacheTest {
+
+    private final CompileResultRedisStore store = mock(CompileResultRedisStore.class);
+    private final CompileWorkerPool workerPool = mock(CompileWorkerPool.class);
+    private CompileResultCache cache;
+
+    @BeforeEach
+    void setUp() {
+        cache = new CompileResultCache(store, new SimpleMeterRegistry(), workerPool);
+        ReflectionTestUtils.setField(cache, "enabled", true);
+        ReflectionTestUtils.setField(cache, "ttlSeconds", 600L);
+        ReflectionTestUtils.setField(cache, "maxOutputChars", 65536);
+        ReflectionTestUtils.setField(cache, "skipStatuses", "TIMEOUT");
+        ReflectionTestUtils.setField(cache, "fallbackRuntime", "java17");
+        cache.init();
+        when(workerPool.runtime("java17")).thenReturn("17.0.9");
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {
+            "System.out.println(new Date());",
+            "System.out.println(Calendar.getInstance().get(1));",
+            "System.out.println(System.getenv(\"HOME\"));",
+            "System.out.println(System.getProperty(\"user.dir\"));",
+            "System.out.println(new Object().hashCode());",
+            "System.out.println(LocalDateTime.now());",
+            "new Thread(() -> System.out.println(1)).start();",
+            "enum Color { RED, GREEN } Set<Color> s = new HashSet<>(List.of(Color.RED, Color.GREEN));",
+            "class Node {} Map<Node, Integer> m = new HashMap<>();"
+    })
+    void nondeterministicCodeIsNotCached(String code) {
+        assertThat(cache.isNondeterministic(code)).isTrue();
+        assertThat(cache.keyOf(code, false)).isNull();
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {
+            "public class Main { public static void main(String[] a) { System.out.println(1 + 2); } }",
+            "record Point(int x, int y) { public int hashCode() { return x * 31 + y; } }",
+            "Map<String, Integer> m = new HashMap<>(); m.put(\"a\", 1); System.out.println(m);",
+            "enum Color { RED } Map<Color, Integer> m = new LinkedHashMap<>();"
+    })
+    void deterministicCodeIsCached(String code) {
+        assertThat(cache.isNondeterministic(code)).isFalse();
+        assertThat(cache.keyOf(code, false)).isNotNull();
+    }
+
+    @Test
+    void keyDependsOnWorkerRuntime() {
+        String code = "System.out.println(1);";
+        CompileResultCache.Key java17 = cache.keyOf(code, false);
+
+        when(workerPool.runtime("java17")).thenReturn("21.0.2");
+        CompileResultCache.Key java21 = cache.keyOf(code, false);
+
+        assertThat(java17.value()).isNotEqualTo(java21.value());
+        assertThat(java21.runtime()).isEqualTo("21.0.2");
+    }
+
+    @Test
+    void mixedRuntimeBypassesCache() {
+        when(workerPool.runtime("java17")).thenReturn(null);
+
+        assertThat(cache.keyOf("System.out.println(1);", false)).isNull();
+    }
+
+    @Test
+    void configuredRuntimeIsUsedUntilWorkersReportOne() throws InterruptedException {
+        CompileWorkerPool pool = new CompileWorkerPool(new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(pool, "workerUrls", "http://worker-1,http://worker-2");
+        ReflectionTestUtils.setField(pool, "maxConcurrency", 4);
+        ReflectionTestUtils.setField(pool, "maxConcurrencyOverrides", "");
+        ReflectionTestUtils.setField(pool, "failureThreshold", 3);
+        ReflectionTestUtils.setField(pool, "openSeconds", 10L);
+        pool.init();
+        cache = new CompileResultCache(store, new SimpleMeterRegistry(), pool);
+        ReflectionTestUtils.setField(cache, "enabled", true);
+        ReflectionTestUtils.setField(cache, "skipStatuses", "TIMEOUT");
+        ReflectionTestUtils.setField(cache, "fallbackRuntime", "java17");
+        cache.init();
+
+        assertThat(cache.keyOf("System.out.println(1);", false).runtime()).isEqualTo("java17");
+
+        CompileWorkerPool.WorkerEndpoint worker = pool.acquire();
+        pool.recordSuccess(worker, "17.0.9");
+        pool.release(worker);
+
+        assertThat(cache.keyOf("System.out.println(1);", false).runtime()).isEqualTo("17.0.9");
+    }
+
+    @Test
+    void blankConfiguredRuntimeBypassesCacheUntilWorkersReportOne() {
+        ReflectionTestUtils.setField(cache, "fallbackRuntime", "");
+
+        assertThat(cache.keyOf("System.out.println(1);", false)).isNull();
+        verify(workerPool).runtime(null);
+    }
+
+    @Test
+    void resultIsNotSavedWhenRuntimeChangedDuringRun() {
+        CompileResultCache.Key key = cache.keyOf("System.out.println(1);", false);
+        when(workerPool.runtime("java17")).thenReturn(null);
+
+        cache.save(key, new CompileResultResponse("SUCCESS", "1"));
+
+        verify(store, never()).save(anyString(), any(), any());
+    }
+
+    @Test
+    void defaultToStringOutputIsNotSaved() {
+        CompileResultCache.Key key = cache.keyOf("System.out.println(new int[1]);", false);
+
+        cache.save(key, new CompileResultResponse("SUCCESS", "[I@1b6d3586"));
+
+        verify(store, never()).save(anyString(), any(), any());
+    }
+
+    @Test
+    void deterministicResultIsSaved() {
+        CompileResultCache.Key key = cache.keyOf("System.out.println(1);", false);
+
+        cache.save(key, new CompileResultResponse("SUCCESS", "1"));
+
+        verify(store).save(eq(key.value()), any(), any());
+    }
+}
@@ -0,0 +1,68 @@
+package com.sooscode.sooscode_api.application.compile.store;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sooscode.sooscode_api.application.compile.dto.CompileResultResponse;
+import com.sooscode.sooscode_api.infra.config.RedisConfig;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+class CompileResultRedisStoreTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+
+    @ParameterizedTest
+    @ValueSource(strings = {"json", "smile"})
+    void savedValueReadsBackAsCompileResult(String format) {
+        RedisSerializer<CompileResultResponse> serializer = configuredSerializer(format);
+        CapturingTemplate template = new CapturingTemplate();
+        template.setValueSerializer(serializer);
+        CompileResultRedisStore store = new CompileResultRedisStore(template);
+        ReflectionTestUtils.setField(store, "maxEntries", 10_000L);
+
+        store.save("hash", new CompileResultResponse("SUCCESS", "안녕 \"world\"\n"), Duration.ofSeconds(600));
+
+        // Redis 에 저장되는 바이트를 설정된 템플릿 직렬화로 다시 읽음 (LinkedHashMap 이 아니라 CompileResultResponse)
+        Object read = serializer.deserialize((byte[]) template.args[0]);
+        assertThat(read).isInstanceOf(CompileResultResponse.class);
+        assertThat(read).usingRecursiveComparison()
+                .isEqualTo(new CompileResultResponse("SUCCESS", "안녕 \"world\"\n"));
+        assertThat(template.keys).containsExactly("compile:cache:hash", "compile:cache:index");
+    }
+
+    @SuppressWarnings("unchecked")
+    private RedisSerializer<CompileResultResponse> configuredSerializer(String format) {
+        RedisConfig config = new RedisConfig();
+        ReflectionTestUtils.setField(config, "valueFormat", format);
+        RedisTemplate<String, CompileResultResponse> template =
+                config.compileResultRedisTemplate(mock(RedisConnectionFactory.class), objectMapper);
+        return (RedisSerializer<CompileResultResponse>) template.getValueSerializer();
+    }
+
+    /**
+     * 스크립트 실행 인자만 기록하는 템플릿 (Redis 연결 없음)
+     */
+    private static class CapturingTemplate extends RedisTemplate<String, CompileResultResponse> {
+
+        private List<String> keys;
+        private Object[] args;
+
+        @Override
+        public <T> T execute(RedisScript<T> script, RedisSerializer<?> argsSerializer,
+                             RedisSerializer<T> resultSerializer, List<String> keys, Object... args) {
+            this.keys = keys;
+            this.args = args;
+            return null;
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package com.sooscode.sooscode_api.global.response;
+
+import jakarta.servlet.http.HttpServlet;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AfterResponseFilterTest {
+
+    private final AfterResponseFilter filter = new AfterResponseFilter();
+
+    @Test
+    void taskRunsAfterResponseIsCommitted() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/compile/run");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        List<String> events = new ArrayList<>();
+
+        HttpServlet controller = new HttpServlet() {
+            @Override
+            protected void service(HttpServletRequest req, HttpServletResponse res) throws IOException {
+                RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(req));
+                try {
+                    AfterResponseFilter.runAfterResponse(() -> events.add("result, committed=" + response.isCommitted()));
+                    res.getWriter().write("{\"jobId\":\"job-1\"}");
+                    events.add("response");
+                } finally {
+                    RequestContextHolder.resetRequestAttributes();
+                }
+            }
+        };
+
+        filter.doFilter(request, response, new MockFilterChain(controller));
+
+        assertThat(events).containsExactly("response", "result, committed=true");
+        assertThat(response.getContentAsString()).isEqualTo("{\"jobId\":\"job-1\"}");
+    }
+
+    @Test
+    void taskRunsImmediatelyOutsideRequest() {
+        List<String> events = new ArrayList<>();
+
+        AfterResponseFilter.runAfterResponse(() -> events.add("result"));
+
+        assertThat(events).containsExactly("result");
+    }
+}
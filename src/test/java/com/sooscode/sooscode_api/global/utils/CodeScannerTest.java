@@ -0,0 +1,261 @@
+package com.sooscode.sooscode_api.global.utils;
+
+import com.sooscode.sooscode_api.infra.worker.CodeBlacklistFilter;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.io.IOException;
+import java.lang.module.ModuleDescriptor;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileSystem;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CodeScannerTest {
+
+    /**
+     * 스캐너 패턴 ↔ 이전 CodeBlacklistFilter 정규식
+     */
+    static final String[][] LEGACY_RULES = {
+            {"System~.~exit", "System\\s*\\.\\s*exit"},
+            {"Runtime~.~getRuntime", "Runtime\\s*\\.\\s*getRuntime"},
+            {"ProcessBuilder", "ProcessBuilder"},
+            {"exec~(", "exec\\s*\\("},
+            {"java~.~io~.~File", "java\\s*\\.\\s*io\\s*\\.\\s*File"},
+            {"FileInputStream", "FileInputStream"},
+            {"FileOutputStream", "FileOutputStream"},
+            {"Files~.~read", "Files\\s*\\.\\s*read"},
+            {"Files~.~write", "Files\\s*\\.\\s*write"},
+            {"Paths~.~get", "Paths\\s*\\.\\s*get"},
+            {"Path~.~of", "Path\\s*\\.\\s*of"},
+            {"Socket", "Socket"},
+            {"ServerSocket", "ServerSocket"},
+            {"URLConnection", "URLConnection"},
+            {"HttpURLConnection", "HttpURLConnection"},
+            {"openStream", "openStream"},
+            {"InetAddress", "InetAddress"},
+            {"java~.~lang~.~reflect", "java\\s*\\.\\s*lang\\s*\\.\\s*reflect"},
+            {"Class~.~forName", "Class\\s*\\.\\s*forName"},
+            {"ClassLoader", "ClassLoader"},
+            {"getDeclared", "getDeclared"},
+            {"invoke", "invoke"},
+            {"setAccessible", "setAccessible"},
+            {"new_Thread", "new\\s+Thread"},
+            {"Thread~.~sleep", "Thread\\s*\\.\\s*sleep"},
+            {"Executor", "Executor"},
+            {"ForkJoinPool", "ForkJoinPool"},
+            {"TimerTask", "TimerTask"},
+            {"while~(~true~)", "while\\s*\\(\\s*true\\s*\\)"},
+            {"for~(~;~;~)", "for\\s*\\(\\s*;\\s*;\\s*\\)"},
+            {"Unsafe", "Unsafe"},
+            {"System~.~load", "System\\s*\\.\\s*load"},
+            {"sun~.~misc", "sun\\s*\\.\\s*misc"}
+    };
+
+    private static final Pattern LEGACY_UNICODE_ESCAPE = Pattern.compile("\\\\u[0-9a-fA-F]{4}");
+
+    // 규칙 조각을 섞어 공백/줄바꿈/이스케이프/서로게이트 경계를 다양하게 만듦
+    private static final String[] ATOMS = {
+            "System", "Runtime", "getRuntime", "Process", "Builder", "exec", "java", "io", "File", "Files",
+            "Input", "Output", "Stream", "read", "write", "Path", "Paths", "get", "of", "Server", "Socket",
+            "URL", "Http", "Connection", "open", "Inet", "Address", "lang", "reflect", "Class", "forName",
+            "Loader", "getDeclared", "invoke", "set", "Accessible", "new", "Thread", "sleep", "Executor",
+            "ForkJoinPool", "Timer", "Task", "while", "for", "true", "Unsafe", "load", "sun", "misc", "exit",
+            ".", "(", ")", ";", " ", "  ", "\t", "\n", "\r\n", "\r", "x", "\\", "u", "\\u0041", "00",
+            "é", "😀", "\uD800"
+    };
+
+    @Test
+    void matchesLegacyRegexesOnRandomInputs() {
+        List<CodeScanner.Rule> rules = new ArrayList<>();
+        List<Pattern> patterns = new ArrayList<>();
+        for (String[] rule : LEGACY_RULES) {
+            rules.add(CodeScanner.Rule.of(rule[0], rule[0]));
+            patterns.add(Pattern.compile(rule[1]));
+        }
+        CodeScanner scanner = CodeScanner.compile(rules, true);
+
+        Random random = new Random(42);
+        for (int round = 0; round < 100_000; round++) {
+            StringBuilder builder = new StringBuilder();
+            int atoms = random.nextInt(14);
+            for (int i = 0; i < atoms; i++) {
+                builder.append(ATOMS[random.nextInt(ATOMS.length)]);
+            }
+            String code = builder.toString();
+            CodeScanner.Result result = scanner.scan(code);
+
+            Set<String> expected = new TreeSet<>();
+            for (int k = 0; k < patterns.size(); k++) {
+                expected.addAll(matchStarts(patterns.get(k), LEGACY_RULES[k][0], code));
+            }
+            expected.addAll(matchStarts(LEGACY_UNICODE_ESCAPE, CodeScanner.UNICODE_ESCAPE_RULE, code));
+
+            Set<String> actual = new TreeSet<>();
+            result.violations().forEach(violation -> actual.add(violation.rule() + "@" + violation.offset()));
+
+            assertThat(actual).as("violations of [%s]", code).isEqualTo(expected);
+            assertThat(result.encodable()).as("encodable [%s]", code)
+                    .isEqualTo(StandardCharsets.UTF_8.newEncoder().canEncode(code));
+            if (!code.replaceAll("[\\r\\n]", "").isEmpty()) {
+                assertThat(result.lines()).as("lines of [%s]", code)
+                        .isEqualTo(code.split("\r\n|\r|\n").length);
+            }
+        }
+    }
+
+    @Test
+    void reportsLineAndColumnOfMatchStart() {
+        CodeScanner scanner = CodeScanner.compile(List.of(CodeScanner.Rule.of("System.exit", "System~.~exit")), false);
+
+        List<CodeScanner.Violation> violations =
+                scanner.scan("class Main {\n  void f() {\n    System .\n exit(0);\n  }\n}").violations();
+
+        assertThat(violations).containsExactly(new CodeScanner.Violation("System.exit", 3, 5, 30));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {
+            "var l = URLClassLoader.newInstance(urls);",
+            "DatagramSocket s = null;",
+            "SSLSocket s = null;",
+            "SSLSocketFactory.getDefault();",
+            "var a = new InetSocketAddress(80);",
+            "ThreadPoolExecutor e = null;",
+            "ScheduledExecutorService s = null;",
+            "var l = Main.class.getClassLoader();",
+            "var l = Thread.currentThread().getContextClassLoader();",
+            "var l = ClassLoader.getPlatformClassLoader();",
+            "var e = Executors.newSingleThreadExecutor();",
+            "Supplier<?> s = Thread.currentThread()::getContextClassLoader;",
+            "var l = getSystemClassLoader ();"
+    })
+    void tokenAwareScannerRejectsDeniedJdkTypes(String code) {
+        assertThat(CodeBlacklistFilter.scanner(true).scan(code).hasViolations()).isTrue();
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {
+            "int mySocket = 1;",
+            "String userExecutor = null;",
+            "// System.exit(0)\nint a = 1;",
+            "/* Runtime.getRuntime().exec(\"ls\") */ int a = 1;",
+            "String s = \"Socket \\\" System.exit(0)\";",
+            "char c = 'S'; String s = \"new Thread()\";",
+            "String s = \"\"\"\n    System.exit(0); \"\" ProcessBuilder\n    \"\"\";"
+    })
+    void tokenAwareScannerIgnoresUserIdentifiersCommentsAndLiterals(String code) {
+        assertThat(CodeBlacklistFilter.scanner(true).scan(code).violations()).isEmpty();
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {
+            "/* comment */ System.exit(0);",
+            "// comment\nSystem.exit(0);",
+            "String s = \"a\\\\\"; System.exit(0);",
+            "char c = '\"'; System.exit(0);",
+            "String s = \"\"\"\n    text\n    \"\"\"; System.exit(0);"
+    })
+    void tokenAwareScannerResumesAfterCommentsAndLiterals(String code) {
+        assertThat(CodeBlacklistFilter.scanner(true).scan(code).violations())
+                .extracting(CodeScanner.Violation::rule)
+                .containsExactly("System.exit");
+    }
+
+    @Test
+    void tokenAwareScannerReportsUnicodeEscapeInsideComment() {
+        assertThat(CodeBlacklistFilter.scanner(true).scan("// \\u000a System.exit(0);").violations())
+                .extracting(CodeScanner.Violation::rule)
+                .containsExactly(CodeScanner.UNICODE_ESCAPE_RULE);
+    }
+
+    /**
+     * 토큰 인식 모드는 일반 모드가 막는 JDK API 사용을 모두 막아야 함 (주석/문자열 밖)
+     * - 실행 중인 JDK 가 공개하는 모든 타입/메서드/필드 이름을 사용 형태로 만들어 비교
+     */
+    @Test
+    void tokenAwareScannerRejectsEveryJdkApiUsageRejectedByPlainScanner() throws IOException {
+        CodeScanner plain = CodeBlacklistFilter.scanner(false);
+        CodeScanner tokenAware = CodeBlacklistFilter.scanner(true);
+
+        Set<String> usages = jdkApiUsages();
+        List<String> missed = usages.stream()
+                .filter(code -> plain.scan(code).hasViolations())
+                .filter(code -> !tokenAware.scan(code).hasViolations())
+                .toList();
+
+        assertThat(usages).hasSizeGreaterThan(10_000);
+        assertThat(missed).isEmpty();
+    }
+
+    // 공개(exports) 패키지의 public 타입 이름, 메서드 호출, 필드 접근
+    private static Set<String> jdkApiUsages() throws IOException {
+        FileSystem jrt = FileSystems.getFileSystem(URI.create("jrt:/"));
+        Set<String> usages = new TreeSet<>();
+        for (Module module : ModuleLayer.boot().modules()) {
+            for (ModuleDescriptor.Exports exports : module.getDescriptor().exports()) {
+                if (exports.isQualified()) {
+                    continue;
+                }
+                Path dir = jrt.getPath("modules", module.getName(), exports.source().replace('.', '/'));
+                try (Stream<Path> files = Files.list(dir)) {
+                    for (Path file : files.toList()) {
+                        String fileName = file.getFileName().toString();
+                        if (fileName.endsWith(".class") && !fileName.contains("-")) {
+                            addUsages(usages, exports.source() + "." + fileName.substring(0, fileName.length() - 6));
+                        }
+                    }
+                }
+            }
+        }
+        return usages;
+    }
+
+    private static void addUsages(Set<String> usages, String className) {
+        Class<?> type;
+        try {
+            type = Class.forName(className, false, ClassLoader.getSystemClassLoader());
+        } catch (Throwable e) {
+            return;
+        }
+        if (!Modifier.isPublic(type.getModifiers()) || type.getSimpleName().isEmpty()) {
+            return;
+        }
+        usages.add(type.getSimpleName() + " x = null;");
+        usages.add("var x = new " + type.getSimpleName() + "();");
+        for (Method method : type.getMethods()) {
+            usages.add("x." + method.getName() + "();");
+            usages.add(method.getName() + "();");
+        }
+        for (Field field : type.getFields()) {
+            usages.add("Object o = X." + field.getName() + ";");
+        }
+    }
+
+    private static Set<String> matchStarts(Pattern pattern, String rule, String code) {
+        Set<String> starts = new TreeSet<>();
+        Matcher matcher = pattern.matcher(code);
+        int from = 0;
+        while (from <= code.length() && matcher.find(from)) {
+            starts.add(rule + "@" + matcher.start());
+            from = matcher.start() + 1;
+        }
+        return starts;
+    }
+}
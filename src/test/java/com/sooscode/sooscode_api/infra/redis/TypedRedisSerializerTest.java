@@ -0,0 +1,71 @@
+package com.sooscode.sooscode_api.infra.redis;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sooscode.sooscode_api.application.chat.dto.ChatMessageDto;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
+import org.springframework.data.redis.serializer.SerializationException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class TypedRedisSerializerTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+
+    private final ChatMessageDto message = ChatMessageDto.builder()
+            .chatId(1L)
+            .classId(2L)
+            .userId(3L)
+            .username("user")
+            .content("hello \"world\"")
+            .type(ChatMessageDto.MessageType.CHAT)
+            .createdAt(LocalDateTime.of(2025, 12, 18, 10, 0))
+            .build();
+
+    @Test
+    void jsonRoundTrip() {
+        TypedRedisSerializer<ChatMessageDto> serializer = serializer(TypedRedisSerializer.Format.JSON);
+
+        assertThat(serializer.deserialize(serializer.serialize(message))).isEqualTo(message);
+    }
+
+    @Test
+    void smileRoundTripAndReadableByJsonSerializer() {
+        byte[] smile = serializer(TypedRedisSerializer.Format.SMILE).serialize(message);
+
+        assertThat(serializer(TypedRedisSerializer.Format.JSON).deserialize(smile)).isEqualTo(message);
+    }
+
+    @Test
+    void readsLegacyDoubleEncodedValue() throws Exception {
+        byte[] legacy = new GenericJackson2JsonRedisSerializer(objectMapper.copy())
+                .serialize(objectMapper.writeValueAsString(message));
+
+        assertThat(serializer(TypedRedisSerializer.Format.SMILE).deserialize(legacy)).isEqualTo(message);
+    }
+
+    @Test
+    void corruptValueThrowsSerializationException() {
+        byte[] corrupt = "{\"chatId\":".getBytes(StandardCharsets.UTF_8);
+
+        assertThatThrownBy(() -> serializer(TypedRedisSerializer.Format.JSON).deserialize(corrupt))
+                .isInstanceOf(SerializationException.class);
+    }
+
+    @Test
+    void nullOrEmptyIsNull() {
+        TypedRedisSerializer<ChatMessageDto> serializer = serializer(TypedRedisSerializer.Format.JSON);
+
+        assertThat(serializer.deserialize(null)).isNull();
+        assertThat(serializer.deserialize(new byte[0])).isNull();
+        assertThat(serializer.serialize(null)).isNull();
+    }
+
+    private TypedRedisSerializer<ChatMessageDto> serializer(TypedRedisSerializer.Format format) {
+        return new TypedRedisSerializer<>(objectMapper, ChatMessageDto.class, format);
+    }
+}
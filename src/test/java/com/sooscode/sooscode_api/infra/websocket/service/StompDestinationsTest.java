@@ -0,0 +1,52 @@
+package com.sooscode.sooscode_api.infra.websocket.service;
+
+import com.sooscode.sooscode_api.infra.websocket.interceptor.StompSessionInterceptor;
+import org.junit.jupiter.api.Test;
+import org.springframework.util.AntPathMatcher;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class StompDestinationsTest {
+
+    @Test
+    void simpleBrokerKeepsSlashTopics() {
+        StompDestinations destinations = new StompDestinations("simple");
+
+        assertThat(destinations.classTopic(1L, "chat")).isEqualTo("/topic/class/1/chat");
+        assertThat(destinations.instructorCodeTopic(1L)).isEqualTo("/topic/code/instructor/1");
+        assertThat(destinations.studentCodeTopic(1L, 2L)).isEqualTo("/topic/code/student/1/2");
+    }
+
+    @Test
+    void relayBrokerUsesDotTopics() {
+        StompDestinations destinations = new StompDestinations("relay");
+
+        assertThat(destinations.classTopic(1L, "chat")).isEqualTo("/topic/class.1.chat");
+        assertThat(destinations.instructorCodeTopic(1L)).isEqualTo("/topic/code.instructor.1");
+        assertThat(destinations.studentCodeTopic(1L, 2L)).isEqualTo("/topic/code.student.1.2");
+    }
+
+    @Test
+    void classIdOfAcceptsBothSeparators() {
+        assertThat(StompSessionInterceptor.classIdOf("/topic/class/7/chat", "chat")).isEqualTo("7");
+        assertThat(StompSessionInterceptor.classIdOf("/topic/class.7.chat", "chat")).isEqualTo("7");
+        assertThat(StompSessionInterceptor.classIdOf("/topic/class/7.chat", "chat")).isNull();
+        assertThat(StompSessionInterceptor.classIdOf("/topic/class/7/typing", "chat")).isNull();
+        assertThat(StompSessionInterceptor.classIdOf("/topic/classes/7/chat", "chat")).isNull();
+    }
+
+    @Test
+    void dotMappingsDoNotOverlapUnderDefaultMatcher() {
+        // @MessageMapping 은 기본 "/" 매처로 /app 뒤 경로를 비교 (앞에 "/" 가 붙음)
+        AntPathMatcher matcher = new AntPathMatcher();
+
+        assertThat(matcher.match("/code.instructor.{classId:\\d+}", "/code.instructor.1")).isTrue();
+        assertThat(matcher.match("/code.instructor.{classId:\\d+}", "/code.instructor.1.patch")).isFalse();
+        assertThat(matcher.match("/code.instructor.{classId:\\d+}.patch", "/code.instructor.1.edit.2.patch")).isFalse();
+        assertThat(matcher.extractUriTemplateVariables(
+                "/code.instructor.{classId:\\d+}.edit.{studentId:\\d+}.patch", "/code.instructor.1.edit.2.patch"))
+                .containsEntry("classId", "1")
+                .containsEntry("studentId", "2");
+        assertThat(matcher.match("/code/instructor/{classId}", "/code/instructor/1/patch")).isFalse();
+    }
+}